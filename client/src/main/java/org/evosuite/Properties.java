@@ -307,6 +307,27 @@ public class Properties {
     @Parameter(key = "migrants_communication_rate", group = "Test Creation", description = "Determines amount of migrants per communication step")
     public static int MIGRANTS_COMMUNICATION_RATE = 3;
 
+    public enum MigrationTopology {
+        /**
+         * Each client sends its migrants to the next searching client
+         */
+        RING,
+        /**
+         * Clients send their migrants to client 0, which sends its migrants to all other clients
+         */
+        STAR,
+        /**
+         * Each client sends its migrants to all other searching clients
+         */
+        ALL_TO_ALL
+    }
+
+    @Parameter(key = "migrants_topology", group = "Test Creation", description = "Determines to which clients migrants are sent")
+    public static MigrationTopology MIGRANTS_TOPOLOGY = MigrationTopology.RING;
+
+    @Parameter(key = "shard_goals", group = "Test Creation", description = "Partition the coverage goals by method across the parallel clients, so that each client only searches its own share of the goals (requires MOSA or DynaMOSA)")
+    public static boolean SHARD_GOALS = false;
+
     // ---------------------------------------------------------------
     // Search algorithm
     public enum Algorithm {
@@ -332,6 +353,10 @@ public class Properties {
     @Parameter(key = "ranking_type", group = "Runtime", description = "type of ranking to use in MOSA")
     public static RankingType RANKING_TYPE = RankingType.PREFERENCE_SORTING;
 
+    @Parameter(key = "goal_evaluation_threads", group = "Search Algorithm", description = "Number of threads computing the distances of the current branch goals of MOSA and DynaMOSA to each executed test, before the goals are updated one after the other (1 = no separate threads)")
+    @IntValue(min = 1)
+    public static int GOAL_EVALUATION_THREADS = 1;
+
     public enum MapElitesChoice {
         ALL,
         SINGLE,
@@ -502,6 +527,16 @@ public class Properties {
     @Parameter(key = "cvc4_path", group = "DSE", description = "Indicates the path to the CVC4 solver")
     public static String CVC4_PATH = null;
 
+    @Parameter(key = "dse_solver_cache_dir", group = "DSE", description = "Directory of a persistent cache of constraint solver results, shared across runs. If not set, results are only cached in memory")
+    public static String DSE_SOLVER_CACHE_DIR = null;
+
+    @Parameter(key = "dse_solver_cache_size", group = "DSE", description = "Maximum number of constraint solver results kept in the persistent cache")
+    @IntValue(min = 1)
+    public static int DSE_SOLVER_CACHE_SIZE = 100000;
+
+    @Parameter(key = "dse_solver_incremental", group = "DSE", description = "Keep the SMT solver process alive across queries and only send the assertions that differ from the previous query, using push/pop")
+    public static boolean DSE_SOLVER_INCREMENTAL = false;
+
     public enum DSEStoppingConditionCriterion {
         TARGETCOVERAGE,
         MAXTIME,
@@ -881,6 +916,9 @@ public class Properties {
     @Parameter(key = "ctg_time", group = "Continuous Test Generation", description = "How many minutes in total CTG will run")
     public static int CTG_TIME = 3;
 
+    @Parameter(key = "ctg_variable_memory", group = "Continuous Test Generation", description = "If true, jobs for CUTs with more branches get more memory, instead of all jobs getting the same. Jobs are then only started when the memory of the running jobs leaves enough room")
+    public static boolean CTG_VARIABLE_MEMORY = false;
+
     @Parameter(key = "ctg_time_per_class", group = "Continuous Test Generation", description = "How many minutes to allocate for each class. If this parameter is set, then ctg_time is going to be ignored. This parameter is mainly meant for debugging purposes.")
     public static Integer CTG_TIME_PER_CLASS = null;
 
@@ -923,9 +961,15 @@ public class Properties {
     @Parameter(key = "ctg_seeds_ext", group = "Continuous Test Generation", description = "File extension for serialized test files")
     public static String CTG_SEEDS_EXT = "seed";
 
+    @Parameter(key = "ctg_instrumentation_cache_dir_name", group = "Continuous Test Generation", description = "Name of folder where the instrumented bytecode of the dependencies of the CUTs is cached, and shared by all jobs of all CTG runs (e.g., \"instrumentation\"). If none specified, then each job instruments all classes again")
+    public static String CTG_INSTRUMENTATION_CACHE_DIR_NAME = null;
+
     @Parameter(key = "ctg_project_info", group = "Continuous Test Generation", description = "XML file which stores stats about all CTG executions")
     public static String CTG_PROJECT_INFO = "project_info.xml";
 
+    @Parameter(key = "ctg_incremental", group = "Continuous Test Generation", description = "If true, only generate tests for CUTs whose bytecode, or the bytecode of any project class they depend on, changed since tests were last generated for them. The stored tests of all other CUTs are kept")
+    public static boolean CTG_INCREMENTAL = false;
+
     @Parameter(key = "ctg_history_file", group = "Continuous Test Generation", description = "File with the list of new(A)/modified(M)/deleted(D) files")
     public static String CTG_HISTORY_FILE = null;
 
@@ -1021,6 +1065,13 @@ public class Properties {
     @Parameter(key = "junit_check", group = "Output", description = "Compile and run resulting JUnit test suite (if any was created)")
     public static JUnitCheckValues JUNIT_CHECK = JUnitCheckValues.TRUE;
 
+    @Parameter(key = "junit_check_threads", group = "Output", description = "Number of threads compiling the tests in the background during the JUnit check, while the already compiled tests are run (0 = compile each test on the calling thread)")
+    @IntValue(min = 0)
+    public static int JUNIT_CHECK_THREADS = 0;
+
+    @Parameter(key = "junit_check_in_memory", group = "Output", description = "Compile and load the tests in memory during the JUnit check, rather than through a temporary folder")
+    public static boolean JUNIT_CHECK_IN_MEMORY = false;
+
     @Parameter(key = "junit_check_on_separate_process", group = "Output", description = "Compile and run resulting JUnit test suite on a separate process")
     @Deprecated
     //this gives quite a few issues. and hopefully the problems it was aimed to fix are no longer
@@ -1328,6 +1379,16 @@ public class Properties {
     @Parameter(key = "instrumentation_skip_debug", description = "Skip debug information in bytecode instrumentation (needed for compatibility with classes transformed by Emma code instrumentation due to an ASM bug)")
     public static boolean INSTRUMENTATION_SKIP_DEBUG = false;
 
+    @Parameter(key = "instrumentation_cache_dir", description = "Directory of a persistent cache of instrumented bytecode, shared across runs. Only classes that are neither analyzed nor transformed for testability are cached")
+    public static String INSTRUMENTATION_CACHE_DIR = null;
+
+    @Parameter(key = "instrumentation_cache_size", description = "Maximum number of instrumented classes kept in the persistent cache")
+    @IntValue(min = 1)
+    public static int INSTRUMENTATION_CACHE_SIZE = 20000;
+
+    @Parameter(key = "parallel_graph_construction", description = "Compute the control dependence graphs of the instrumented methods in the background, while the class is still being instrumented")
+    public static boolean PARALLEL_GRAPH_CONSTRUCTION = false;
+
     @Parameter(key = "instrument_parent", description = "Also count coverage goals in superclasses")
     public static boolean INSTRUMENT_PARENT = false;
 
@@ -1457,6 +1518,12 @@ public class Properties {
     @Parameter(key = "timeout_reset", group = "Test Execution", description = "Milliseconds allowed to execute the static reset of a test")
     public static int TIMEOUT_RESET = 2000;
 
+    @Parameter(key = "execution_cache_size", group = "Test Execution", description = "Maximum number of execution results that are reused for structurally identical tests (0 = no reuse). Only applies if static fields are reset after each test. Reused results count towards the search budget like executions")
+    public static int EXECUTION_CACHE_SIZE = 0;
+
+    @Parameter(key = "prefix_snapshots", group = "Test Execution", description = "Maximum number of executed tests whose state is kept to resume the execution of tests that extend them (0 = always execute from the first statement). Only applies if static fields are reset after each test")
+    public static int PREFIX_SNAPSHOTS = 0;
+
 
     @Parameter(key = "concolic_timeout", group = "Test Execution", description = "Milliseconds allowed per test during concolic execution")
     public static int CONCOLIC_TIMEOUT = 15000;
@@ -51,6 +51,7 @@ import org.evosuite.setup.TestCluster;
 import org.evosuite.setup.TestClusterGenerator;
 import org.evosuite.symbolic.dse.DSEStatistics;
 import org.evosuite.testcarver.extraction.CarvingManager;
+import org.evosuite.testcase.execution.ExecutionResultCache;
 import org.evosuite.testcase.execution.ExecutionTracer;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.testcase.execution.reset.ClassReInitializer;
@@ -149,6 +150,7 @@ public class TestGenerationContext {
         classLoader = new InstrumentingClassLoader();
 
         TestCaseExecutor.pullDown();
+        ExecutionResultCache.getInstance().clear();
 
         ExecutionTracer.getExecutionTracer().clear();
 
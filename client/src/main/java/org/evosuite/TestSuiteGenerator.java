@@ -560,23 +560,10 @@ public class TestSuiteGenerator {
         // first, let's just get rid of all the tests that do not compile
         JUnitAnalyzer.removeTestsThatDoNotCompile(testCases);
 
-        // compile and run each test one at a time. and keep track of total time
+        // compile and run each test one at a time. and keep track of total time.
+        // tests that are unstable and deleted are removed from the list
         long start = java.lang.System.currentTimeMillis();
-        Iterator<TestCase> iter = testCases.iterator();
-        while (iter.hasNext()) {
-            if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
-                break;
-            }
-            TestCase tc = iter.next();
-            List<TestCase> list = new ArrayList<>();
-            list.add(tc);
-            numUnstable += JUnitAnalyzer.handleTestsThatAreUnstable(list);
-            if (list.isEmpty()) {
-                // if the test was unstable and deleted, need to remove it from
-                // final testSuite
-                iter.remove();
-            }
-        }
+        numUnstable += JUnitAnalyzer.handleTestsThatAreUnstableOneByOne(testCases);
         /*
          * compiling and running each single test individually will take more
          * than compiling/running everything in on single suite. so it can be
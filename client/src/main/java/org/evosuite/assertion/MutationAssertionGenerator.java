@@ -158,6 +158,22 @@ public abstract class MutationAssertionGenerator extends AssertionGenerator {
         return result;
     }
 
+    /**
+     * Check whether the execution of a test on the original unit infected the
+     * state with the given mutant, ie whether the mutated code computed a
+     * different value than the original code at least once. If not, the test
+     * behaves exactly the same on the mutant, and there is no need to execute it
+     * (as in {@link org.evosuite.coverage.mutation.StrongMutationSuiteFitness})
+     *
+     * @param origResult the result of the execution on the original unit
+     * @param mutant     a mutant touched by that execution
+     * @return false if the mutant cannot be killed by the test
+     */
+    protected static boolean isInfected(ExecutionResult origResult, Mutation mutant) {
+        Double distance = origResult.getTrace().getMutationDistances().get(mutant.getId());
+        return distance == null || distance <= 0.0;
+    }
+
     protected Criterion[] oldCriterion = Properties.CRITERION;
 
     /**
@@ -146,6 +146,7 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
         logger.debug("Executed mutants: " + origResult.getTrace().getTouchedMutants());
 
         int numExecutedMutants = 0;
+        int numNotInfected = 0;
         for (Mutation m : executedMutants) {
 
             numExecutedMutants++;
@@ -173,6 +174,12 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
                     continue;
                 }
             }
+            if (!isInfected(origResult, m)) {
+                // Same execution as on the original unit, so no trace would differ
+                numNotInfected++;
+                continue;
+            }
+
             if (Properties.MAX_MUTANTS_PER_TEST > 0
                     && numExecutedMutants > Properties.MAX_MUTANTS_PER_TEST)
                 break;
@@ -227,6 +234,8 @@ public class SimpleMutationAssertionGenerator extends MutationAssertionGenerator
             }
         }
 
+        logger.debug("Skipped execution of {} touched but not infected mutants", numNotInfected);
+
         List<Assertion> assertions = test.getAssertions();
         logger.info("Got " + assertions.size() + " assertions");
         Map<Integer, Set<Integer>> killMap = new HashMap<>();
@@ -157,8 +157,25 @@ public class BranchCoverageTestFitness extends TestFitnessFunction {
      */
     @Override
     public double getFitness(TestChromosome individual, ExecutionResult result) {
-        ControlFlowDistance distance = goal.getDistance(result);
+        return updateFitness(individual, goal.getDistance(result));
+    }
+
+    /**
+     * Same as {@link #getFitness(TestChromosome)} for an individual whose last
+     * execution is known to be at the given distance from this goal, e.g., as
+     * computed in advance through {@link BranchCoverageGoal#getDistance(ExecutionResult)}
+     *
+     * @param individual the executed individual
+     * @param distance   the distance of its last execution to this goal
+     * @return the fitness of the individual
+     */
+    public double getFitness(TestChromosome individual, ControlFlowDistance distance) {
+        double fitness = updateFitness(individual, distance);
+        updateIndividual(individual, fitness);
+        return fitness;
+    }
 
+    private double updateFitness(TestChromosome individual, ControlFlowDistance distance) {
         double fitness = distance.getResultingBranchFitness();
 
         if (logger.isDebugEnabled()) {
@@ -0,0 +1,158 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import org.evosuite.coverage.ControlFlowDistance;
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.graphs.cfg.ControlDependency;
+import org.evosuite.testcase.execution.BranchDistanceIndex;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The branches a branch is transitively control dependent on, grouped by
+ * approach level, i.e., by the length of the shortest chain of control
+ * dependencies from the branch to them.
+ * <p>
+ * Level 0 holds the branch itself, and level n + 1 the values the branches
+ * of level n depend on that are not found on a lower level. For each level
+ * it is also known whether one of its branches only depends on the root
+ * branch of the method. With this, the distance of a method call to a branch
+ * is the lowest level with a passed branch (with the minimal branch distance
+ * on that level), or one more than the lowest level depending on the root
+ * branch, as computed recursively by {@link ControlFlowDistanceCalculator}.
+ * The chains of a method are kept by its
+ * {@link org.evosuite.graphs.cdg.ControlDependenceGraph}.
+ */
+public final class ControlDependenceChain {
+
+    private final int branchId;
+
+    /**
+     * The dependencies of level n + 1 are at the positions from
+     * levelStarts[n] (inclusive) to levelStarts[n + 1] (exclusive)
+     */
+    private final int[] levelStarts;
+
+    private final int[] branchIds;
+
+    private final boolean[] values;
+
+    /**
+     * Whether a branch of the level only depends on the root branch
+     */
+    private final boolean[] rootDependent;
+
+    /**
+     * Follows the control dependencies of the given branch up to the root
+     * branch of its method
+     *
+     * @param branch a {@link Branch} object.
+     */
+    public ControlDependenceChain(Branch branch) {
+        this.branchId = branch.getActualBranchId();
+
+        List<Integer> starts = new ArrayList<>();
+        List<ControlDependency> dependencies = new ArrayList<>();
+        List<Boolean> rootDependentLevels = new ArrayList<>();
+        Map<Branch, Integer> levelOf = new HashMap<>();
+        levelOf.put(branch, 0);
+
+        List<BytecodeInstruction> level = new ArrayList<>();
+        level.add(branch.getInstruction());
+        while (!level.isEmpty()) {
+            int nextLevel = rootDependentLevels.size() + 1;
+            starts.add(dependencies.size());
+            List<BytecodeInstruction> next = new ArrayList<>();
+            boolean dependsOnRoot = false;
+            for (BytecodeInstruction instruction : level) {
+                boolean dependsOnBranch = false;
+                for (ControlDependency dependency : instruction.getControlDependencies()) {
+                    Branch dependent = dependency.getBranch();
+                    if (instruction.equals(dependent.getInstruction()))
+                        continue; // avoid loops
+                    dependsOnBranch = true;
+
+                    Integer known = levelOf.get(dependent);
+                    if (known == null) {
+                        levelOf.put(dependent, nextLevel);
+                        next.add(dependent.getInstruction());
+                    } else if (known != nextLevel) {
+                        // already on a lower level
+                        continue;
+                    }
+                    dependencies.add(dependency);
+                }
+                dependsOnRoot |= !dependsOnBranch;
+            }
+            rootDependentLevels.add(dependsOnRoot);
+            level = next;
+        }
+        starts.add(dependencies.size());
+
+        this.levelStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+        this.branchIds = new int[dependencies.size()];
+        this.values = new boolean[dependencies.size()];
+        for (int i = 0; i < dependencies.size(); i++) {
+            branchIds[i] = dependencies.get(i).getBranch().getActualBranchId();
+            values[i] = dependencies.get(i).getBranchExpressionValue();
+        }
+        this.rootDependent = new boolean[rootDependentLevels.size()];
+        for (int i = 0; i < rootDependent.length; i++) {
+            rootDependent[i] = rootDependentLevels.get(i);
+        }
+    }
+
+    /**
+     * Returns the distance of a method call, given by the distances of the
+     * branches passed in it, to evaluating the branch of this chain to the
+     * given value
+     *
+     * @param distances the distances of the branches passed in the call
+     * @param value     the value of the branch to reach
+     * @return the distance, or null if the call neither passed a branch of the
+     * chain nor reached a branch only depending on the root branch (e.g.,
+     * because the dependencies are cyclic)
+     */
+    public ControlFlowDistance getDistance(BranchDistanceIndex distances, boolean value) {
+        if (distances.isPassed(branchId))
+            return new ControlFlowDistance(0, distances.getDistance(branchId, value));
+
+        for (int level = 0; level < rootDependent.length; level++) {
+            if (rootDependent[level])
+                return new ControlFlowDistance(level + 1, 0.0);
+
+            double branchDistance = Double.MAX_VALUE;
+            boolean passed = false;
+            for (int i = levelStarts[level]; i < levelStarts[level + 1]; i++) {
+                if (distances.isPassed(branchIds[i])) {
+                    passed = true;
+                    branchDistance = Math.min(branchDistance, distances.getDistance(branchIds[i], values[i]));
+                }
+            }
+            if (passed)
+                return new ControlFlowDistance(level + 1, branchDistance);
+        }
+        return null;
+    }
+}
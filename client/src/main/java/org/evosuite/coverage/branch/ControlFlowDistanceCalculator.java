@@ -23,6 +23,7 @@ import org.evosuite.coverage.ControlFlowDistance;
 import org.evosuite.coverage.TestCoverageGoal;
 import org.evosuite.graphs.cfg.BytecodeInstruction;
 import org.evosuite.graphs.cfg.ControlDependency;
+import org.evosuite.testcase.execution.BranchDistanceIndex;
 import org.evosuite.testcase.execution.ExecutionResult;
 import org.evosuite.testcase.execution.MethodCall;
 import org.evosuite.testcase.statements.ConstructorStatement;
@@ -33,7 +34,6 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.List;
 import java.util.Set;
 
 /**
@@ -64,6 +64,11 @@ import java.util.Set;
  * given Branch is control dependent on is returned, after adding one to that
  * distance's approach level.
  * <p>
+ * Rather than following the control dependencies for each distance, the
+ * branches at each approach level are looked up in the
+ * {@link ControlDependenceChain} of the given Branch, which is computed once
+ * per branch. The shortest chain of control dependencies is taken.
+ * <p>
  * TODO make method that just takes a BytecodeInstruction and returns the
  * minimum over all distances to it's control dependent branches
  *
@@ -209,17 +214,20 @@ public class ControlFlowDistanceCalculator {
         ControlFlowDistance r = new ControlFlowDistance();
         r.setApproachLevel(branch.getInstruction().getActualCFG().getDiameter() + 1);
 
+        ControlDependenceChain chain = branch.getInstruction().getCDG().getControlDependenceChain(branch);
+
         // Minimal distance between target node and path
-        for (MethodCall call : result.getTrace().getMethodCalls()) {
-            if (call.className.equals(className) && call.methodName.equals(methodName)) {
-                ControlFlowDistance d2;
+        for (MethodCall call : result.getMethodCalls(className, methodName)) {
+            ControlFlowDistance d2 = chain.getDistance(call.getBranchDistances(), value);
+            if (d2 == null) {
+                // the chain ends in cyclic dependencies, follow them one by one
                 Set<Branch> handled = new HashSet<>();
                 //				result.intermediateDistances = new HashMap<Branch,ControlFlowDistance>();
                 d2 = getNonRootDistance(result, call, branch, value, className,
                         methodName, handled);
-                if (d2.compareTo(r) < 0) {
-                    r = d2;
-                }
+            }
+            if (d2.compareTo(r) < 0) {
+                r = d2;
             }
         }
 
@@ -247,8 +255,7 @@ public class ControlFlowDistanceCalculator {
         }
         handled.add(branch);
 
-        List<Double> trueDistances = call.trueDistanceTrace;
-        List<Double> falseDistances = call.falseDistanceTrace;
+        BranchDistanceIndex branchDistances = call.getBranchDistances();
 
         // IDEA:
         // if this goal's branch is traced in the given path, return the
@@ -257,20 +264,11 @@ public class ControlFlowDistanceCalculator {
         // and return 1 + minimum of the branch coverage goal distance over all
         // such branches taking as value the branchExpressionValue
 
-        Set<Integer> branchTracePositions = determineBranchTracePositions(call, branch);
+        if (branchDistances.isPassed(branch.getActualBranchId())) {
 
-        if (!branchTracePositions.isEmpty()) {
-
-            // branch was traced in given path
-            ControlFlowDistance r = new ControlFlowDistance(0, Double.MAX_VALUE);
-
-            for (Integer branchTracePosition : branchTracePositions)
-                if (value)
-                    r.setBranchDistance(Math.min(r.getBranchDistance(),
-                            trueDistances.get(branchTracePosition)));
-                else
-                    r.setBranchDistance(Math.min(r.getBranchDistance(),
-                            falseDistances.get(branchTracePosition)));
+            // branch was traced in given path, take the minimal distance over all its passes
+            ControlFlowDistance r = new ControlFlowDistance(0,
+                    branchDistances.getDistance(branch.getActualBranchId(), value));
 
             if (r.getBranchDistance() == Double.MAX_VALUE)
                 throw new IllegalStateException("should be impossible");
@@ -349,17 +347,4 @@ public class ControlFlowDistanceCalculator {
         return r;
     }
 
-    private static Set<Integer> determineBranchTracePositions(MethodCall call,
-                                                              Branch branch) {
-
-        Set<Integer> r = new HashSet<>();
-        List<Integer> path = call.branchTrace;
-        for (int pos = 0; pos < path.size(); pos++) {
-            if (path.get(pos) == branch.getActualBranchId()) { //.getActualBranchId()); {
-                r.add(pos);
-            }
-        }
-        return r;
-    }
-
 }
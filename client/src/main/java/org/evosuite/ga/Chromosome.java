@@ -63,12 +63,12 @@ public abstract class Chromosome<T extends Chromosome<T>>
     /**
      * Last recorded fitness value
      */
-    private final LinkedHashMap<FitnessFunction<T>, Double> fitnessValues = new LinkedHashMap<>();
+    private final FitnessValueMap<FitnessFunction<T>> fitnessValues = new FitnessValueMap<>();
 
     /**
      * Previous fitness, to see if there was an improvement
      */
-    private final LinkedHashMap<FitnessFunction<T>, Double> previousFitnessValues = new LinkedHashMap<>();
+    private final FitnessValueMap<FitnessFunction<T>> previousFitnessValues = new FitnessValueMap<>();
 
     /**
      * Has this chromosome changed since its fitness was last evaluated?
@@ -80,7 +80,7 @@ public abstract class Chromosome<T extends Chromosome<T>>
      */
     private boolean localSearchApplied = false;
 
-    private final LinkedHashMap<FitnessFunction<T>, Double> coverageValues = new LinkedHashMap<>();
+    private final FitnessValueMap<FitnessFunction<T>> coverageValues = new FitnessValueMap<>();
 
     /**
      * The number of uncovered goals with regard to the fitness function given as key
@@ -137,9 +137,7 @@ public abstract class Chromosome<T extends Chromosome<T>>
      * @return a double.
      */
     public double getFitness() {
-        return fitnessValues.values().stream()
-                .mapToDouble(Double::doubleValue)
-                .sum();
+        return fitnessValues.sum();
     }
 
     /**
@@ -150,7 +148,7 @@ public abstract class Chromosome<T extends Chromosome<T>>
      */
     public double getFitness(FitnessFunction<T> ff) {
         return fitnessValues.containsKey(ff)
-                ? fitnessValues.get(ff)
+                ? fitnessValues.getDouble(ff, 0.0)
                 : ff.getFitness(self()); // Calculate new value if non is cached
     }
 
@@ -175,13 +173,11 @@ public abstract class Chromosome<T extends Chromosome<T>>
 
     public void setFitnessValues(Map<? extends FitnessFunction<T>, Double> fits) {
         //TODO mainfitness?
-        this.fitnessValues.clear();
-        this.fitnessValues.putAll(fits);
+        this.fitnessValues.setAll(fits);
     }
 
     public void setPreviousFitnessValues(Map<FitnessFunction<T>, Double> lastFits) {
-        this.previousFitnessValues.clear();
-        this.previousFitnessValues.putAll(lastFits);
+        this.previousFitnessValues.setAll(lastFits);
     }
 
     /**
@@ -228,9 +224,9 @@ public abstract class Chromosome<T extends Chromosome<T>>
      */
     public void addFitness(FitnessFunction<T> ff, double fitnessValue, double coverage,
                            int numCoveredGoals) {
-        this.fitnessValues.put(ff, fitnessValue);
-        this.previousFitnessValues.put(ff, fitnessValue);
-        this.coverageValues.put(ff, coverage);
+        this.fitnessValues.putDouble(ff, fitnessValue);
+        this.previousFitnessValues.putDouble(ff, fitnessValue);
+        this.coverageValues.putDouble(ff, coverage);
         this.numsCoveredGoals.put(ff, numCoveredGoals);
         this.numsNotCoveredGoals.put(ff, -1);
     }
@@ -247,8 +243,8 @@ public abstract class Chromosome<T extends Chromosome<T>>
                     + ff.getClass().getName());
         }
 
-        previousFitnessValues.put(ff, fitnessValues.getOrDefault(ff, value));
-        fitnessValues.put(ff, value);
+        previousFitnessValues.putDouble(ff, fitnessValues.getDouble(ff, value));
+        fitnessValues.putDouble(ff, value);
     }
 
     /**
@@ -481,8 +477,7 @@ public abstract class Chromosome<T extends Chromosome<T>>
     }
 
     public void setCoverageValues(Map<? extends FitnessFunction<T>, Double> coverages) {
-        this.coverageValues.clear();
-        this.coverageValues.putAll(coverages);
+        this.coverageValues.setAll(coverages);
     }
 
     // public void setNumOfCoveredGoals(int numOfCoveredGoals) {
@@ -496,7 +491,7 @@ public abstract class Chromosome<T extends Chromosome<T>>
      * @return the number of covered goals for {@code ff}
      */
     public double getCoverage(FitnessFunction<T> ff) {
-        return coverageValues.getOrDefault(ff, 0.0);
+        return coverageValues.getDouble(ff, 0.0);
     }
 
     /**
@@ -506,7 +501,7 @@ public abstract class Chromosome<T extends Chromosome<T>>
      * @param coverage the coverage value
      */
     public void setCoverage(FitnessFunction<T> ff, double coverage) {
-        this.coverageValues.put(ff, coverage);
+        this.coverageValues.putDouble(ff, coverage);
     }
 
     /**
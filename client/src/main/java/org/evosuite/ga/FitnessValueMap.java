@@ -0,0 +1,368 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Map from fitness functions to fitness or coverage values, as kept by each
+ * {@link Chromosome}.
+ * <p>
+ * With many goals (e.g., MOSA and DynaMOSA), each test chromosome keeps one
+ * value per goal. Rather than in entries with boxed values, keys and values are
+ * kept in plain arrays in insertion order, which is also the order of
+ * iteration (as for a {@link java.util.LinkedHashMap}), and looked up through
+ * an open addressing table. The arrays of a copy made with
+ * {@link #setAll(Map)} are shared until either map is changed, as the fitness
+ * values of a cloned chromosome are often replaced before they are read.
+ * <p>
+ * This map is not thread-safe.
+ *
+ * @param <K> the type of fitness function
+ */
+public class FitnessValueMap<K> extends AbstractMap<K, Double> implements Serializable {
+
+    private static final long serialVersionUID = -2536315637880211735L;
+
+    private static final int INITIAL_CAPACITY = 4;
+
+    private static final Object[] NO_KEYS = new Object[0];
+
+    private static final double[] NO_VALUES = new double[0];
+
+    private static final int[] NO_SLOTS = new int[0];
+
+    /**
+     * Keys in insertion order
+     */
+    private Object[] keys = NO_KEYS;
+
+    private double[] values = NO_VALUES;
+
+    /**
+     * Open addressing table with the position of each key plus one, or 0 for
+     * an empty slot. Its length is a power of two, at least twice the size
+     */
+    private int[] slots = NO_SLOTS;
+
+    private int size = 0;
+
+    /**
+     * Whether the arrays might be shared with another map, and thus have to be
+     * copied before they are changed
+     */
+    private boolean shared = false;
+
+    private transient Set<Map.Entry<K, Double>> entrySet = null;
+
+    private static int hash(Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private int indexOf(Object key) {
+        if (size == 0) {
+            return -1;
+        }
+        int mask = slots.length - 1;
+        for (int i = hash(key) & mask; ; i = (i + 1) & mask) {
+            int slot = slots[i];
+            if (slot == 0) {
+                return -1;
+            }
+            if (Objects.equals(keys[slot - 1], key)) {
+                return slot - 1;
+            }
+        }
+    }
+
+    private void ensureOwned() {
+        if (shared) {
+            keys = keys.clone();
+            values = values.clone();
+            slots = slots.clone();
+            shared = false;
+        }
+    }
+
+    private void rehash(int capacity) {
+        slots = new int[capacity];
+        int mask = capacity - 1;
+        for (int index = 0; index < size; index++) {
+            int i = hash(keys[index]) & mask;
+            while (slots[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            slots[i] = index + 1;
+        }
+    }
+
+    private void grow() {
+        if (size == keys.length) {
+            int capacity = Math.max(INITIAL_CAPACITY, keys.length * 2);
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        if ((size + 1) * 2 > slots.length) {
+            rehash(Math.max(INITIAL_CAPACITY * 2, slots.length * 2));
+        }
+    }
+
+    /**
+     * Returns the value of the given key without boxing it
+     *
+     * @param key          a key
+     * @param defaultValue the value to return if there is no value for the key
+     * @return a double.
+     */
+    public double getDouble(Object key, double defaultValue) {
+        int index = indexOf(key);
+        return index < 0 ? defaultValue : values[index];
+    }
+
+    /**
+     * Sets the value of the given key without boxing it
+     *
+     * @param key   a key
+     * @param value a double
+     */
+    public void putDouble(K key, double value) {
+        int index = indexOf(key);
+        ensureOwned();
+        if (index >= 0) {
+            values[index] = value;
+            return;
+        }
+        grow();
+        keys[size] = key;
+        values[size] = value;
+        int mask = slots.length - 1;
+        int i = hash(key) & mask;
+        while (slots[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        slots[i] = size + 1;
+        size++;
+    }
+
+    /**
+     * Replaces all values with the ones of the given map. If it is a
+     * {@link FitnessValueMap}, its arrays are shared until either map changes
+     *
+     * @param map the values to copy
+     */
+    @SuppressWarnings("unchecked")
+    public void setAll(Map<? extends K, Double> map) {
+        if (map instanceof FitnessValueMap && map != this) {
+            FitnessValueMap<? extends K> other = (FitnessValueMap<? extends K>) map;
+            keys = other.keys;
+            values = other.values;
+            slots = other.slots;
+            size = other.size;
+            shared = true;
+            other.shared = true;
+        } else {
+            clear();
+            putAll(map);
+        }
+    }
+
+    /**
+     * Sum of all values, added up in insertion order
+     *
+     * @return a double.
+     */
+    public double sum() {
+        return Arrays.stream(values, 0, size).sum();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return indexOf(key) >= 0;
+    }
+
+    @Override
+    public Double get(Object key) {
+        int index = indexOf(key);
+        return index < 0 ? null : values[index];
+    }
+
+    @Override
+    public Double put(K key, Double value) {
+        Double previous = get(key);
+        putDouble(key, value);
+        return previous;
+    }
+
+    @Override
+    public Double remove(Object key) {
+        int index = indexOf(key);
+        if (index < 0) {
+            return null;
+        }
+        double previous = values[index];
+        removeAt(index);
+        return previous;
+    }
+
+    private void removeAt(int index) {
+        ensureOwned();
+        System.arraycopy(keys, index + 1, keys, index, size - index - 1);
+        System.arraycopy(values, index + 1, values, index, size - index - 1);
+        size--;
+        keys[size] = null;
+        // positions of the following keys changed
+        rehash(slots.length);
+    }
+
+    @Override
+    public void clear() {
+        if (size == 0) {
+            return;
+        }
+        if (shared) {
+            keys = NO_KEYS;
+            values = NO_VALUES;
+            slots = NO_SLOTS;
+            shared = false;
+        } else {
+            Arrays.fill(keys, 0, size, null);
+            Arrays.fill(slots, 0);
+        }
+        size = 0;
+    }
+
+    @Override
+    public Set<Map.Entry<K, Double>> entrySet() {
+        if (entrySet == null) {
+            entrySet = new EntrySet();
+        }
+        return entrySet;
+    }
+
+    private class EntrySet extends AbstractSet<Map.Entry<K, Double>> {
+
+        @Override
+        public Iterator<Map.Entry<K, Double>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public void clear() {
+            FitnessValueMap.this.clear();
+        }
+    }
+
+    private class EntryIterator implements Iterator<Map.Entry<K, Double>> {
+
+        private int next = 0;
+
+        private int last = -1;
+
+        @Override
+        public boolean hasNext() {
+            return next < size;
+        }
+
+        @Override
+        public Map.Entry<K, Double> next() {
+            if (next >= size) {
+                throw new NoSuchElementException();
+            }
+            last = next++;
+            return new Entry(last);
+        }
+
+        @Override
+        public void remove() {
+            if (last < 0) {
+                throw new IllegalStateException();
+            }
+            removeAt(last);
+            next = last;
+            last = -1;
+        }
+    }
+
+    private class Entry implements Map.Entry<K, Double> {
+
+        private final int index;
+
+        private Entry(int index) {
+            this.index = index;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public K getKey() {
+            return (K) keys[index];
+        }
+
+        @Override
+        public Double getValue() {
+            return values[index];
+        }
+
+        @Override
+        public Double setValue(Double value) {
+            ensureOwned();
+            double previous = values[index];
+            values[index] = value;
+            return previous;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return Objects.equals(getKey(), e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hashCode(getKey()) ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+    }
+}
@@ -40,6 +40,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static org.evosuite.testcase.TestChromosome.getSecondaryObjectives;
 
@@ -60,12 +61,12 @@ public abstract class Archive implements Serializable {
      * keys of the map)
      */
     protected final Map<String, Set<TestFitnessFunction>> nonCoveredTargetsOfEachMethod =
-            new LinkedHashMap<>();
+            new ConcurrentHashMap<>();
 
     /**
      * Has this archive been updated with new candidate solutions?
      */
-    protected boolean hasBeenUpdated = false;
+    protected volatile boolean hasBeenUpdated = false;
 
     /**
      * Register a target.
@@ -97,10 +98,13 @@ public abstract class Archive implements Serializable {
      */
     protected void registerNonCoveredTargetOfAMethod(TestFitnessFunction target) {
         String targetMethod = this.getMethodFullName(target);
-        if (!this.nonCoveredTargetsOfEachMethod.containsKey(targetMethod)) {
-            this.nonCoveredTargetsOfEachMethod.put(targetMethod, new LinkedHashSet<>());
-        }
-        this.nonCoveredTargetsOfEachMethod.get(targetMethod).add(target);
+        this.nonCoveredTargetsOfEachMethod.compute(targetMethod, (method, targets) -> {
+            if (targets == null) {
+                targets = ConcurrentHashMap.newKeySet();
+            }
+            targets.add(target);
+            return targets;
+        });
     }
 
     /**
@@ -110,17 +114,21 @@ public abstract class Archive implements Serializable {
      */
     protected void removeNonCoveredTargetOfAMethod(TestFitnessFunction target) {
         String targetMethod = this.getMethodFullName(target);
-        if (this.nonCoveredTargetsOfEachMethod.containsKey(targetMethod)) {
+        boolean[] isMethodFullyCovered = {false};
+        // the set of targets of the method is updated atomically, such that only one of several
+        // concurrent updates finds the method fully covered
+        this.nonCoveredTargetsOfEachMethod.computeIfPresent(targetMethod, (method, targets) -> {
             // target has been covered, therefore we can remove it from the list of non-covered
-            this.nonCoveredTargetsOfEachMethod.get(targetMethod).remove(target);
+            targets.remove(target);
 
-            if (this.nonCoveredTargetsOfEachMethod.get(targetMethod).isEmpty()) {
-                // method is fully covered, therefore we do not need to keep track of it
-                this.nonCoveredTargetsOfEachMethod.remove(targetMethod);
+            // method is fully covered, therefore we do not need to keep track of it
+            isMethodFullyCovered[0] = targets.isEmpty();
+            return targets.isEmpty() ? null : targets;
+        });
 
-                // inform TestCluster that method 'targetMethod' is fully covered
-                this.ignoreMethodCall(this.getClassName(target), this.getMethodName(target));
-            }
+        if (isMethodFullyCovered[0]) {
+            // inform TestCluster that method 'targetMethod' is fully covered
+            this.ignoreMethodCall(this.getClassName(target), this.getMethodName(target));
         }
     }
 
@@ -360,7 +368,7 @@ public abstract class Archive implements Serializable {
      *                   can be ignored
      * @param methodName name of the method that has been fully covered and can be ignored
      */
-    protected void ignoreMethodCall(String className, String methodName) {
+    protected synchronized void ignoreMethodCall(String className, String methodName) {
         TestCluster cluster = TestCluster.getInstance();
         List<GenericAccessibleObject<?>> calls = cluster.getTestCalls();
         for (GenericAccessibleObject<?> call : calls) {
@@ -476,10 +484,8 @@ public abstract class Archive implements Serializable {
      * @return true if a method has been fully covered, false otherwise
      */
     protected boolean isMethodFullyCovered(String methodFullName) {
-        if (!this.nonCoveredTargetsOfEachMethod.containsKey(methodFullName)) {
-            return true;
-        }
-        return this.nonCoveredTargetsOfEachMethod.get(methodFullName).isEmpty();
+        Set<TestFitnessFunction> targets = this.nonCoveredTargetsOfEachMethod.get(methodFullName);
+        return targets == null || targets.isEmpty();
     }
 
     /**
@@ -489,10 +495,8 @@ public abstract class Archive implements Serializable {
      * @return
      */
     public int getNumOfRemainingTargets(String methodFullName) {
-        if (!this.nonCoveredTargetsOfEachMethod.containsKey(methodFullName)) {
-            return 0;
-        }
-        return this.nonCoveredTargetsOfEachMethod.get(methodFullName).size();
+        Set<TestFitnessFunction> targets = this.nonCoveredTargetsOfEachMethod.get(methodFullName);
+        return targets == null ? 0 : targets.size();
     }
 
     /**
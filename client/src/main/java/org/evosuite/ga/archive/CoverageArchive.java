@@ -30,13 +30,30 @@ import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.LinkedHashMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 /**
  * Coverage Archive.
+ * <p>
+ * The archive can be updated by several threads at once. The solution of each target is replaced
+ * atomically, and updates of different targets do not block each other. Targets are still listed
+ * in the order in which they were registered or first covered. Methods returning all solutions
+ * (e.g., {@link #getSolutions()}) wait for pending updates, such that they return the solutions
+ * of a single point in time, while the returned sets of targets are read-only live views.
  *
  * @author José Campos
  */
@@ -50,12 +67,31 @@ public class CoverageArchive extends Archive {
      * Map used to store all covered targets (keys of the map) and the corresponding covering
      * solutions (values of the map)
      */
-    private final Map<TestFitnessFunction, TestChromosome> covered = new LinkedHashMap<>();
+    private final Map<TestFitnessFunction, TestChromosome> covered = new ConcurrentHashMap<>();
 
     /**
-     * Set used to store all targets that have not been covered yet
+     * The covered targets in the order in which they were first covered
      */
-    private final Set<TestFitnessFunction> uncovered = new LinkedHashSet<>();
+    private final Queue<TestFitnessFunction> coveredOrder = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Map used to store all registered targets, covered or not, and the order in which they were
+     * registered
+     */
+    private final Map<TestFitnessFunction, Long> targets = new ConcurrentHashMap<>();
+
+    /**
+     * Targets that have not been covered yet, indexed by the order in which they were registered
+     */
+    private final ConcurrentNavigableMap<Long, TestFitnessFunction> uncovered = new ConcurrentSkipListMap<>();
+
+    private final AtomicLong registrations = new AtomicLong();
+
+    /**
+     * Updates hold the read lock, such that they can run concurrently, while snapshots of all
+     * solutions hold the write lock
+     */
+    private final ReadWriteLock snapshotLock = new ReentrantReadWriteLock();
 
     public static final CoverageArchive instance = new CoverageArchive();
 
@@ -67,21 +103,44 @@ public class CoverageArchive extends Archive {
     public void addTarget(TestFitnessFunction target) {
         super.addTarget(target);
 
-        if (!this.uncovered.contains(target)) {
+        if (this.registerTarget(target)) {
             logger.debug("Registering new target '" + target + "'");
-            this.uncovered.add(target);
         }
 
         this.registerNonCoveredTargetOfAMethod(target);
     }
 
+    private boolean registerTarget(TestFitnessFunction target) {
+        boolean[] isNewTarget = {false};
+        // registration and coverage of the same target are serialized by the map
+        this.targets.computeIfAbsent(target, t -> {
+            long index = this.registrations.getAndIncrement();
+            if (!this.covered.containsKey(t)) {
+                this.uncovered.put(index, t);
+            }
+            isNewTarget[0] = true;
+            return index;
+        });
+        return isNewTarget[0];
+    }
+
+    private void registerCoveredTarget(TestFitnessFunction target) {
+        this.targets.compute(target, (t, index) -> {
+            if (index == null) {
+                return this.registrations.getAndIncrement();
+            }
+            this.uncovered.remove(index);
+            return index;
+        });
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public void updateArchive(TestFitnessFunction target, TestChromosome solution, double fitnessValue) {
         super.updateArchive(target, solution, fitnessValue);
-        assert this.covered.containsKey(target) || this.uncovered.contains(target) : "Unknown goal: " + target;
+        assert this.hasTarget(target) : "Unknown goal: " + target;
 
         if (fitnessValue > 0.0) {
             // as this type of archive only cares about covered targets, it ignores all
@@ -89,29 +148,40 @@ public class CoverageArchive extends Archive {
             return;
         }
 
-        boolean isNewCoveredTarget = false;
-        boolean isNewSolutionBetterThanCurrent = false;
-
-        TestChromosome currentSolution = this.covered.get(target);
-
-        if (currentSolution == null) {
-            logger.debug("Solution for non-covered target '" + target + "'");
-            isNewCoveredTarget = true;
-        } else {
-            isNewSolutionBetterThanCurrent = this.isBetterThanCurrent(currentSolution, solution);
+        boolean[] isNewCoveredTarget = {false};
+        boolean[] isNewSolutionBetterThanCurrent = {false};
+
+        this.snapshotLock.readLock().lock();
+        try {
+            // the solution of the target is compared and replaced atomically
+            this.covered.compute(target, (t, currentSolution) -> {
+                if (currentSolution == null) {
+                    logger.debug("Solution for non-covered target '" + target + "'");
+                    isNewCoveredTarget[0] = true;
+                    return solution;
+                }
+                isNewSolutionBetterThanCurrent[0] = this.isBetterThanCurrent(currentSolution, solution);
+                return isNewSolutionBetterThanCurrent[0] ? solution : currentSolution;
+            });
+            if (isNewCoveredTarget[0]) {
+                this.registerCoveredTarget(target);
+                this.coveredOrder.add(target);
+            }
+        } finally {
+            this.snapshotLock.readLock().unlock();
         }
 
-        if (isNewCoveredTarget || isNewSolutionBetterThanCurrent) {
-            // update the archive if a new target has been covered, or if solution covers already existing
-            // covered targets but it has been considered a better solution
-            this.addToArchive(target, solution);
+        if (isNewCoveredTarget[0] || isNewSolutionBetterThanCurrent[0]) {
+            // the archive has been updated as a new target has been covered, or as solution covers
+            // already existing covered targets but it has been considered a better solution
+            this.addedToArchive(target, solution, isNewCoveredTarget[0]);
         }
     }
 
-    private void addToArchive(TestFitnessFunction target, TestChromosome solution) {
-        this.uncovered.remove(target);
-        this.covered.put(target, solution);
-        this.removeNonCoveredTargetOfAMethod(target);
+    private void addedToArchive(TestFitnessFunction target, TestChromosome solution, boolean isNewCoveredTarget) {
+        if (isNewCoveredTarget) {
+            this.removeNonCoveredTargetOfAMethod(target);
+        }
         this.hasBeenUpdated = true;
 
         ExecutionResult result = solution.getLastExecutionResult();
@@ -135,7 +205,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfTargets() {
-        return this.covered.keySet().size() + this.uncovered.size();
+        return this.targets.size();
     }
 
     /**
@@ -160,7 +230,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public Set<TestFitnessFunction> getCoveredTargets() {
-        return this.covered.keySet();
+        return new TargetView(this.coveredOrder, true);
     }
 
     /**
@@ -168,7 +238,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfUncoveredTargets() {
-        return this.uncovered.size();
+        return Math.max(0, this.targets.size() - this.covered.size());
     }
 
     /**
@@ -176,7 +246,8 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public int getNumberOfUncoveredTargets(Class<?> targetClass) {
-        return (int) this.uncovered.stream().filter(target -> target.getClass() == targetClass).count();
+        return (int) this.getUncoveredTargets().stream().filter(target -> target.getClass() == targetClass)
+                .count();
     }
 
     /**
@@ -184,7 +255,7 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public Set<TestFitnessFunction> getUncoveredTargets() {
-        return this.uncovered;
+        return new TargetView(this.uncovered.values(), false);
     }
 
     private Set<TestFitnessFunction> getTargets() {
@@ -194,13 +265,69 @@ public class CoverageArchive extends Archive {
         return targets;
     }
 
+    /**
+     * Read-only view of the covered or of the uncovered targets, in the order of the given collection
+     */
+    private final class TargetView extends AbstractSet<TestFitnessFunction> {
+
+        private final Collection<TestFitnessFunction> order;
+
+        private final boolean isCovered;
+
+        private TargetView(Collection<TestFitnessFunction> order, boolean isCovered) {
+            this.order = order;
+            this.isCovered = isCovered;
+        }
+
+        @Override
+        public boolean contains(Object target) {
+            return isCovered ? covered.containsKey(target)
+                    : targets.containsKey(target) && !covered.containsKey(target);
+        }
+
+        @Override
+        public int size() {
+            return isCovered ? getNumberOfCoveredTargets() : getNumberOfUncoveredTargets();
+        }
+
+        @Override
+        public Iterator<TestFitnessFunction> iterator() {
+            Iterator<TestFitnessFunction> iterator = this.order.iterator();
+            return new Iterator<TestFitnessFunction>() {
+
+                private TestFitnessFunction next = null;
+
+                @Override
+                public boolean hasNext() {
+                    while (this.next == null && iterator.hasNext()) {
+                        TestFitnessFunction target = iterator.next();
+                        if (covered.containsKey(target) == isCovered) {
+                            this.next = target;
+                        }
+                    }
+                    return this.next != null;
+                }
+
+                @Override
+                public TestFitnessFunction next() {
+                    if (!this.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    TestFitnessFunction target = this.next;
+                    this.next = null;
+                    return target;
+                }
+            };
+        }
+    }
+
     /**
      * {@inheritDoc}
      */
     @Override
     public boolean hasTarget(TestFitnessFunction target) {
         assert target != null;
-        return this.covered.containsKey(target) || this.uncovered.contains(target);
+        return this.targets.containsKey(target) || this.covered.containsKey(target);
     }
 
     /**
@@ -216,7 +343,16 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public Set<TestChromosome> getSolutions() {
-        return new LinkedHashSet<>(this.covered.values());
+        Set<TestChromosome> solutions = new LinkedHashSet<>();
+        this.snapshotLock.writeLock().lock();
+        try {
+            for (TestFitnessFunction target : this.coveredOrder) {
+                solutions.add(this.covered.get(target));
+            }
+        } finally {
+            this.snapshotLock.writeLock().unlock();
+        }
+        return solutions;
     }
 
     /**
@@ -340,8 +476,15 @@ public class CoverageArchive extends Archive {
      */
     @Override
     public void reset() {
-        super.reset();
-        this.covered.clear();
-        this.uncovered.clear();
+        this.snapshotLock.writeLock().lock();
+        try {
+            super.reset();
+            this.covered.clear();
+            this.coveredOrder.clear();
+            this.targets.clear();
+            this.uncovered.clear();
+        } finally {
+            this.snapshotLock.writeLock().unlock();
+        }
     }
 }
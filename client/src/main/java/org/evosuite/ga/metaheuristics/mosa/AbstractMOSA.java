@@ -19,6 +19,7 @@
  */
 package org.evosuite.ga.metaheuristics.mosa;
 
+import org.evosuite.ClientProcess;
 import org.evosuite.Properties;
 import org.evosuite.Properties.SelectionFunction;
 import org.evosuite.coverage.FitnessFunctions;
@@ -29,6 +30,11 @@ import org.evosuite.ga.FitnessFunction;
 import org.evosuite.ga.archive.Archive;
 import org.evosuite.ga.comparators.DominanceComparator;
 import org.evosuite.ga.metaheuristics.GeneticAlgorithm;
+import org.evosuite.ga.operators.selection.BestKSelection;
+import org.evosuite.ga.operators.selection.RandomKSelection;
+import org.evosuite.ga.operators.selection.RankSelection;
+import org.evosuite.rmi.ClientServices;
+import org.evosuite.rmi.service.ClientNodeLocal;
 import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
@@ -39,12 +45,14 @@ import org.evosuite.testsuite.TestSuiteChromosome;
 import org.evosuite.testsuite.TestSuiteFitnessFunction;
 import org.evosuite.utils.ArrayUtil;
 import org.evosuite.utils.BudgetConsumptionMonitor;
+import org.evosuite.utils.Listener;
 import org.evosuite.utils.LoggingUtils;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
+import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Abstract class for MOSA or variants of MOSA.
@@ -73,6 +81,20 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
      */
     protected final BudgetConsumptionMonitor budgetMonitor;
 
+    /**
+     * immigrant groups from neighbouring clients
+     */
+    private final ConcurrentLinkedQueue<Set<TestChromosome>> immigrants = new ConcurrentLinkedQueue<>();
+
+    private final org.evosuite.ga.operators.selection.SelectionFunction<TestChromosome> emigrantsSelection;
+
+    private transient Listener<Set<TestChromosome>> immigrantsListener = null;
+
+    /**
+     * For sharded parallel runs: the goals searched by the other clients
+     */
+    private final List<TestFitnessFunction> otherShardsGoals = new ArrayList<>();
+
     /**
      * Constructor.
      *
@@ -90,6 +112,17 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
 
         this.budgetMonitor = new BudgetConsumptionMonitor();
 
+        switch (Properties.EMIGRANT_SELECTION_FUNCTION) {
+            case RANK:
+                this.emigrantsSelection = new RankSelection<>();
+                break;
+            case RANDOMK:
+                this.emigrantsSelection = new RandomKSelection<>();
+                break;
+            default:
+                this.emigrantsSelection = new BestKSelection<>();
+        }
+
         // set the secondary objectives of test cases (useful when MOSA compares two test
         // cases to, for example, update the archive)
         TestCaseSecondaryObjective.setSecondaryObjectives();
@@ -120,6 +153,42 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * If the goals are sharded across the parallel clients, only the goals of the shard of this
+     * client are searched. The goals of the other shards are only considered when merging the
+     * solutions of all clients at the end of the search.
+     */
+    @Override
+    public void addFitnessFunctions(Collection<? extends FitnessFunction<TestChromosome>> functions) {
+        if (!GoalSharding.isEnabled()) {
+            super.addFitnessFunctions(functions);
+            return;
+        }
+
+        List<FitnessFunction<TestChromosome>> goals = new ArrayList<>(functions);
+        List<TestFitnessFunction> testGoals = new ArrayList<>(goals.size());
+        for (FitnessFunction<TestChromosome> goal : goals) {
+            if (!(goal instanceof TestFitnessFunction)) {
+                throw new IllegalArgumentException("Only TestFitnessFunctions are supported");
+            }
+            testGoals.add((TestFitnessFunction) goal);
+        }
+
+        int[] shards = GoalSharding.assignShards(testGoals, Properties.NUM_PARALLEL_CLIENTS);
+        int myShard = GoalSharding.getShardOfThisClient();
+        for (int i = 0; i < testGoals.size(); i++) {
+            if (shards[i] == myShard) {
+                this.addFitnessFunction(testGoals.get(i));
+            } else {
+                this.otherShardsGoals.add(testGoals.get(i));
+            }
+        }
+        LoggingUtils.getEvoLogger().info("* " + ClientProcess.getPrettyPrintIdentifier() + "Searching "
+                + (testGoals.size() - otherShardsGoals.size()) + " of " + testGoals.size() + " goals");
+    }
+
     @Override
     public FitnessFunction<TestChromosome> getFitnessFunction() {
         return fitnessFunctions.get(0);
@@ -433,6 +502,111 @@ public abstract class AbstractMOSA extends GeneticAlgorithm<TestChromosome> {
         return suite;
     }
 
+    /**
+     * For parallel runs: starts accepting immigrants sent by other clients.
+     */
+    protected void startMigration() {
+        if (Properties.NUM_PARALLEL_CLIENTS > 1) {
+            immigrantsListener = immigrants::add;
+            ClientServices.<TestChromosome>getInstance().getClientNode().addListener(immigrantsListener);
+        }
+    }
+
+    /**
+     * For parallel runs: evaluates the immigrants received since the last generation and adds
+     * them to the given union of parents and offspring. Immigrants are re-executed, as their
+     * fitness values and the archive are local to each client.
+     *
+     * @param union the union of parents and offspring
+     */
+    protected void integrateImmigrants(List<TestChromosome> union) {
+        Set<TestChromosome> group;
+        while ((group = immigrants.poll()) != null) {
+            for (TestChromosome immigrant : group) {
+                clearCachedResults(immigrant);
+                immigrant.setChanged(true);
+                this.calculateFitness(immigrant);
+                union.add(immigrant);
+            }
+        }
+    }
+
+    /**
+     * For parallel runs: every {@link Properties#MIGRANTS_ITERATION_FREQUENCY} generations, sends
+     * {@link Properties#MIGRANTS_COMMUNICATION_RATE} individuals of the population to the master,
+     * which forwards them to the neighbours of this client in the migration topology.
+     */
+    protected void emigrate() {
+        if (Properties.NUM_PARALLEL_CLIENTS > 1 && Properties.MIGRANTS_ITERATION_FREQUENCY > 0) {
+            if ((currentIteration + 1) % Properties.MIGRANTS_ITERATION_FREQUENCY == 0 && !this.population.isEmpty()) {
+                Set<TestChromosome> emigrants = new HashSet<>(emigrantsSelection.select(this.population,
+                        Properties.MIGRANTS_COMMUNICATION_RATE));
+                ClientServices.<TestChromosome>getInstance().getClientNode().emigrate(emigrants);
+            }
+        }
+    }
+
+    /**
+     * For parallel runs: stops accepting immigrants and merges the archives of all clients into
+     * the archive of {@link ClientProcess#DEFAULT_CLIENT_NAME}, which writes the final test suite.
+     */
+    protected void finishMigration() {
+        if (Properties.NUM_PARALLEL_CLIENTS <= 1) {
+            return;
+        }
+
+        final ClientNodeLocal<TestChromosome> clientNode =
+                ClientServices.<TestChromosome>getInstance().getClientNode();
+        clientNode.deleteListener(immigrantsListener);
+        immigrantsListener = null;
+        immigrants.clear();
+
+        if (ClientProcess.DEFAULT_CLIENT_NAME.equals(ClientProcess.getIdentifier())) {
+            //collect all end result test cases
+            Set<Set<TestChromosome>> collectedSolutions = clientNode.getBestSolutions();
+            if (collectedSolutions == null) {
+                logger.warn("Did not receive the solutions of all clients");
+                return;
+            }
+
+            logger.debug(ClientProcess.DEFAULT_CLIENT_NAME + ": Received " + collectedSolutions.size() + " solution sets");
+
+            // the goals of the other shards are part of the final suite
+            if (!otherShardsGoals.isEmpty()) {
+                Archive.getArchiveInstance().addTargets(otherShardsGoals);
+                fitnessFunctions.addAll(otherShardsGoals);
+                otherShardsGoals.clear();
+            }
+
+            for (Set<TestChromosome> solution : collectedSolutions) {
+                for (TestChromosome t : solution) {
+                    clearCachedResults(t);
+                    t.setChanged(true);
+                    this.mergeSolution(t);
+                }
+            }
+        } else {
+            //send end result test cases to Client-0
+            Set<TestChromosome> solutionsSet = new HashSet<>(getSolutions());
+            logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + solutionsSet.size()
+                    + " solutions to " + ClientProcess.DEFAULT_CLIENT_NAME);
+            clientNode.sendBestSolution(solutionsSet);
+        }
+    }
+
+    /**
+     * Evaluates a solution found by another client against all goals (including the goals of
+     * other shards), adding it to the archive if it covers new goals or is better than the
+     * current solution for a goal. By default, this is just
+     * {@link #calculateFitness(TestChromosome)}. Subclasses that stop evaluating solutions once
+     * the search budget is exhausted must override it, as solutions are merged after the search.
+     *
+     * @param solution a solution from the archive of another client
+     */
+    protected void mergeSolution(TestChromosome solution) {
+        this.calculateFitness(solution);
+    }
+
     ///// ----------------------
 
     /**
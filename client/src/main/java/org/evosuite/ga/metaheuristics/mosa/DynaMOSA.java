@@ -76,6 +76,9 @@ public class DynaMOSA extends AbstractMOSA {
         union.addAll(this.population);
         union.addAll(offspringPopulation);
 
+        // for parallel runs: integrate possible immigrants
+        this.integrateImmigrants(union);
+
         // Ranking the union
         logger.debug("Union Size = {}", union.size());
 
@@ -126,6 +129,9 @@ public class DynaMOSA extends AbstractMOSA {
             }
         }
 
+        // for parallel runs: collect best k individuals for migration
+        this.emigrate();
+
         this.currentIteration++;
         //logger.debug("N. fronts = {}", ranking.getNumberOfSubfronts());
         //logger.debug("1* front size = {}", ranking.getSubfront(0).size());
@@ -169,10 +175,12 @@ public class DynaMOSA extends AbstractMOSA {
 
         // Evolve the population generation by generation until all gaols have been covered or the
         // search budget has been consumed.
+        this.startMigration();
         while (!isFinished() && this.goalsManager.getUncoveredGoals().size() > 0) {
             this.evolve();
             this.notifyIteration();
         }
+        this.finishMigration();
 
         this.notifySearchFinished();
     }
@@ -192,6 +200,20 @@ public class DynaMOSA extends AbstractMOSA {
         }
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void mergeSolution(TestChromosome solution) {
+        // executes the test and updates the archive with the branches it covers
+        this.goalsManager.calculateFitness(solution, this);
+        // the search budget is exhausted, so the goals manager does not visit the remaining
+        // goals: evaluating them also updates the archive
+        for (TestFitnessFunction goal : new ArrayList<>(this.goalsManager.getUncoveredGoals())) {
+            goal.getFitness(solution);
+        }
+    }
+
     @Override
     public List<? extends FitnessFunction<TestChromosome>> getFitnessFunctions() {
         List<TestFitnessFunction> testFitnessFunctions = new ArrayList<>(goalsManager.getCoveredGoals());
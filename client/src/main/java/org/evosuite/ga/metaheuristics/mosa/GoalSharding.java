@@ -0,0 +1,111 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa;
+
+import org.evosuite.ClientProcess;
+import org.evosuite.Properties;
+import org.evosuite.testcase.TestFitnessFunction;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Partitions the coverage goals of the class under test across the parallel clients (see
+ * {@link Properties#SHARD_GOALS}).
+ * <p>
+ * Goals are grouped by the method they belong to, as most goals of a method depend on the
+ * other goals of the same method. The groups are assigned to the clients such that each
+ * client gets roughly the same number of goals. Every client computes the same partition
+ * on its own, so the partition does not need to be communicated.
+ */
+final class GoalSharding {
+
+    private GoalSharding() {
+    }
+
+    /**
+     * @return whether the goals are partitioned across the clients
+     */
+    static boolean isEnabled() {
+        return Properties.SHARD_GOALS && Properties.NUM_PARALLEL_CLIENTS > 1;
+    }
+
+    /**
+     * @return the number of the shard searched by this client
+     */
+    static int getShardOfThisClient() {
+        String identifier = ClientProcess.getIdentifier();
+        if (identifier == null) {
+            return 0;
+        }
+        String number = identifier.replaceAll("[^0-9]", "");
+        return number.isEmpty() ? 0 : Integer.parseInt(number) % Properties.NUM_PARALLEL_CLIENTS;
+    }
+
+    /**
+     * Assigns each method (and all its goals) to one of the shards.
+     *
+     * @param goals     the goals to partition
+     * @param numShards the number of shards
+     * @return the number of the shard of each goal, in the order of the given goals
+     */
+    static int[] assignShards(List<? extends TestFitnessFunction> goals, int numShards) {
+        Map<String, List<Integer>> goalsOfMethod = new LinkedHashMap<>();
+        for (int i = 0; i < goals.size(); i++) {
+            goalsOfMethod.computeIfAbsent(getMethodFullName(goals.get(i)), m -> new ArrayList<>()).add(i);
+        }
+
+        // largest methods first, each on the currently smallest shard
+        List<String> methods = new ArrayList<>(goalsOfMethod.keySet());
+        methods.sort((m1, m2) -> {
+            int bySize = Integer.compare(goalsOfMethod.get(m2).size(), goalsOfMethod.get(m1).size());
+            return bySize != 0 ? bySize : m1.compareTo(m2);
+        });
+
+        int[] shardSizes = new int[numShards];
+        Map<String, Integer> shardOfMethod = new HashMap<>();
+        for (String method : methods) {
+            int smallest = 0;
+            for (int shard = 1; shard < numShards; shard++) {
+                if (shardSizes[shard] < shardSizes[smallest]) {
+                    smallest = shard;
+                }
+            }
+            shardOfMethod.put(method, smallest);
+            shardSizes[smallest] += goalsOfMethod.get(method).size();
+        }
+
+        int[] shards = new int[goals.size()];
+        for (Map.Entry<String, List<Integer>> entry : goalsOfMethod.entrySet()) {
+            int shard = shardOfMethod.get(entry.getKey());
+            for (int goal : entry.getValue()) {
+                shards[goal] = shard;
+            }
+        }
+        return shards;
+    }
+
+    private static String getMethodFullName(TestFitnessFunction goal) {
+        return goal.getTargetClass() + goal.getTargetMethod();
+    }
+}
@@ -19,26 +19,17 @@
  */
 package org.evosuite.ga.metaheuristics.mosa;
 
-import org.evosuite.ClientProcess;
-import org.evosuite.Properties;
 import org.evosuite.ga.ChromosomeFactory;
 import org.evosuite.ga.comparators.OnlyCrowdingComparator;
 import org.evosuite.ga.operators.ranking.CrowdingDistance;
-import org.evosuite.ga.operators.selection.BestKSelection;
-import org.evosuite.ga.operators.selection.RandomKSelection;
-import org.evosuite.ga.operators.selection.RankSelection;
-import org.evosuite.ga.operators.selection.SelectionFunction;
 import org.evosuite.rmi.ClientServices;
-import org.evosuite.rmi.service.ClientNodeLocal;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
-import org.evosuite.utils.Listener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentLinkedQueue;
 
 /**
  * Implementation of the Many-Objective Sorting Algorithm (MOSA) described in the
@@ -52,14 +43,6 @@ public class MOSA extends AbstractMOSA {
 
     private static final Logger logger = LoggerFactory.getLogger(MOSA.class);
 
-    /**
-     * immigrant groups from neighbouring client
-     */
-    private final ConcurrentLinkedQueue<List<TestChromosome>> immigrants =
-            new ConcurrentLinkedQueue<>();
-
-    private final SelectionFunction<TestChromosome> emigrantsSelection;
-
     /**
      * Crowding distance measure to use
      */
@@ -72,17 +55,6 @@ public class MOSA extends AbstractMOSA {
      */
     public MOSA(ChromosomeFactory<TestChromosome> factory) {
         super(factory);
-
-        switch (Properties.EMIGRANT_SELECTION_FUNCTION) {
-            case RANK:
-                this.emigrantsSelection = new RankSelection<>();
-                break;
-            case RANDOMK:
-                this.emigrantsSelection = new RandomKSelection<>();
-                break;
-            default:
-                this.emigrantsSelection = new BestKSelection<>();
-        }
     }
 
     /**
@@ -98,9 +70,7 @@ public class MOSA extends AbstractMOSA {
         union.addAll(offspringPopulation);
 
         // for parallel runs: integrate possible immigrants
-        if (Properties.NUM_PARALLEL_CLIENTS > 1 && !immigrants.isEmpty()) {
-            union.addAll(immigrants.poll());
-        }
+        this.integrateImmigrants(union);
 
         Set<TestFitnessFunction> uncoveredGoals = this.getUncoveredGoals();
 
@@ -145,13 +115,7 @@ public class MOSA extends AbstractMOSA {
         }
 
         // for parallel runs: collect best k individuals for migration
-        if (Properties.NUM_PARALLEL_CLIENTS > 1 && Properties.MIGRANTS_ITERATION_FREQUENCY > 0) {
-            if ((currentIteration + 1) % Properties.MIGRANTS_ITERATION_FREQUENCY == 0 && !this.population.isEmpty()) {
-                HashSet<TestChromosome> emigrants = new HashSet<>(emigrantsSelection.select(this.population,
-                        Properties.MIGRANTS_COMMUNICATION_RATE));
-                ClientServices.<TestChromosome>getInstance().getClientNode().emigrate(emigrants);
-            }
-        }
+        this.emigrate();
 
         this.currentIteration++;
     }
@@ -177,14 +141,7 @@ public class MOSA extends AbstractMOSA {
             this.distance.fastEpsilonDominanceAssignment(this.rankingFunction.getSubfront(i), this.getUncoveredGoals());
         }
 
-        final ClientNodeLocal<TestChromosome> clientNode =
-                ClientServices.<TestChromosome>getInstance().getClientNode();
-
-        Listener<Set<TestChromosome>> listener = null;
-        if (Properties.NUM_PARALLEL_CLIENTS > 1) {
-            listener = event -> immigrants.add(new LinkedList<>(event));
-            clientNode.addListener(listener);
-        }
+        this.startMigration();
 
         // TODO add here dynamic stopping condition
         while (!this.isFinished() && this.getNumberOfUncoveredGoals() > 0) {
@@ -192,30 +149,10 @@ public class MOSA extends AbstractMOSA {
             this.notifyIteration();
         }
 
-        if (Properties.NUM_PARALLEL_CLIENTS > 1) {
-            clientNode.deleteListener(listener);
-
-            if (ClientProcess.DEFAULT_CLIENT_NAME.equals(ClientProcess.getIdentifier())) {
-                //collect all end result test cases
-                Set<Set<TestChromosome>> collectedSolutions = clientNode.getBestSolutions();
-
-                logger.debug(ClientProcess.DEFAULT_CLIENT_NAME + ": Received " + collectedSolutions.size() + " solution sets");
-                for (Set<TestChromosome> solution : collectedSolutions) {
-                    for (TestChromosome t : solution) {
-                        this.calculateFitness(t);
-                    }
-                }
-            } else {
-                //send end result test cases to Client-0
-                Set<TestChromosome> solutionsSet = new HashSet<>(getSolutions());
-                logger.debug(ClientProcess.getPrettyPrintIdentifier() + "Sending " + solutionsSet.size()
-                        + " solutions to " + ClientProcess.DEFAULT_CLIENT_NAME);
-                clientNode.sendBestSolution(solutionsSet);
-            }
-        }
+        this.finishMigration();
 
         // storing the time needed to reach the maximum coverage
-        clientNode.trackOutputVariable(RuntimeVariable.Time2MaxCoverage,
+        ClientServices.<TestChromosome>getInstance().getClientNode().trackOutputVariable(RuntimeVariable.Time2MaxCoverage,
                 this.budgetMonitor.getTime2MaxCoverage());
         this.notifySearchFinished();
     }
@@ -25,6 +25,7 @@ import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionResultCache;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -83,7 +84,7 @@ public class BranchesManager extends StructuralGoalManager {
     public void calculateFitness(TestChromosome c, GeneticAlgorithm<TestChromosome> ga) {
         // run the test
         TestCase test = c.getTestCase();
-        ExecutionResult result = TestCaseExecutor.runTest(test);
+        ExecutionResult result = ExecutionResultCache.getInstance().getOrExecute(test, TestCaseExecutor::runTest);
         c.setLastExecutionResult(result);
         c.setChanged(false);
 
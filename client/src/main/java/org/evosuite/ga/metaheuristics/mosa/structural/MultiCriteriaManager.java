@@ -22,6 +22,7 @@ package org.evosuite.ga.metaheuristics.mosa.structural;
 import org.evosuite.Properties;
 import org.evosuite.Properties.Criterion;
 import org.evosuite.TestGenerationContext;
+import org.evosuite.coverage.ControlFlowDistance;
 import org.evosuite.coverage.branch.BranchCoverageFactory;
 import org.evosuite.coverage.branch.BranchCoverageGoal;
 import org.evosuite.coverage.branch.BranchCoverageTestFitness;
@@ -50,6 +51,7 @@ import org.evosuite.testcase.TestCase;
 import org.evosuite.testcase.TestChromosome;
 import org.evosuite.testcase.TestFitnessFunction;
 import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionResultCache;
 import org.evosuite.testcase.execution.ExecutionTrace;
 import org.evosuite.testcase.execution.TestCaseExecutor;
 import org.evosuite.utils.ArrayUtil;
@@ -59,6 +61,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.Serializable;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 
 /**
  * A class for managing multiple coverage targets simultaneously.
@@ -69,6 +73,12 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
 
     private static final long serialVersionUID = 8161137239404885564L;
 
+    /**
+     * Pool computing the distances of the current goals, if there is more than one goal
+     * evaluation thread
+     */
+    private static ForkJoinPool goalEvaluationPool = null;
+
     protected BranchFitnessGraph graph;
 
     protected Map<BranchCoverageTestFitness, Set<TestFitnessFunction>> dependencies;
@@ -370,6 +380,42 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
     }
 
 
+    /**
+     * Computes the distances of the given execution result to the current goals that are plain
+     * branch goals, across {@link Properties#GOAL_EVALUATION_THREADS} threads. If there is only
+     * one goal evaluation thread, no distance is computed in advance.
+     *
+     * @param result the execution result of a test
+     * @return the distance of the result to each current branch goal
+     */
+    private Map<TestFitnessFunction, ControlFlowDistance> computeBranchDistances(ExecutionResult result) {
+        if (Properties.GOAL_EVALUATION_THREADS <= 1)
+            return Collections.emptyMap();
+
+        // subclasses might compute their fitness differently
+        List<BranchCoverageTestFitness> goals = this.currentGoals.stream()
+                .filter(goal -> goal.getClass() == BranchCoverageTestFitness.class)
+                .map(goal -> (BranchCoverageTestFitness) goal)
+                .collect(Collectors.toList());
+        List<ControlFlowDistance> goalDistances = getGoalEvaluationPool().submit(() -> goals.parallelStream()
+                .map(goal -> goal.getBranchGoal().getDistance(result))
+                .collect(Collectors.toList())).join();
+
+        Map<TestFitnessFunction, ControlFlowDistance> distances = new IdentityHashMap<>(goals.size());
+        for (int i = 0; i < goals.size(); i++)
+            distances.put(goals.get(i), goalDistances.get(i));
+        return distances;
+    }
+
+    private static synchronized ForkJoinPool getGoalEvaluationPool() {
+        if (goalEvaluationPool == null || goalEvaluationPool.getParallelism() != Properties.GOAL_EVALUATION_THREADS) {
+            if (goalEvaluationPool != null)
+                goalEvaluationPool.shutdown();
+            goalEvaluationPool = new ForkJoinPool(Properties.GOAL_EVALUATION_THREADS);
+        }
+        return goalEvaluationPool;
+    }
+
     /**
      * Calculates the fitness of the given test chromosome w.r.t. the current set of goals. To this
      * end, the test chromosome is executed, it's execution trace recorded and the resulting
@@ -383,7 +429,7 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
     public void calculateFitness(TestChromosome c, GeneticAlgorithm<TestChromosome> ga) {
         // Run the test and record the execution result.
         TestCase test = c.getTestCase();
-        ExecutionResult result = TestCaseExecutor.runTest(test);
+        ExecutionResult result = ExecutionResultCache.getInstance().getOrExecute(test, TestCaseExecutor::runTest);
         c.setLastExecutionResult(result);
         c.setChanged(false);
 
@@ -405,6 +451,10 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
          */
         LinkedList<TestFitnessFunction> targets = new LinkedList<>(this.currentGoals);
 
+        // The distances of the current branch goals only depend on the execution, and can be
+        // computed in advance (in parallel), while updating c and the archive is left to the loop.
+        Map<TestFitnessFunction, ControlFlowDistance> distances = computeBranchDistances(result);
+
         // 1) We update the set of current goals.
         while (targets.size() > 0 && !ga.isFinished()) {
             // We evaluate the given test case against all current targets.
@@ -416,7 +466,9 @@ public class MultiCriteriaManager extends StructuralGoalManager implements Seria
             if (pastSize == visitedTargets.size())
                 continue;
 
-            double fitness = target.getFitness(c);
+            ControlFlowDistance distance = distances.get(target);
+            double fitness = distance == null ? target.getFitness(c)
+                    : ((BranchCoverageTestFitness) target).getFitness(c, distance);
 
             /*
              * Checks if the current test target has been reached and, in accordance, marks it as
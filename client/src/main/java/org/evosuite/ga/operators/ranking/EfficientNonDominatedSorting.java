@@ -0,0 +1,178 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import org.evosuite.ga.Chromosome;
+import org.evosuite.ga.FitnessFunction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Efficient non-dominated sorting with binary search (ENS-BS, Zhang et al.,
+ * "An Efficient Approach to Nondominated Sorting for Evolutionary
+ * Multiobjective Optimization", IEEE TEVC 2015).
+ * <p>
+ * The fitness values of all solutions are first copied into a dense matrix,
+ * rather than looked up for each pair of solutions. The solutions are then
+ * sorted lexicographically by their values, such that a solution can only be
+ * dominated by solutions sorted before it, and are added one after the other
+ * to the first front that has no solution dominating them. That front is found
+ * with a binary search over the fronts found so far, and only the solutions of
+ * that front are compared.
+ * <p>
+ * The fronts are the same as with the fast non-dominated sorting of NSGA-II
+ * and the {@link org.evosuite.ga.comparators.DominanceComparator}: a solution
+ * dominates another one if none of its values is greater and one is smaller.
+ */
+public class EfficientNonDominatedSorting {
+
+    private EfficientNonDominatedSorting() {
+    }
+
+    /**
+     * Sorts the given solutions into non-dominated fronts with respect to the
+     * given goals (assuming minimization)
+     *
+     * @param solutions the solutions to sort
+     * @param goals     the goals to compare the solutions on
+     * @param <T>       the type of solution
+     * @return the fronts, from the non-dominated one on. The solutions of a
+     * front are in the same order as in the given list
+     */
+    public static <T extends Chromosome<T>> List<List<T>> getFronts(List<T> solutions,
+                                                                   Collection<? extends FitnessFunction<T>> goals) {
+        int[] frontOf = getFrontIndices(getObjectives(solutions, goals));
+        int numberOfFronts = 0;
+        for (int front : frontOf) {
+            numberOfFronts = Math.max(numberOfFronts, front + 1);
+        }
+
+        List<List<T>> fronts = new ArrayList<>(numberOfFronts);
+        for (int i = 0; i < numberOfFronts; i++) {
+            fronts.add(new ArrayList<>());
+        }
+        for (int i = 0; i < solutions.size(); i++) {
+            fronts.get(frontOf[i]).add(solutions.get(i));
+        }
+        return fronts;
+    }
+
+    private static <T extends Chromosome<T>> double[][] getObjectives(List<T> solutions,
+                                                                    Collection<? extends FitnessFunction<T>> goals) {
+        double[][] objectives = new double[solutions.size()][];
+        for (int i = 0; i < solutions.size(); i++) {
+            T solution = solutions.get(i);
+            double[] values = new double[goals.size()];
+            int k = 0;
+            for (FitnessFunction<T> goal : goals) {
+                values[k++] = solution.getFitness(goal);
+            }
+            objectives[i] = values;
+        }
+        return objectives;
+    }
+
+    /**
+     * Returns the index of the front of each of the given objective vectors,
+     * starting from 0 for the non-dominated ones
+     *
+     * @param objectives one vector of values to minimize per solution, all of
+     *                   the same length
+     * @return an array of int.
+     */
+    static int[] getFrontIndices(double[][] objectives) {
+        int n = objectives.length;
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (i, j) -> {
+            int flag = compareLexicographically(objectives[i], objectives[j]);
+            return flag != 0 ? flag : Integer.compare(i, j);
+        });
+
+        int[] frontOf = new int[n];
+        // the solutions of each front in lexicographical order
+        List<List<double[]>> fronts = new ArrayList<>();
+        for (int index : order) {
+            double[] solution = objectives[index];
+            // the first front without a solution dominating this one: if a
+            // front has one, so do all fronts before it
+            int low = 0;
+            int high = fronts.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (isDominated(solution, fronts.get(middle))) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            if (low == fronts.size()) {
+                fronts.add(new ArrayList<>());
+            }
+            fronts.get(low).add(solution);
+            frontOf[index] = low;
+        }
+        return frontOf;
+    }
+
+    private static int compareLexicographically(double[] a, double[] b) {
+        for (int k = 0; k < a.length; k++) {
+            int flag = Double.compare(a[k], b[k]);
+            if (flag != 0) {
+                return flag;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Whether a solution of the front dominates the given solution, which is
+     * not lexicographically smaller than any of them
+     */
+    private static boolean isDominated(double[] solution, List<double[]> front) {
+        // solutions sorted last are the most similar ones
+        for (int i = front.size() - 1; i >= 0; i--) {
+            if (dominates(front.get(i), solution)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a dominates b, given that b is not lexicographically smaller
+     */
+    private static boolean dominates(double[] a, double[] b) {
+        boolean smaller = false;
+        for (int k = 0; k < a.length; k++) {
+            int flag = Double.compare(a[k], b[k]);
+            if (flag > 0) {
+                return false;
+            }
+            smaller |= flag < 0;
+        }
+        return smaller;
+    }
+}
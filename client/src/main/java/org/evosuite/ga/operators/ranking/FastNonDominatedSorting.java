@@ -37,7 +37,6 @@ package org.evosuite.ga.operators.ranking;
 
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
-import org.evosuite.ga.comparators.DominanceComparator;
 
 import java.util.*;
 
@@ -73,7 +72,8 @@ public class FastNonDominatedSorting<T extends Chromosome<T>> implements Ranking
 
 
     /**
-     * This method ranks the remaining test cases using the traditional "Non-Dominated Sorting Algorithm"
+     * This method ranks the remaining test cases using the traditional "Non-Dominated Sorting Algorithm",
+     * as computed by {@link EfficientNonDominatedSorting}
      *
      * @param solutionSet     set of test cases to rank with "Non-Dominated Sorting Algorithm"
      * @param uncovered_goals set of goals
@@ -82,84 +82,18 @@ public class FastNonDominatedSorting<T extends Chromosome<T>> implements Ranking
     @SuppressWarnings("unchecked")
     private List<T>[] getNextNonDominatedFronts(List<T> solutionSet,
                                                 Set<? extends FitnessFunction<T>> uncovered_goals) {
-        DominanceComparator<T> criterion_ = new DominanceComparator<>(uncovered_goals);
-
-        // dominateMe[i] contains the number of solutions dominating i
-        int[] dominateMe = new int[solutionSet.size()];
-
-        // iDominate[k] contains the list of solutions dominated by k
-        List<Integer>[] iDominate = new List[solutionSet.size()];
-
-        // front[i] contains the list of individuals belonging to the front i
-        List<Integer>[] front = new List[solutionSet.size() + 1];
-
-        // flagDominate is an auxiliary encodings.variable
-        int flagDominate;
-
-        // Initialize the fronts
-        for (int i = 0; i < front.length; i++)
-            front[i] = new LinkedList<>();
-
         // Initialize distance
         for (T solution : solutionSet) {
             solution.setDistance(Double.MAX_VALUE);
         }
 
-        // -> Fast non dominated sorting algorithm
-        for (int p = 0; p < solutionSet.size(); p++) {
-            // Initialize the list of individuals that i dominate and the number
-            // of individuals that dominate me
-            iDominate[p] = new LinkedList<>();
-            dominateMe[p] = 0;
-        }
-
-        for (int p = 0; p < (solutionSet.size() - 1); p++) {
-            // For all q individuals , calculate if p dominates q or vice versa
-            for (int q = p + 1; q < solutionSet.size(); q++) {
-                flagDominate = criterion_.compare(solutionSet.get(p), solutionSet.get(q));
+        List<List<T>> front = EfficientNonDominatedSorting.getFronts(solutionSet, uncovered_goals);
 
-                if (flagDominate == -1) {
-                    iDominate[p].add(q);
-                    dominateMe[q]++;
-                } else if (flagDominate == 1) {
-                    iDominate[q].add(p);
-                    dominateMe[p]++;
-                }
-            }
-            // If nobody dominates p, p belongs to the first front
-        }
-        for (int p = 0; p < solutionSet.size(); p++) {
-            if (dominateMe[p] == 0) {
-                front[0].add(p);
-                solutionSet.get(p).setRank(1);
-            }
-        }
-
-        // Obtain the rest of fronts
-        int i = 0;
-        Iterator<Integer> it1, it2; // Iterators
-        while (front[i].size() != 0) {
-            i++;
-            it1 = front[i - 1].iterator();
-            while (it1.hasNext()) {
-                it2 = iDominate[it1.next()].iterator();
-                while (it2.hasNext()) {
-                    int index = it2.next();
-                    dominateMe[index]--;
-                    if (dominateMe[index] == 0) {
-                        front[i].add(index);
-                        solutionSet.get(index).setRank(i + 1);
-                    }
-                }
-            }
-        }
-        List<T>[] fronts = new ArrayList[i];
-        // 0,1,2,....,i-1 are front, then i fronts
-        for (int j = 0; j < i; j++) {
-            fronts[j] = new ArrayList<>();
-            it1 = front[j].iterator();
-            while (it1.hasNext()) {
-                fronts[j].add(solutionSet.get(it1.next()));
+        List<T>[] fronts = new ArrayList[front.size()];
+        for (int i = 0; i < front.size(); i++) {
+            fronts[i] = new ArrayList<>(front.get(i));
+            for (T solution : fronts[i]) {
+                solution.setRank(i + 1);
             }
         }
         return fronts;
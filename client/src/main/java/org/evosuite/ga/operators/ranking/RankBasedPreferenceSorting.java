@@ -38,7 +38,6 @@ package org.evosuite.ga.operators.ranking;
 import org.evosuite.Properties;
 import org.evosuite.ga.Chromosome;
 import org.evosuite.ga.FitnessFunction;
-import org.evosuite.ga.comparators.DominanceComparator;
 import org.evosuite.ga.comparators.PreferenceSortingComparator;
 import org.evosuite.utils.Randomness;
 import org.slf4j.Logger;
@@ -87,15 +86,20 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
 
         if (zero_front.size() < Properties.POPULATION) {
             int rankedSolutions = zero_front.size();
-            DominanceComparator<T> comparator = new DominanceComparator<>(uncovered_goals);
 
             List<T> remaining = new ArrayList<>(solutions.size());
             remaining.addAll(solutions);
             remaining.removeAll(zero_front);
-            while (rankedSolutions < Properties.POPULATION && remaining.size() > 0) {
-                List<T> new_front = this.getNonDominatedSolutions(remaining, comparator, frontIndex);
+            // the remaining solutions are sorted at once, but only the fronts needed
+            // to fill the population are ranked
+            for (List<T> new_front : EfficientNonDominatedSorting.getFronts(remaining, uncovered_goals)) {
+                if (rankedSolutions >= Properties.POPULATION) {
+                    break;
+                }
+                for (T t : new_front) {
+                    t.setRank(frontIndex);
+                }
                 this.fronts.add(new_front);
-                remaining.removeAll(new_front);
                 rankedSolutions += new_front.size();
                 frontIndex++;
             }
@@ -140,32 +144,6 @@ public class RankBasedPreferenceSorting<T extends Chromosome<T>> implements Rank
         return new ArrayList<>(zero_front);
     }
 
-    private List<T> getNonDominatedSolutions(List<T> solutions, DominanceComparator<T> comparator, int frontIndex) {
-        List<T> front = new ArrayList<>(solutions.size());
-        for (T p : solutions) {
-            boolean isDominated = false;
-            List<T> dominatedSolutions = new ArrayList<>(solutions.size());
-            for (T best : front) {
-                int flag = comparator.compare(p, best);
-                if (flag < 0) {
-                    dominatedSolutions.add(best);
-                }
-                if (flag > 0) {
-                    isDominated = true;
-                    break;
-                }
-            }
-            if (isDominated) {
-                continue;
-            }
-
-            p.setRank(frontIndex);
-            front.add(p);
-            front.removeAll(dominatedSolutions);
-        }
-        return front;
-    }
-
     /**
      * {@inheritDoc}
      */
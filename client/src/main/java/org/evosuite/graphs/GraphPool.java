@@ -25,12 +25,16 @@ import org.evosuite.graphs.ccg.ClassCallGraph;
 import org.evosuite.graphs.cdg.ControlDependenceGraph;
 import org.evosuite.graphs.cfg.ActualControlFlowGraph;
 import org.evosuite.graphs.cfg.RawControlFlowGraph;
+import org.evosuite.runtime.sandbox.Sandbox;
 import org.evosuite.setup.DependencyAnalysis;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Gives access to all Graphs computed during CUT analysis such as CFGs created
@@ -43,6 +47,12 @@ import java.util.Map;
  * This pool also offers the possibility to generate the ClassCallGraph and
  * ClassControlFlowGraph for a CUT. They represents the call hierarchy and
  * interaction of different methods within a class.
+ * <p>
+ * If {@link Properties#PARALLEL_GRAPH_CONSTRUCTION} is set, the
+ * ControlDependenceGraphs are computed on a fork-join pool, so that the
+ * dominator analyses of all methods of a class run in parallel with each other
+ * and with the instrumentation of the remaining methods. Retrieving a CDG waits
+ * for its computation to finish.
  *
  * @author Andre Mis
  */
@@ -52,6 +62,8 @@ public class GraphPool {
 
     private static final Map<ClassLoader, GraphPool> instanceMap = new HashMap<>();
 
+    private static ForkJoinPool graphConstructionPool = null;
+
     private final ClassLoader classLoader;
 
     /**
@@ -94,7 +106,7 @@ public class GraphPool {
      * <p>
      * Maps from classNames to methodNames to corresponding CDGs
      */
-    private final Map<String, Map<String, ControlDependenceGraph>> controlDependencies = new HashMap<>();
+    private final Map<String, Map<String, CompletableFuture<ControlDependenceGraph>>> controlDependencies = new HashMap<>();
 
     /**
      * Cache of all created CCFGs
@@ -178,7 +190,17 @@ public class GraphPool {
         if (controlDependencies.get(className) == null)
             return null;
 
-        return controlDependencies.get(className).get(methodName);
+        CompletableFuture<ControlDependenceGraph> cd = controlDependencies.get(className).get(methodName);
+        if (cd == null)
+            return null;
+
+        try {
+            return cd.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException) e.getCause();
+            throw e;
+        }
     }
 
     // register graphs
@@ -244,24 +266,52 @@ public class GraphPool {
     }
 
     private void createAndRegisterControlDependence(ActualControlFlowGraph cfg) {
+        String className = cfg.getClassName();
+        String methodName = cfg.getMethodName();
 
-        ControlDependenceGraph cd = new ControlDependenceGraph(cfg);
-
-        String className = cd.getClassName();
-        String methodName = cd.getMethodName();
-
-        if (className == null || methodName == null)
-            throw new IllegalStateException(
-                    "expect class and method name of CFGs to be set before entering the GraphPool");
+        CompletableFuture<ControlDependenceGraph> cd = null;
+        if (Properties.PARALLEL_GRAPH_CONSTRUCTION && !Sandbox.isOnAndExecutingSUTCode()) {
+            try {
+                cd = CompletableFuture.supplyAsync(() -> createControlDependence(cfg),
+                        getGraphConstructionPool());
+            } catch (RuntimeException e) {
+                // e.g., no permission to start a worker thread
+                logger.debug("Cannot compute CDG of " + className + "." + methodName
+                        + " in background: " + e);
+            }
+        }
+        if (cd == null)
+            cd = CompletableFuture.completedFuture(createControlDependence(cfg));
 
         if (!controlDependencies.containsKey(className))
             controlDependencies.put(className,
                     new HashMap<>());
-        Map<String, ControlDependenceGraph> cds = controlDependencies.get(className);
+        Map<String, CompletableFuture<ControlDependenceGraph>> cds = controlDependencies.get(className);
 
         cds.put(methodName, cd);
+    }
+
+    /**
+     * Only reads the given CFG, so that it can run in parallel to the
+     * construction of the graphs of other methods
+     */
+    private static ControlDependenceGraph createControlDependence(ActualControlFlowGraph cfg) {
+
+        ControlDependenceGraph cd = new ControlDependenceGraph(cfg);
+
+        if (cd.getClassName() == null || cd.getMethodName() == null)
+            throw new IllegalStateException(
+                    "expect class and method name of CFGs to be set before entering the GraphPool");
+
         if (Properties.WRITE_CFG)
             cd.toDot();
+        return cd;
+    }
+
+    private static synchronized ForkJoinPool getGraphConstructionPool() {
+        if (graphConstructionPool == null)
+            graphConstructionPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+        return graphConstructionPool;
     }
 
     /**
@@ -20,13 +20,16 @@
 package org.evosuite.graphs.cdg;
 
 import org.evosuite.coverage.branch.Branch;
+import org.evosuite.coverage.branch.ControlDependenceChain;
 import org.evosuite.graphs.EvoSuiteGraph;
 import org.evosuite.graphs.cfg.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.LinkedHashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class ControlDependenceGraph extends EvoSuiteGraph<BasicBlock, ControlFlowEdge> {
 
@@ -37,6 +40,12 @@ public class ControlDependenceGraph extends EvoSuiteGraph<BasicBlock, ControlFlo
     private final String className;
     private final String methodName;
 
+    /**
+     * Chains of control dependencies of the branches of this method, by
+     * actual branch id
+     */
+    private final Map<Integer, ControlDependenceChain> dependenceChains = new ConcurrentHashMap<>();
+
     /**
      * <p>Constructor for ControlDependenceGraph.</p>
      *
@@ -86,6 +95,19 @@ public class ControlDependenceGraph extends EvoSuiteGraph<BasicBlock, ControlFlo
         return cfg.knowsInstruction(ins);
     }
 
+    /**
+     * Returns the chain of control dependencies from the given branch of this
+     * method up to its root branch. The chain of a branch is only computed
+     * once, when it is first needed
+     *
+     * @param branch a {@link org.evosuite.coverage.branch.Branch} object.
+     * @return a {@link org.evosuite.coverage.branch.ControlDependenceChain} object.
+     */
+    public ControlDependenceChain getControlDependenceChain(Branch branch) {
+        return dependenceChains.computeIfAbsent(branch.getActualBranchId(),
+                id -> new ControlDependenceChain(branch));
+    }
+
     /**
      * <p>getControlDependenceDepth</p>
      *
@@ -41,6 +41,7 @@ import org.evosuite.testcarver.instrument.TransformerUtil;
 import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.commons.SerialVersionUIDAdder;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.util.TraceClassVisitor;
@@ -172,6 +173,112 @@ public class BytecodeInstrumentation {
             cv = new TraceClassVisitor(cv, new PrintWriter(System.err));
         }
 
+        cv = addClassAdapters(classLoader, className, classNameWithDots, cv);
+
+        // Testability Transformations
+        if (classNameWithDots.startsWith(Properties.PROJECT_PREFIX)
+                || (!Properties.TARGET_CLASS_PREFIX.isEmpty()
+                && classNameWithDots.startsWith(Properties.TARGET_CLASS_PREFIX))
+                || shouldTransform(classNameWithDots)) {
+
+            ClassNode cn = new AnnotatedClassNode();
+            reader.accept(cn, readFlags);
+            logger.info("Starting transformation of " + className);
+
+            if (Properties.STRING_REPLACEMENT) {
+                StringTransformation st = new StringTransformation(cn);
+                if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots))
+                    cn = st.transform();
+            }
+
+            ComparisonTransformation cmp = new ComparisonTransformation(cn);
+            if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots)) {
+                cn = cmp.transform();
+                ContainerTransformation ct = new ContainerTransformation(cn);
+                cn = ct.transform();
+            }
+
+            if (shouldTransform(classNameWithDots)) {
+                logger.info("Testability Transforming " + className);
+
+                BooleanTestabilityTransformation tt = new BooleanTestabilityTransformation(cn, classLoader);
+                try {
+                    cn = tt.transform();
+                } catch (Throwable t) {
+                    throw new Error(t);
+                }
+                logger.info("Testability Transformation done: " + className);
+            }
+
+            // -----
+            cn.accept(cv);
+
+            if (Properties.TEST_CARVING && TransformerUtil.isClassConsideredForInstrumentation(className)) {
+                return handleCarving(className, writer);
+            }
+
+        } else {
+            reader.accept(cv, readFlags);
+        }
+
+        return writer.toByteArray();
+    }
+
+    /**
+     * Transforms the bytes of a class like {@link #transformBytes(ClassLoader, String, ClassReader)},
+     * reusing the result of a previous run from the {@link InstrumentedClassCache} if possible.
+     * <p>
+     * Only classes that are neither analyzed nor subject to testability transformations are
+     * cached. For those, the adapters are still applied on a cache hit (without writing any
+     * bytecode), as they also register information about the class, e.g. in the constant pool.
+     *
+     * @param classLoader the class loader loading the class
+     * @param className   the name of the class, with slashes
+     * @param classBytes  the original bytes of the class
+     * @return the transformed bytes
+     */
+    public byte[] transformBytes(ClassLoader classLoader, String className, byte[] classBytes) {
+        InstrumentedClassCache cache = InstrumentedClassCache.getInstance();
+        String classNameWithDots = ResourceList.getClassNameFromResourcePath(className);
+        if (cache == null || !isCacheable(classNameWithDots)) {
+            return transformBytes(classLoader, className, new ClassReader(classBytes));
+        }
+
+        byte[] transformed = cache.get(className, classBytes);
+        if (transformed == null) {
+            transformed = transformBytes(classLoader, className, new ClassReader(classBytes));
+            cache.put(className, classBytes, transformed);
+        } else {
+            if (!checkIfCanInstrument(classNameWithDots)) {
+                throw new RuntimeException("Should not transform a shared class (" + classNameWithDots
+                        + ")! Load by parent (JVM) classloader.");
+            }
+            TransformationStatistics.reset();
+            int readFlags = ClassReader.SKIP_FRAMES;
+            if (Properties.INSTRUMENTATION_SKIP_DEBUG)
+                readFlags |= ClassReader.SKIP_DEBUG;
+            ClassVisitor cv = addClassAdapters(classLoader, className, classNameWithDots,
+                    new ClassVisitor(Opcodes.ASM9) {
+                    });
+            new ClassReader(classBytes).accept(cv, readFlags);
+        }
+        return transformed;
+    }
+
+    /**
+     * Classes that are analyzed or transformed for testability depend on the class under test
+     * and register information (e.g. control flow graphs) that the cache does not restore.
+     */
+    private boolean isCacheable(String classNameWithDots) {
+        return !Properties.TEST_CARVING
+                && !DependencyAnalysis.shouldAnalyze(classNameWithDots)
+                && !isTargetClassName(classNameWithDots)
+                && !shouldTransform(classNameWithDots)
+                && !(Properties.TT && classNameWithDots.startsWith(Properties.CLASS_PREFIX));
+    }
+
+    private ClassVisitor addClassAdapters(ClassLoader classLoader, String className, String classNameWithDots,
+                                          ClassVisitor cv) {
         if (Properties.RESET_STATIC_FIELDS) {
             cv = new StaticAccessClassAdapter(cv, className);
         }
@@ -243,53 +350,7 @@ public class BytecodeInstrumentation {
                 cv = new SerialVersionUIDAdder(cv);
         }
 
-        // Testability Transformations
-        if (classNameWithDots.startsWith(Properties.PROJECT_PREFIX)
-                || (!Properties.TARGET_CLASS_PREFIX.isEmpty()
-                && classNameWithDots.startsWith(Properties.TARGET_CLASS_PREFIX))
-                || shouldTransform(classNameWithDots)) {
-
-            ClassNode cn = new AnnotatedClassNode();
-            reader.accept(cn, readFlags);
-            logger.info("Starting transformation of " + className);
-
-            if (Properties.STRING_REPLACEMENT) {
-                StringTransformation st = new StringTransformation(cn);
-                if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots))
-                    cn = st.transform();
-            }
-
-            ComparisonTransformation cmp = new ComparisonTransformation(cn);
-            if (isTargetClassName(classNameWithDots) || shouldTransform(classNameWithDots)) {
-                cn = cmp.transform();
-                ContainerTransformation ct = new ContainerTransformation(cn);
-                cn = ct.transform();
-            }
-
-            if (shouldTransform(classNameWithDots)) {
-                logger.info("Testability Transforming " + className);
-
-                BooleanTestabilityTransformation tt = new BooleanTestabilityTransformation(cn, classLoader);
-                try {
-                    cn = tt.transform();
-                } catch (Throwable t) {
-                    throw new Error(t);
-                }
-                logger.info("Testability Transformation done: " + className);
-            }
-
-            // -----
-            cn.accept(cv);
-
-            if (Properties.TEST_CARVING && TransformerUtil.isClassConsideredForInstrumentation(className)) {
-                return handleCarving(className, writer);
-            }
-
-        } else {
-            reader.accept(cv, readFlags);
-        }
-
-        return writer.toByteArray();
+        return cv;
     }
 
     private byte[] handleCarving(String className, ClassWriter writer) {
@@ -0,0 +1,264 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import org.evosuite.Properties;
+import org.evosuite.runtime.RuntimeSettings;
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.evosuite.utils.CacheUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Disk-backed, content-addressed cache of instrumented class bytes, shared by all runs that use
+ * the same directory (see {@link Properties#INSTRUMENTATION_CACHE_DIR}).
+ *
+ * <p>
+ * An entry is identified by the SHA-256 hash of the original bytes of the class, its name, the
+ * properties that influence the instrumentation, and the EvoSuite build doing the
+ * instrumentation. Each entry is stored in its own file, which is written atomically, so that
+ * several client processes can share a directory. Once the number of entries exceeds the
+ * configured bound, the least recently used entries are deleted, which also removes the entries
+ * of previous EvoSuite builds.
+ * </p>
+ *
+ * <p>
+ * While the SUT is executed, the sandbox does not allow writing files. Classes instrumented in
+ * that time are only written once the next class is cached outside of the execution of the SUT.
+ * </p>
+ */
+public final class InstrumentedClassCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(InstrumentedClassCache.class);
+
+    private static final String ENTRY_SUFFIX = ".class";
+
+    /**
+     * Maximum number of classes waiting to be written while the SUT is executed
+     */
+    private static final int MAX_PENDING_ENTRIES = 1000;
+
+    private static InstrumentedClassCache instance = null;
+
+    /**
+     * @return the cache for the configured directory, or null if there is none
+     */
+    public static synchronized InstrumentedClassCache getInstance() {
+        if (Properties.INSTRUMENTATION_CACHE_DIR == null) {
+            return null;
+        }
+        File directory = new File(Properties.INSTRUMENTATION_CACHE_DIR);
+        if (instance == null || !instance.directory.equals(directory)
+                || instance.maxEntries != Properties.INSTRUMENTATION_CACHE_SIZE) {
+            instance = new InstrumentedClassCache(directory, Properties.INSTRUMENTATION_CACHE_SIZE);
+        }
+        return instance;
+    }
+
+    private final File directory;
+
+    private final int maxEntries;
+
+    private final String buildStamp;
+
+    /**
+     * Entries to write once the SUT is no longer executed
+     */
+    private final Map<File, byte[]> pending = new LinkedHashMap<>();
+
+    /**
+     * Number of entries in the directory, or -1 if not counted yet
+     */
+    private int numEntries = -1;
+
+    InstrumentedClassCache(File directory, int maxEntries) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+        this.buildStamp = CacheUtil.getBuildStamp();
+    }
+
+    /**
+     * @param className  the name of the class, with slashes
+     * @param classBytes the original bytes of the class
+     * @return the cached instrumented bytes, or null if there are none
+     */
+    public byte[] get(String className, byte[] classBytes) {
+        File file = getFile(className, classBytes);
+        try {
+            if (!file.exists()) {
+                return null;
+            }
+            byte[] transformed = Files.readAllBytes(file.toPath());
+            if (!isClassFile(transformed)) {
+                logger.debug("Ignoring corrupt cached class " + file);
+                return null;
+            }
+            if (!Sandbox.isOnAndExecutingSUTCode()) {
+                file.setLastModified(System.currentTimeMillis());
+            }
+            return transformed;
+        } catch (IOException | RuntimeException e) {
+            // e.g., the sandbox does not allow to access the file
+            logger.debug("Could not read cached class " + file + ": " + e);
+            return null;
+        }
+    }
+
+    /**
+     * @param className   the name of the class, with slashes
+     * @param classBytes  the original bytes of the class
+     * @param transformed the instrumented bytes of the class
+     */
+    public synchronized void put(String className, byte[] classBytes, byte[] transformed) {
+        File file = getFile(className, classBytes);
+        if (Sandbox.isOnAndExecutingSUTCode()) {
+            if (pending.size() < MAX_PENDING_ENTRIES) {
+                pending.put(file, transformed);
+            }
+            return;
+        }
+
+        write(file, transformed);
+        if (!pending.isEmpty()) {
+            pending.forEach(this::write);
+            pending.clear();
+        }
+    }
+
+    private void write(File file, byte[] transformed) {
+        File tmp = null;
+        try {
+            if (!directory.exists() && !directory.mkdirs()) {
+                logger.warn("Could not create instrumentation cache directory " + directory);
+                return;
+            }
+            boolean isNew = !file.exists();
+            tmp = File.createTempFile("class", ".tmp", directory);
+            Files.write(tmp.toPath(), transformed);
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            if (isNew) {
+                countNewEntry();
+            }
+        } catch (IOException | RuntimeException e) {
+            // e.g., the sandbox does not allow to write the file
+            logger.debug("Could not write cached class " + file + ": " + e);
+            if (tmp != null) {
+                try {
+                    tmp.delete();
+                } catch (RuntimeException ignored) {
+                    // nothing more we can do
+                }
+            }
+        }
+    }
+
+    private void countNewEntry() {
+        if (numEntries < 0) {
+            numEntries = listEntries().length;
+        } else {
+            numEntries++;
+        }
+        if (numEntries > maxEntries) {
+            evict();
+        }
+    }
+
+    private File[] listEntries() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(ENTRY_SUFFIX));
+        return files == null ? new File[0] : files;
+    }
+
+    /**
+     * Delete the least recently used entries, leaving some room so that we do not have to evict
+     * again on the next write
+     */
+    private void evict() {
+        File[] files = listEntries();
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        int target = maxEntries - maxEntries / 10;
+        int remaining = files.length;
+        for (int i = 0; i < files.length && remaining > target; i++) {
+            if (files[i].delete()) {
+                remaining--;
+            }
+        }
+        logger.debug("Evicted " + (files.length - remaining) + " cached classes");
+        numEntries = remaining;
+    }
+
+    private File getFile(String className, byte[] classBytes) {
+        MessageDigest digest = CacheUtil.newDigest();
+        digest.update(buildStamp.getBytes(StandardCharsets.UTF_8));
+        digest.update(getConfiguration().getBytes(StandardCharsets.UTF_8));
+        digest.update(className.getBytes(StandardCharsets.UTF_8));
+        digest.update(classBytes);
+        return new File(directory, CacheUtil.toHex(digest.digest()) + ENTRY_SUFFIX);
+    }
+
+    private static boolean isClassFile(byte[] bytes) {
+        return bytes.length > 4 && (bytes[0] & 0xff) == 0xca && (bytes[1] & 0xff) == 0xfe
+                && (bytes[2] & 0xff) == 0xba && (bytes[3] & 0xff) == 0xbe;
+    }
+
+    /**
+     * The properties that decide which adapters {@link BytecodeInstrumentation} applies to a class
+     * that is neither analyzed nor transformed for testability
+     */
+    static String getConfiguration() {
+        StringBuilder config = new StringBuilder();
+        config.append(Properties.RESET_STATIC_FIELDS).append(';');
+        config.append(Properties.RESET_STATIC_FINAL_FIELDS).append(';');
+        config.append(Properties.PURE_INSPECTORS).append(';');
+        config.append(Properties.MAX_LOOP_ITERATIONS >= 0).append(';');
+        config.append(Properties.MAKE_ACCESSIBLE).append(';');
+        config.append(Properties.INSTRUMENTATION_SKIP_DEBUG).append(';');
+        config.append(Properties.REPLACE_CALLS).append(';');
+        config.append(Properties.VIRTUAL_FS).append(';');
+        config.append(Properties.VIRTUAL_NET).append(';');
+        config.append(Properties.TT).append(';');
+        config.append(Properties.CLASS_PREFIX).append(';');
+        config.append(Properties.PROJECT_PREFIX).append(';');
+        config.append(Properties.TARGET_CLASS_PREFIX).append(';');
+        config.append(Arrays.toString(Properties.CRITERION)).append(';');
+        for (Field field : RuntimeSettings.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                try {
+                    config.append(field.getName()).append('=').append(field.get(null)).append(';');
+                } catch (IllegalAccessException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+        }
+        return config.toString();
+    }
+}
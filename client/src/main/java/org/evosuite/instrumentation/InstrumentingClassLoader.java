@@ -19,6 +19,7 @@
  */
 package org.evosuite.instrumentation;
 
+import org.apache.commons.io.IOUtils;
 import org.evosuite.Properties;
 import org.evosuite.TestGenerationContext;
 import org.evosuite.classpath.ResourceList;
@@ -27,6 +28,7 @@ import org.objectweb.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
@@ -83,18 +85,34 @@ public class InstrumentingClassLoader extends ClassLoader {
 
     public Class<?> loadClassFromFile(String fullyQualifiedTargetClass, String fileName) throws ClassNotFoundException {
 
-        String className = fullyQualifiedTargetClass.replace('.', '/');
-
         try (InputStream is = new FileInputStream(new File(fileName))) {
 
-            byte[] byteBuffer = getTransformedBytes(className, is);
+            Class<?> result = loadClassFromStream(fullyQualifiedTargetClass, is);
 
-            createPackageDefinition(fullyQualifiedTargetClass);
-            Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+            logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from " + fileName);
+            return result;
+        } catch (Throwable t) {
+            logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
+            throw new ClassNotFoundException(t.getMessage(), t);
+        }
+    }
 
-            classes.put(fullyQualifiedTargetClass, result);
+    /**
+     * Load a class that is not on the classpath, e.g., because it was
+     * compiled in memory
+     *
+     * @param fullyQualifiedTargetClass
+     * @param bytecode
+     * @return
+     * @throws ClassNotFoundException
+     */
+    public Class<?> loadClassFromBytes(String fullyQualifiedTargetClass, byte[] bytecode) throws ClassNotFoundException {
 
-            logger.info("Loaded class " + fullyQualifiedTargetClass + " directly from " + fileName);
+        try (InputStream is = new ByteArrayInputStream(bytecode)) {
+
+            Class<?> result = loadClassFromStream(fullyQualifiedTargetClass, is);
+
+            logger.info("Loaded class " + fullyQualifiedTargetClass + " from memory");
             return result;
         } catch (Throwable t) {
             logger.info("Error while loading class " + fullyQualifiedTargetClass + " : " + t);
@@ -102,6 +120,18 @@ public class InstrumentingClassLoader extends ClassLoader {
         }
     }
 
+    private Class<?> loadClassFromStream(String fullyQualifiedTargetClass, InputStream is) throws IOException {
+        String className = fullyQualifiedTargetClass.replace('.', '/');
+
+        byte[] byteBuffer = getTransformedBytes(className, is);
+
+        createPackageDefinition(fullyQualifiedTargetClass);
+        Class<?> result = defineClass(fullyQualifiedTargetClass, byteBuffer, 0, byteBuffer.length);
+
+        classes.put(fullyQualifiedTargetClass, result);
+        return result;
+    }
+
     @Override
     public Class<?> loadClass(String name) throws ClassNotFoundException {
         synchronized (getClassLoadingLock(name)) {
@@ -132,6 +162,9 @@ public class InstrumentingClassLoader extends ClassLoader {
 
     //This is needed, as it is overridden in subclasses
     protected byte[] getTransformedBytes(String className, InputStream is) throws IOException {
+        if (Properties.INSTRUMENTATION_CACHE_DIR != null) {
+            return instrumentation.transformBytes(this, className, IOUtils.toByteArray(is));
+        }
         return instrumentation.transformBytes(this, className, new ClassReader(is));
     }
 
@@ -0,0 +1,380 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import org.evosuite.Properties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.tools.*;
+import javax.tools.JavaFileObject.Kind;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compiles generated test suites in memory, without writing sources or
+ * classes to disk (see {@link Properties#JUNIT_CHECK_IN_MEMORY}).
+ *
+ * <p>
+ * File managers are reused among compilations, as they cache the jar files on
+ * the classpath, and opening those takes most of the time needed to compile a
+ * small test suite. Compiled scaffolding is cached as well, as the tests of the
+ * same class often have the very same scaffolding.
+ *
+ * <p>
+ * Compilations can be done concurrently from different threads.
+ */
+class InMemoryCompiler {
+
+    private static final Logger logger = LoggerFactory.getLogger(InMemoryCompiler.class);
+
+    private static final int MAX_CACHED_SCAFFOLDINGS = 100;
+
+    /**
+     * File managers that are not used by any compilation, all of them with
+     * {@link #fileManagersClasspath} as classpath
+     */
+    private static final Deque<StandardJavaFileManager> fileManagers = new ArrayDeque<>();
+
+    private static String fileManagersClasspath = null;
+
+    /**
+     * Compiled scaffolding classes (including their inner classes) by binary
+     * name, with their source code as key
+     */
+    private static final Map<String, Map<String, byte[]>> scaffoldings =
+            new LinkedHashMap<String, Map<String, byte[]>>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Map<String, byte[]>> eldest) {
+                    return size() > MAX_CACHED_SCAFFOLDINGS;
+                }
+            };
+
+    private static final AtomicInteger scaffoldingHits = new AtomicInteger(0);
+
+    /**
+     * Compile the given source code
+     *
+     * @param sources   the source code of each class, by binary name
+     * @param classpath
+     * @return the bytecode of all compiled classes (including inner and
+     * anonymous classes), by binary name, or {@code null} if the sources
+     * could not be compiled
+     */
+    static Map<String, byte[]> compile(Map<String, String> sources, String classpath) {
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            logger.error("No Java compiler is available");
+            return null;
+        }
+
+        Map<String, byte[]> compiled = new LinkedHashMap<>();
+        List<JavaFileObject> compilationUnits = new ArrayList<>();
+        Map<String, String> toCache = new LinkedHashMap<>();
+
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            if (isScaffolding(source.getKey())) {
+                Map<String, byte[]> cached = getCachedScaffolding(source.getValue());
+                if (cached != null) {
+                    compiled.putAll(cached);
+                    continue;
+                }
+                toCache.put(source.getKey(), source.getValue());
+            }
+            compilationUnits.add(new MemorySource(source.getKey(), source.getValue()));
+        }
+
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        StandardJavaFileManager standardFileManager;
+        try {
+            standardFileManager = borrowFileManager(compiler, classpath);
+        } catch (IOException e) {
+            logger.error("" + e, e);
+            return null;
+        }
+
+        MemoryFileManager fileManager = new MemoryFileManager(standardFileManager, compiled);
+        boolean success = false;
+        try {
+            // no annotation processor is needed for the tests, so do not look for any on the classpath
+            success = compiler.getTask(null, fileManager, diagnostics, Collections.singletonList("-proc:none"),
+                    null, compilationUnits).call();
+        } finally {
+            returnFileManager(standardFileManager, classpath);
+        }
+
+        if (!success) {
+            logger.error("Compilation failed on compilation units: " + compilationUnits);
+            logger.error("Classpath: " + classpath);
+
+            for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
+                logger.error("Diagnostic: " + diagnostic.getMessage(null) + ": "
+                        + diagnostic.getLineNumber());
+            }
+
+            StringBuilder buffer = new StringBuilder();
+            for (Map.Entry<String, String> source : sources.entrySet()) {
+                buffer.append(source.getKey()).append("\n");
+                String[] lines = source.getValue().split("\n");
+                for (int i = 0; i < lines.length; i++) {
+                    buffer.append(i + 1).append(": ").append(lines[i]).append("\n");
+                }
+            }
+            logger.error(buffer.toString());
+            return null;
+        }
+
+        compiled.putAll(fileManager.getCompiledClasses());
+
+        for (Map.Entry<String, String> scaffolding : toCache.entrySet()) {
+            String name = scaffolding.getKey();
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (Map.Entry<String, byte[]> entry : compiled.entrySet()) {
+                if (entry.getKey().equals(name) || entry.getKey().startsWith(name + "$")) {
+                    classes.put(entry.getKey(), entry.getValue());
+                }
+            }
+            synchronized (scaffoldings) {
+                scaffoldings.put(scaffolding.getValue(), classes);
+            }
+        }
+
+        return compiled;
+    }
+
+    /**
+     * @return how many times a compiled scaffolding was reused
+     */
+    static int getScaffoldingHits() {
+        return scaffoldingHits.get();
+    }
+
+    static void clearCache() {
+        synchronized (scaffoldings) {
+            scaffoldings.clear();
+        }
+        scaffoldingHits.set(0);
+    }
+
+    private static boolean isScaffolding(String className) {
+        return className.endsWith("_" + Properties.SCAFFOLDING_SUFFIX);
+    }
+
+    private static Map<String, byte[]> getCachedScaffolding(String source) {
+        Map<String, byte[]> cached;
+        synchronized (scaffoldings) {
+            cached = scaffoldings.get(source);
+        }
+        if (cached != null) {
+            scaffoldingHits.incrementAndGet();
+        }
+        return cached;
+    }
+
+    private static synchronized StandardJavaFileManager borrowFileManager(JavaCompiler compiler, String classpath)
+            throws IOException {
+
+        if (!classpath.equals(fileManagersClasspath)) {
+            closeFileManagers();
+            // scaffolding compiled against a different classpath might no longer be valid
+            synchronized (scaffoldings) {
+                scaffoldings.clear();
+            }
+            fileManagersClasspath = classpath;
+        }
+
+        StandardJavaFileManager fileManager = fileManagers.poll();
+        if (fileManager == null) {
+            fileManager = compiler.getStandardFileManager(null, Locale.getDefault(), StandardCharsets.UTF_8);
+            List<File> files = new ArrayList<>();
+            for (String element : classpath.split(File.pathSeparator)) {
+                if (!element.isEmpty()) {
+                    files.add(new File(element));
+                }
+            }
+            fileManager.setLocation(StandardLocation.CLASS_PATH, files);
+        }
+        return fileManager;
+    }
+
+    private static synchronized void returnFileManager(StandardJavaFileManager fileManager, String classpath) {
+        if (classpath.equals(fileManagersClasspath)) {
+            fileManagers.push(fileManager);
+        } else {
+            close(fileManager);
+        }
+    }
+
+    private static void closeFileManagers() {
+        for (StandardJavaFileManager fileManager : fileManagers) {
+            close(fileManager);
+        }
+        fileManagers.clear();
+    }
+
+    private static void close(StandardJavaFileManager fileManager) {
+        try {
+            fileManager.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close file manager: " + e);
+        }
+    }
+
+    private static URI uriOf(String className, Kind kind) {
+        return URI.create("memory:///" + className.replace('.', '/') + kind.extension);
+    }
+
+    /**
+     * Source code of a class
+     */
+    private static class MemorySource extends SimpleJavaFileObject {
+
+        private final String source;
+
+        private MemorySource(String className, String source) {
+            super(uriOf(className, Kind.SOURCE), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    /**
+     * Bytecode of a class, either compiled by the current compilation or
+     * taken from the cache
+     */
+    private static class MemoryClass extends SimpleJavaFileObject {
+
+        private final String className;
+
+        private byte[] bytecode;
+
+        private MemoryClass(String className, byte[] bytecode) {
+            super(uriOf(className, Kind.CLASS), Kind.CLASS);
+            this.className = className;
+            this.bytecode = bytecode;
+        }
+
+        @Override
+        public InputStream openInputStream() {
+            return new ByteArrayInputStream(bytecode);
+        }
+
+        @Override
+        public OutputStream openOutputStream() {
+            return new ByteArrayOutputStream() {
+                @Override
+                public void close() throws IOException {
+                    super.close();
+                    bytecode = toByteArray();
+                }
+            };
+        }
+    }
+
+    /**
+     * Keeps compiled classes in memory, and makes already compiled classes
+     * visible on the classpath
+     */
+    private static class MemoryFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        private final Map<String, MemoryClass> available = new LinkedHashMap<>();
+
+        private final Map<String, MemoryClass> output = new LinkedHashMap<>();
+
+        private MemoryFileManager(StandardJavaFileManager fileManager, Map<String, byte[]> available) {
+            super(fileManager);
+            for (Map.Entry<String, byte[]> entry : available.entrySet()) {
+                this.available.put(entry.getKey(), new MemoryClass(entry.getKey(), entry.getValue()));
+            }
+        }
+
+        private Map<String, byte[]> getCompiledClasses() {
+            Map<String, byte[]> classes = new LinkedHashMap<>();
+            for (MemoryClass compiled : output.values()) {
+                classes.put(compiled.className, compiled.bytecode);
+            }
+            return classes;
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, Kind kind,
+                                                   FileObject sibling) throws IOException {
+            if (kind != Kind.CLASS) {
+                return super.getJavaFileForOutput(location, className, kind, sibling);
+            }
+            MemoryClass compiled = new MemoryClass(className, null);
+            output.put(className, compiled);
+            return compiled;
+        }
+
+        @Override
+        public Iterable<JavaFileObject> list(Location location, String packageName, Set<Kind> kinds,
+                                             boolean recurse) throws IOException {
+            Iterable<JavaFileObject> listed = super.list(location, packageName, kinds, recurse);
+            if (location != StandardLocation.CLASS_PATH || !kinds.contains(Kind.CLASS) || available.isEmpty()) {
+                return listed;
+            }
+
+            List<JavaFileObject> files = new ArrayList<>();
+            for (MemoryClass compiled : available.values()) {
+                int dot = compiled.className.lastIndexOf('.');
+                String classPackage = dot < 0 ? "" : compiled.className.substring(0, dot);
+                if (classPackage.equals(packageName)
+                        || (recurse && classPackage.startsWith(packageName + "."))) {
+                    files.add(compiled);
+                }
+            }
+            if (files.isEmpty()) {
+                return listed;
+            }
+            for (JavaFileObject file : listed) {
+                files.add(file);
+            }
+            return files;
+        }
+
+        @Override
+        public String inferBinaryName(Location location, JavaFileObject file) {
+            if (file instanceof MemoryClass) {
+                return ((MemoryClass) file).className;
+            }
+            return super.inferBinaryName(location, file);
+        }
+
+        @Override
+        public void close() throws IOException {
+            // the standard file manager is reused by the next compilations
+            flush();
+        }
+    }
+}
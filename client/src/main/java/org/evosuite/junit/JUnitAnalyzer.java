@@ -49,6 +49,13 @@ import java.io.IOException;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
 import static org.junit.platform.engine.discovery.ClassNameFilter.includeClassNamePatterns;
@@ -64,11 +71,16 @@ public abstract class JUnitAnalyzer {
 
     private static final Logger logger = LoggerFactory.getLogger(JUnitAnalyzer.class);
 
-    private static int dirCounter = 0;
+    private static final AtomicInteger dirCounter = new AtomicInteger(0);
 
     private static final String JAVA = ".java";
     private static final String CLASS = ".class";
 
+    /**
+     * Name of the threads compiling tests in the background
+     */
+    static final String COMPILER_THREAD_NAME = "EvoSuite_JUnitCheck_Compiler";
+
     private static NonInstrumentingClassLoader loader = new NonInstrumentingClassLoader();
 
     private static final VersionDependentAnalyzing versionDependentAnalyzer;
@@ -80,7 +92,10 @@ public abstract class JUnitAnalyzer {
 
     /**
      * Try to compile each test separately, and remove the ones that cannot be
-     * compiled
+     * compiled. Tests are compiled on the current thread, or by
+     * {@link Properties#JUNIT_CHECK_THREADS} threads in the background. As most
+     * of the time all tests do compile, they are first compiled all together,
+     * and only compiled separately if that fails
      *
      * @param tests
      */
@@ -92,6 +107,44 @@ public abstract class JUnitAnalyzer {
             return;
         }
 
+        if (tests.size() > 1 && TimeController.getInstance().hasTimeToExecuteATestCase()
+                && compileAllTogether(tests)) {
+            logger.debug("All test cases compile");
+            return;
+        }
+
+        if (Properties.JUNIT_CHECK_THREADS == 0) {
+            removeTestsThatDoNotCompileOneByOne(tests);
+            return;
+        }
+
+        Set<TestCase> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        try (CompilationPipeline pipeline = new CompilationPipeline(tests)) {
+            while (TimeController.getInstance().hasTimeToExecuteATestCase()) {
+                CompiledTest compiled = pipeline.next();
+                if (compiled == null) {
+                    break;
+                }
+                try {
+                    if (!compiled.isCompiled()) {
+                        toRemove.add(compiled.test);
+                        String code = compiled.test.toCode();
+                        logger.error("Failed to compile test case:\n" + code);
+                    }
+                } finally {
+                    compiled.delete();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        tests.removeIf(toRemove::contains);
+    }
+
+    private static void removeTestsThatDoNotCompileOneByOne(List<TestCase> tests) {
+
         Iterator<TestCase> iter = tests.iterator();
 
         while (iter.hasNext()) {
@@ -101,35 +154,91 @@ public abstract class JUnitAnalyzer {
 
             TestCase test = iter.next();
 
-            File dir = createNewTmpDir();
-            if (dir == null) {
-                logger.warn("Failed to create tmp dir");
+            List<TestCase> singleList = new ArrayList<>();
+            singleList.add(test);
+            WrittenTests written = writeTests(singleList);
+            if (written == null) {
                 return;
             }
-            logger.debug("Created tmp folder: " + dir.getAbsolutePath());
 
             try {
-                List<TestCase> singleList = new ArrayList<>();
-                singleList.add(test);
-                List<File> generated = compileTests(singleList, dir);
-                if (generated == null) {
+                if (!written.compile(getClasspath())) {
                     iter.remove();
                     String code = test.toCode();
                     logger.error("Failed to compile test case:\n" + code);
                 }
             } finally {
                 //let's be sure we clean up all what we wrote on disk
-                if (dir != null) {
-                    try {
-                        FileUtils.deleteDirectory(dir);
-                        logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
-                    } catch (Exception e) {
-                        logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
+                written.delete();
+            }
+        }
+    }
+
+    /**
+     * Compile and run each test case on its own, as done by
+     * {@link #handleTestsThatAreUnstable(List)} on a list with a single test.
+     * If {@link Properties#JUNIT_CHECK_THREADS} is positive, the next tests are
+     * compiled in the background while the already compiled ones are run on
+     * the current thread.
+     *
+     * @param tests
+     * @return the number of unstable tests
+     */
+    public static int handleTestsThatAreUnstableOneByOne(List<TestCase> tests) {
+
+        int numUnstable = 0;
+        logger.info("Going to execute: handleTestsThatAreUnstableOneByOne");
+
+        if (tests == null || tests.isEmpty()) { //nothing to do
+            return numUnstable;
+        }
+
+        if (Properties.JUNIT_CHECK_THREADS == 0) {
+            Iterator<TestCase> iter = tests.iterator();
+            while (iter.hasNext()) {
+                if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
+                    break;
+                }
+                List<TestCase> list = new ArrayList<>();
+                list.add(iter.next());
+                numUnstable += handleTestsThatAreUnstable(list);
+                if (list.isEmpty()) {
+                    // if the test was unstable and deleted, need to remove it
+                    iter.remove();
+                }
+            }
+            return numUnstable;
+        }
+
+        Set<TestCase> toRemove = Collections.newSetFromMap(new IdentityHashMap<>());
+
+        try (CompilationPipeline pipeline = new CompilationPipeline(tests)) {
+            while (TimeController.getInstance().hasTimeToExecuteATestCase()) {
+                CompiledTest compiled = pipeline.next();
+                if (compiled == null) {
+                    break;
+                }
+                try {
+                    if (!compiled.isCompiled()) {
+                        logger.warn("Failed to compile the test cases ");
+                        continue;
+                    }
+                    List<TestCase> list = new ArrayList<>();
+                    list.add(compiled.test);
+                    numUnstable += checkCompiledTests(list, compiled.written);
+                    if (list.isEmpty()) {
+                        toRemove.add(compiled.test);
                     }
+                } finally {
+                    compiled.delete();
                 }
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
 
-        } // end of while
+        tests.removeIf(toRemove::contains);
+        return numUnstable;
     }
 
     /**
@@ -152,16 +261,13 @@ public abstract class JUnitAnalyzer {
             return numUnstable;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.error("Failed to create tmp dir");
+        WrittenTests written = writeTests(tests);
+        if (written == null) {
             return numUnstable;
         }
-        logger.debug("Created tmp folder: " + dir.getAbsolutePath());
 
         try {
-            List<File> generated = compileTests(tests, dir);
-            if (generated == null) {
+            if (!written.compile(getClasspath())) {
                 /*
                  * Note: in theory this shouldn't really happen, as check for compilation
                  * is done before calling this method
@@ -170,6 +276,26 @@ public abstract class JUnitAnalyzer {
                 return numUnstable;
             }
 
+            return checkCompiledTests(tests, written);
+        } finally {
+            //let's be sure we clean up all what we wrote on disk
+            written.delete();
+        }
+    }
+
+    /**
+     * Run the given compiled test cases, and handle the unstable ones as
+     * described in {@link #handleTestsThatAreUnstable(List)}
+     *
+     * @param tests   the test cases, in the order they were written
+     * @param written the compiled test cases
+     * @return the number of unstable tests
+     */
+    private static int checkCompiledTests(List<TestCase> tests, WrittenTests written) {
+
+        int numUnstable = 0;
+
+        try {
             if (!TimeController.getInstance().hasTimeToExecuteATestCase()) {
                 logger.error("Ran out of time while checking tests");
                 return numUnstable;
@@ -177,14 +303,14 @@ public abstract class JUnitAnalyzer {
 
             // Create a new classloader so that each test gets freshly loaded classes
             loader = new NonInstrumentingClassLoader();
-            Class<?>[] testClasses = loadTests(generated);
+            Class<?>[] testClasses = written.load();
 
             if (testClasses == null) {
                 logger.error("Found no classes for compiled tests");
                 return numUnstable;
             }
 
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (result.wasSuccessful()) {
                 return numUnstable; //everything is OK
@@ -264,24 +390,13 @@ public abstract class JUnitAnalyzer {
         } catch (Exception e) {
             logger.error("" + e, e);
             return numUnstable;
-        } finally {
-            //let's be sure we clean up all what we wrote on disk
-
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (Exception e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
-
         }
 
         //if we arrive here, then it means at least one test was unstable
         return numUnstable;
     }
 
-    private static JUnitResult runTests(Class<?>[] testClasses, File testClassDir)
+    private static JUnitResult runTests(Class<?>[] testClasses)
             throws JUnitExecutionException {
         return runJUnitOnCurrentProcess(testClasses);
     }
@@ -303,9 +418,15 @@ public abstract class JUnitAnalyzer {
 
     // We have to have a unique name for this test suite as it is loaded by the
     // EvoSuite classloader, and thus cannot easily be re-loaded
-    private static int NUM = 0;
+    private static final AtomicInteger NUM = new AtomicInteger(0);
 
-    private static List<File> compileTests(List<TestCase> tests, File dir) {
+    /**
+     * Write the given test cases as a test suite
+     *
+     * @param tests
+     * @return {@code null} if no temporary folder could be created
+     */
+    private static WrittenTests writeTests(List<TestCase> tests) {
 
         TestSuiteWriter suite = new TestSuiteWriter();
         suite.insertAllTests(tests);
@@ -313,19 +434,83 @@ public abstract class JUnitAnalyzer {
         //to get name, remove all package before last '.'
         int beginIndex = Properties.TARGET_CLASS.lastIndexOf(".") + 1;
         String name = Properties.TARGET_CLASS.substring(beginIndex);
-        name += "_" + (NUM++) + "_tmp_" + Properties.JUNIT_SUFFIX; //postfix
 
-        try {
-            //now generate the JUnit test case
-            List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
-            for (File file : generated) {
-                if (!file.exists()) {
-                    logger.error("Supposed to generate " + file
-                            + " but it does not exist");
-                    return null;
-                }
+        if (Properties.JUNIT_CHECK_IN_MEMORY) {
+            /*
+             * Tests compiled in memory are always loaded by a new classloader, so
+             * they do not need a unique name. Using the same name allows reusing
+             * their compiled scaffolding
+             */
+            name += "_tmp_" + Properties.JUNIT_SUFFIX; //postfix
+            Map<String, String> sources = new LinkedHashMap<>();
+            for (Map.Entry<String, String> source : suite.getTestSuiteSources(name, Collections.emptyList()).entrySet()) {
+                sources.put(getPackagePrefix() + source.getKey(), source.getValue());
+            }
+            return new WrittenTests(null, null, sources);
+        }
+
+        File dir = createNewTmpDir();
+        if (dir == null) {
+            logger.error("Failed to create tmp dir");
+            return null;
+        }
+        logger.debug("Created tmp folder: " + dir.getAbsolutePath());
+
+        name += "_" + NUM.getAndIncrement() + "_tmp_" + Properties.JUNIT_SUFFIX; //postfix
+
+        //now generate the JUnit test case
+        List<File> generated = suite.writeTestSuite(name, dir.getAbsolutePath(), Collections.EMPTY_LIST);
+        for (File file : generated) {
+            if (!file.exists()) {
+                logger.error("Supposed to generate " + file
+                        + " but it does not exist");
+                generated = null;
+                break;
             }
+        }
+        return new WrittenTests(dir, generated, null);
+    }
+
+    /**
+     * @return whether all the given tests compile when put in the same test suite
+     */
+    private static boolean compileAllTogether(List<TestCase> tests) {
+        WrittenTests written = writeTests(tests);
+        if (written == null) {
+            return false;
+        }
+        try {
+            return written.compile(getClasspath());
+        } finally {
+            written.delete();
+        }
+    }
+
+    private static String getClasspath() {
+        String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
+        if (JarPathing.containsAPathingJar(evosuiteCP)) {
+            evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
+        }
 
+        String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
+        if (JarPathing.containsAPathingJar(targetProjectCP)) {
+            targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
+        }
+
+        return targetProjectCP + File.pathSeparator + evosuiteCP;
+    }
+
+    /**
+     * Compile the given source files in their folder. This does not depend on
+     * any state of EvoSuite, and so can be done on any thread
+     *
+     * @param generated
+     * @param classpath
+     * @return the source files, or {@code null} if they could not be compiled
+     */
+    private static List<File> compileFiles(List<File> generated, String classpath) {
+
+        try {
             //try to compile the test cases
             JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
             if (compiler == null) {
@@ -342,18 +527,6 @@ public abstract class JUnitAnalyzer {
 
             Iterable<? extends JavaFileObject> compilationUnits = fileManager.getJavaFileObjectsFromFiles(generated);
 
-            String evosuiteCP = ClassPathHandler.getInstance().getEvoSuiteClassPath();
-            if (JarPathing.containsAPathingJar(evosuiteCP)) {
-                evosuiteCP = JarPathing.expandPathingJars(evosuiteCP);
-            }
-
-            String targetProjectCP = ClassPathHandler.getInstance().getTargetProjectClasspath();
-            if (JarPathing.containsAPathingJar(targetProjectCP)) {
-                targetProjectCP = JarPathing.expandPathingJars(targetProjectCP);
-            }
-
-            String classpath = targetProjectCP + File.pathSeparator + evosuiteCP;
-
             List<String> optionList = new ArrayList<>(Arrays.asList("-classpath", classpath));
 
             CompilationTask task = compiler.getTask(null, fileManager, diagnostics,
@@ -364,9 +537,6 @@ public abstract class JUnitAnalyzer {
             if (!compiled) {
                 logger.error("Compilation failed on compilation units: " + compilationUnits);
                 logger.error("Classpath: " + classpath);
-                //TODO remove
-                logger.error("evosuiteCP: " + evosuiteCP);
-
 
                 for (Diagnostic<?> diagnostic : diagnostics.getDiagnostics()) {
                     if (diagnostic.getMessage(null).startsWith("error while writing")) {
@@ -399,10 +569,200 @@ public abstract class JUnitAnalyzer {
         }
     }
 
+    /**
+     * Test cases written as a test suite, either to a temporary folder or in
+     * memory (see {@link Properties#JUNIT_CHECK_IN_MEMORY})
+     */
+    private static class WrittenTests {
+
+        /**
+         * Folder the test suite was written to, if not in memory
+         */
+        private final File dir;
+
+        /**
+         * Source files, or {@code null} if they could not be written
+         */
+        private final List<File> files;
+
+        /**
+         * Source code by class name, if in memory
+         */
+        private final Map<String, String> sources;
+
+        /**
+         * Bytecode by class name, once compiled in memory
+         */
+        private Map<String, byte[]> classes;
+
+        private WrittenTests(File dir, List<File> files, Map<String, String> sources) {
+            this.dir = dir;
+            this.files = files;
+            this.sources = sources;
+        }
+
+        /**
+         * This does not depend on any state of EvoSuite, and so can be done on
+         * any thread
+         *
+         * @param classpath
+         * @return whether the tests could be compiled
+         */
+        private boolean compile(String classpath) {
+            if (sources != null) {
+                classes = InMemoryCompiler.compile(sources, classpath);
+                return classes != null;
+            }
+            return files != null && compileFiles(files, classpath) != null;
+        }
+
+        private Class<?>[] load() {
+            if (sources != null) {
+                return loadTests(sources.keySet(), classes);
+            }
+            return loadTests(files);
+        }
+
+        private void delete() {
+            if (dir == null) {
+                return;
+            }
+            try {
+                FileUtils.deleteDirectory(dir);
+                logger.debug("Deleted tmp folder: " + dir.getAbsolutePath());
+            } catch (Exception e) {
+                logger.error("Cannot delete tmp dir: " + dir.getAbsolutePath(), e);
+            }
+        }
+    }
+
+    /**
+     * A test case written on its own, and being compiled in the background
+     */
+    private static class CompiledTest {
+
+        private final TestCase test;
+
+        private final WrittenTests written;
+
+        private final Future<Boolean> compiled;
+
+        private CompiledTest(TestCase test, WrittenTests written, Future<Boolean> compiled) {
+            this.test = test;
+            this.written = written;
+            this.compiled = compiled;
+        }
+
+        /**
+         * Wait for the compilation to be completed
+         *
+         * @return whether the test could be compiled
+         * @throws InterruptedException
+         */
+        private boolean isCompiled() throws InterruptedException {
+            try {
+                return compiled.get();
+            } catch (ExecutionException e) {
+                logger.error("Failed to compile test case: " + e.getCause(), e.getCause());
+                return false;
+            }
+        }
+
+        private void delete() {
+            written.delete();
+        }
+    }
+
+    /**
+     * Compiles each of the given tests on its own, on
+     * {@link Properties#JUNIT_CHECK_THREADS} background threads. The tests are
+     * written on the thread using the pipeline, as writing them depends on the
+     * state of EvoSuite, and they are returned in their original order.
+     *
+     * <p>
+     * At most twice as many tests as there are threads are compiled ahead of
+     * the one returned by {@link #next()}, so that compiled tests do not pile
+     * up if they are checked slower than they are compiled
+     */
+    private static class CompilationPipeline implements AutoCloseable {
+
+        private final Iterator<TestCase> tests;
+
+        private final Deque<CompiledTest> inFlight = new ArrayDeque<>();
+
+        private final int capacity;
+
+        private final String classpath = getClasspath();
+
+        private final ThreadPoolExecutor executor;
+
+        /**
+         * The threads of the executor, which are privileged in the sandbox
+         */
+        private final List<Thread> threads = new CopyOnWriteArrayList<>();
+
+        private CompilationPipeline(List<TestCase> tests) {
+            // copy, as tests might be removed from the input list while the pipeline is used
+            this.tests = new ArrayList<>(tests).iterator();
+            this.capacity = 2 * Properties.JUNIT_CHECK_THREADS;
+            this.executor = new ThreadPoolExecutor(Properties.JUNIT_CHECK_THREADS, Properties.JUNIT_CHECK_THREADS,
+                    0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), r -> {
+                Thread thread = new Thread(r, COMPILER_THREAD_NAME);
+                thread.setDaemon(true);
+                // javac needs to read and write files while the sandbox is on
+                Sandbox.addPrivilegedThread(thread);
+                threads.add(thread);
+                return thread;
+            });
+            /*
+             * start all threads now, as they would be seen as SUT threads
+             * if they were started while running the tests
+             */
+            executor.prestartAllCoreThreads();
+        }
+
+        /**
+         * @return the next test, or {@code null} if there is none left
+         */
+        private CompiledTest next() {
+            while (inFlight.size() < capacity && tests.hasNext()) {
+                TestCase test = tests.next();
+                List<TestCase> singleList = new ArrayList<>();
+                singleList.add(test);
+                WrittenTests written = writeTests(singleList);
+                if (written == null) {
+                    break;
+                }
+                Future<Boolean> compiled = executor.submit(() -> written.compile(classpath));
+                inFlight.add(new CompiledTest(test, written, compiled));
+            }
+            return inFlight.poll();
+        }
+
+        @Override
+        public void close() throws InterruptedException {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(Properties.TIMEOUT, TimeUnit.MILLISECONDS);
+            } finally {
+                for (Thread thread : threads) {
+                    Sandbox.removePrivilegedThread(thread);
+                }
+                threads.clear();
+
+                //let's be sure we clean up all what we wrote on disk
+                for (CompiledTest compiled : inFlight) {
+                    compiled.delete();
+                }
+                inFlight.clear();
+            }
+        }
+    }
+
     protected static File createNewTmpDir() {
         File dir = null;
         String dirName = FileUtils.getTempDirectoryPath() + File.separator + "EvoSuite_"
-                + (dirCounter++) + "_" + +System.currentTimeMillis();
+                + dirCounter.getAndIncrement() + "_" + +System.currentTimeMillis();
 
         //first create a tmp folder
         dir = new File(dirName);
@@ -446,6 +806,44 @@ public abstract class JUnitAnalyzer {
         return testClasses;
     }
 
+    /**
+     * Load tests compiled in memory
+     *
+     * @param names   the names of the written classes
+     * @param classes the bytecode of all compiled classes, by name
+     * @return the test classes
+     */
+    private static Class<?>[] loadTests(Collection<String> names, Map<String, byte[]> classes) {
+
+        /*
+         * as when loading from files: first the scaffoldings, then the tests
+         * depending on them, and then all the other classes (e.g., anonymous ones)
+         */
+        for (String name : names) {
+            if (isScaffolding(name)) {
+                loadClass(name, classes.get(name));
+            }
+        }
+
+        List<Class<?>> testClasses = new ArrayList<>();
+        for (String name : names) {
+            if (!isScaffolding(name)) {
+                Class<?> clazz = loadClass(name, classes.get(name));
+                if (clazz != null) {
+                    testClasses.add(clazz);
+                }
+            }
+        }
+
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            if (!names.contains(entry.getKey())) {
+                loadClass(entry.getKey(), entry.getValue());
+            }
+        }
+
+        return testClasses.toArray(new Class<?>[testClasses.size()]);
+    }
+
     private static List<File> listOnlyFiles(List<File> tests) throws IllegalArgumentException {
         if (tests == null || tests.isEmpty()) {
             return null;
@@ -522,29 +920,28 @@ public abstract class JUnitAnalyzer {
             return true;
         }
 
-        File dir = createNewTmpDir();
-        if (dir == null) {
-            logger.warn("Failed to create tmp dir");
+        WrittenTests written = writeTests(tests);
+        if (written == null) {
             return false;
         }
 
         try {
-            List<File> generated = compileTests(tests, dir);
-            if (generated == null) {
+            if (!written.compile(getClasspath())) {
                 logger.warn("Failed to compile the test cases ");
                 return false;
             }
 
             //as last step, execute the generated/compiled test cases
 
-            Class<?>[] testClasses = loadTests(generated);
+            loader = new NonInstrumentingClassLoader();
+            Class<?>[] testClasses = written.load();
 
             if (testClasses == null) {
                 logger.error("Found no classes for compiled tests");
                 return false;
             }
 
-            JUnitResult result = runTests(testClasses, dir);
+            JUnitResult result = runTests(testClasses);
 
             if (!result.wasSuccessful()) {
                 logger.error("" + result.getFailureCount() + " test cases failed");
@@ -570,13 +967,7 @@ public abstract class JUnitAnalyzer {
             return false;
         } finally {
             //let's be sure we clean up all what we wrote on disk
-            if (dir != null) {
-                try {
-                    FileUtils.deleteDirectory(dir);
-                } catch (IOException e) {
-                    logger.warn("Cannot delete tmp dir: " + dir.getName(), e);
-                }
-            }
+            written.delete();
         }
 
         logger.debug("Successfully compiled and run test cases generated for "
@@ -621,21 +1012,30 @@ public abstract class JUnitAnalyzer {
         return classes.toArray(new Class<?>[classes.size()]);
     }
 
+    private static boolean isScaffolding(String className) {
+        return className.endsWith("_" + Properties.SCAFFOLDING_SUFFIX);
+    }
+
     private static boolean isScaffolding(File file) {
         String name = file.getName();
         return name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + JAVA) ||
                 name.endsWith("_" + Properties.SCAFFOLDING_SUFFIX + CLASS);
     }
 
+    private static String getPackagePrefix() {
+        String packagePrefix = Properties.CLASS_PREFIX;
+        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
+            packagePrefix += ".";
+        }
+        return packagePrefix;
+    }
+
     private static Class<?> loadClass(File file) {
         if (!file.isFile()) {
             return null;
         }
 
-        String packagePrefix = Properties.CLASS_PREFIX;
-        if (!packagePrefix.isEmpty() && !packagePrefix.endsWith(".")) {
-            packagePrefix += ".";
-        }
+        String packagePrefix = getPackagePrefix();
 
         String name = file.getName();
 
@@ -671,6 +1071,19 @@ public abstract class JUnitAnalyzer {
         return testClass;
     }
 
+    private static Class<?> loadClass(String className, byte[] bytecode) {
+        if (bytecode == null) {
+            return null;
+        }
+        try {
+            logger.info("Loading class " + className);
+            return loader.loadClassFromBytes(className, bytecode);
+        } catch (ClassNotFoundException e) {
+            logger.error("Failed to load test case " + className + " from memory, error " + e, e);
+            return null;
+        }
+    }
+
     /**
      * Class defining what functionality must be defined for different JUNIT versions.
      */
@@ -0,0 +1,175 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import org.evosuite.PackageInfo;
+import org.evosuite.Properties;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A node in the tree of the call contexts seen during the execution of tests.
+ * <p>
+ * Each node stands for a shape of the call stack, as seen by
+ * {@link CallContext#CallContext(java.util.LinkedList)}: the excluded entries
+ * at both ends of the stack are trimmed, and calls repeated more than twice in
+ * a row are collapsed. The execution trace keeps the node of each method call
+ * on its stack, such that entering a method only takes a lookup among the
+ * children of the node of its caller, and the {@link CallContext} of a stack
+ * shape is created only once, rather than each time a branch or method is
+ * covered in it. As contexts are equal if their hash codes are equal, the
+ * interned contexts can be used as keys together with any other context.
+ */
+public final class CallContextNode {
+
+    private static volatile CallContextNode root = null;
+
+    /**
+     * Excluded packages and classes, shared by all nodes of a tree
+     */
+    private final String[] excludedPackages;
+
+    private final CallContextNode parent;
+
+    /**
+     * Last call of the context, or null for the root
+     */
+    private final Call call;
+
+    /**
+     * The deepest node on the path from the root to this node whose call is
+     * not excluded, i.e., the node whose context is the context of this node
+     */
+    private final CallContextNode effective;
+
+    private final Map<String, Map<String, CallContextNode>> children = new ConcurrentHashMap<>();
+
+    private volatile CallContext context = null;
+
+    private CallContextNode(String[] excludedPackages) {
+        this.excludedPackages = excludedPackages;
+        this.parent = null;
+        this.call = null;
+        this.effective = this;
+    }
+
+    private CallContextNode(CallContextNode parent, Call call, boolean excluded) {
+        this.excludedPackages = parent.excludedPackages;
+        this.parent = parent;
+        this.call = call;
+        this.effective = excluded ? parent.effective : this;
+    }
+
+    /**
+     * The node of the empty stack
+     *
+     * @return a {@link CallContextNode} object.
+     */
+    public static CallContextNode getRoot() {
+        CallContextNode current = root;
+        String[] excludedPackages = getExcludedPackages();
+        if (current == null || !Arrays.equals(current.excludedPackages, excludedPackages)) {
+            // the excluded classes changed, so do all contexts
+            current = new CallContextNode(excludedPackages);
+            root = current;
+        }
+        return current;
+    }
+
+    /**
+     * Same exclusions as {@link CallContext}, which also excludes the JUnit
+     * tests if coverage is measured
+     */
+    private static String[] getExcludedPackages() {
+        List<String> values = new ArrayList<>(Arrays.asList("java", "sun", PackageInfo.getEvoSuitePackage()));
+        if (!Properties.JUNIT.isEmpty()) {
+            values.add("org.junit");
+            Collections.addAll(values, Properties.JUNIT.split(":"));
+        }
+        return values.toArray(new String[0]);
+    }
+
+    private boolean isExcluded(String className) {
+        if (className.isEmpty())
+            return true;
+        for (String excludedPackage : excludedPackages) {
+            if (className.startsWith(excludedPackage))
+                return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the node of the stack after the given method was called on top
+     * of the stack of this node
+     *
+     * @param className  a {@link java.lang.String} object.
+     * @param methodName a {@link java.lang.String} object.
+     * @return a {@link CallContextNode} object.
+     */
+    public CallContextNode enter(String className, String methodName) {
+        Map<String, CallContextNode> byMethod = children.get(className);
+        if (byMethod != null) {
+            CallContextNode child = byMethod.get(methodName);
+            if (child != null)
+                return child;
+        }
+        byMethod = children.computeIfAbsent(className, c -> new ConcurrentHashMap<>());
+        return byMethod.computeIfAbsent(methodName, m -> createChild(className, methodName));
+    }
+
+    private CallContextNode createChild(String className, String methodName) {
+        boolean excluded = isExcluded(className);
+        if (excluded && parent == null) {
+            // excluded calls at the bottom of the stack are not part of the context
+            return this;
+        }
+        Call newCall = new Call(className, methodName);
+        if (call != null && parent.call != null && call.equals(newCall) && parent.call.equals(newCall)) {
+            // recursion is only kept up to two calls
+            return this;
+        }
+        return new CallContextNode(this, newCall, excluded);
+    }
+
+    /**
+     * The context of the stack of this node
+     *
+     * @return a {@link CallContext} object.
+     */
+    public CallContext getCallContext() {
+        CallContext result = effective.context;
+        if (result == null) {
+            List<Call> calls = new ArrayList<>();
+            for (CallContextNode node = effective; node.call != null; node = node.parent) {
+                calls.add(node.call);
+            }
+            Collections.reverse(calls);
+            result = new CallContext(calls);
+            effective.context = result;
+        }
+        return result;
+    }
+}
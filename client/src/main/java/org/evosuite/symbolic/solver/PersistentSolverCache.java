@@ -0,0 +1,407 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.solver.smt.ExprToSmtVisitor;
+import org.evosuite.symbolic.solver.smt.SmtArrayConstant;
+import org.evosuite.symbolic.solver.smt.SmtArrayVariable;
+import org.evosuite.symbolic.solver.smt.SmtBooleanConstant;
+import org.evosuite.symbolic.solver.smt.SmtExpr;
+import org.evosuite.symbolic.solver.smt.SmtExprPrinter;
+import org.evosuite.symbolic.solver.smt.SmtExprVisitor;
+import org.evosuite.symbolic.solver.smt.SmtIntConstant;
+import org.evosuite.symbolic.solver.smt.SmtIntVariable;
+import org.evosuite.symbolic.solver.smt.SmtOperation;
+import org.evosuite.symbolic.solver.smt.SmtRealConstant;
+import org.evosuite.symbolic.solver.smt.SmtRealVariable;
+import org.evosuite.symbolic.solver.smt.SmtStringConstant;
+import org.evosuite.symbolic.solver.smt.SmtStringVariable;
+import org.evosuite.symbolic.solver.smt.SmtVariable;
+import org.evosuite.utils.CacheUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Disk-backed cache of constraint solver results, shared by all runs that use
+ * the same directory.
+ *
+ * <p>
+ * A constraint system is identified by a canonical SMT-LIB rendering in which
+ * variables are renamed in the order of their first occurrence, so the same
+ * path condition is found again even if the symbolic variables of the new run
+ * have different names. Each entry is stored in its own file named after the
+ * SHA-256 hash of the canonical form, which allows several client processes to
+ * share a directory. Once the number of entries exceeds the configured bound,
+ * the least recently used entries are deleted.
+ * </p>
+ */
+final class PersistentSolverCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(PersistentSolverCache.class);
+
+    private static final String ENTRY_SUFFIX = ".result";
+
+    private static final String CANONICAL_VARIABLE_PREFIX = "v";
+
+    private final File directory;
+
+    private final int maxEntries;
+
+    /**
+     * Number of entries in the directory, or -1 if not counted yet
+     */
+    private int numEntries = -1;
+
+    PersistentSolverCache(File directory, int maxEntries) {
+        this.directory = directory;
+        this.maxEntries = maxEntries;
+    }
+
+    File getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @param constraints a constraint system
+     * @return the cached result with the variable names of the given
+     * constraints, or null if there is none
+     */
+    SolverResult get(Collection<Constraint<?>> constraints) {
+        CanonicalConstraints canonical = CanonicalConstraints.of(constraints);
+        if (canonical == null) {
+            return null;
+        }
+        File file = getFile(canonical);
+        if (!file.exists()) {
+            return null;
+        }
+        Entry entry;
+        try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(file))) {
+            entry = (Entry) in.readObject();
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            logger.debug("Could not read cached solver result " + file + ": " + e);
+            return null;
+        }
+        if (!entry.query.equals(canonical.query)) {
+            // hash collision
+            return null;
+        }
+        file.setLastModified(System.currentTimeMillis());
+        return canonical.fromCanonical(entry.result);
+    }
+
+    /**
+     * Store the result for a constraint system. Results whose model cannot be
+     * expressed in terms of the variables of the constraints, or cannot be
+     * serialized, are not stored.
+     *
+     * @param constraints a constraint system
+     * @param result      a SAT or UNSAT result
+     */
+    void put(Collection<Constraint<?>> constraints, SolverResult result) {
+        CanonicalConstraints canonical = CanonicalConstraints.of(constraints);
+        if (canonical == null) {
+            return;
+        }
+        SolverResult canonicalResult = canonical.toCanonical(result);
+        if (canonicalResult == null) {
+            return;
+        }
+        if (!directory.exists() && !directory.mkdirs()) {
+            logger.warn("Could not create solver cache directory " + directory);
+            return;
+        }
+
+        File file = getFile(canonical);
+        boolean isNew = !file.exists();
+        File tmp = null;
+        try {
+            tmp = File.createTempFile("solver", ".tmp", directory);
+            try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(tmp))) {
+                out.writeObject(new Entry(canonical.query, canonicalResult));
+            }
+            Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.debug("Could not write cached solver result " + file + ": " + e);
+            if (tmp != null) {
+                tmp.delete();
+            }
+            return;
+        }
+
+        if (isNew) {
+            if (numEntries < 0) {
+                numEntries = listEntries().length;
+            } else {
+                numEntries++;
+            }
+            if (numEntries > maxEntries) {
+                evict();
+            }
+        }
+    }
+
+    private File getFile(CanonicalConstraints canonical) {
+        return new File(directory, canonical.getHash() + ENTRY_SUFFIX);
+    }
+
+    private File[] listEntries() {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(ENTRY_SUFFIX));
+        return files == null ? new File[0] : files;
+    }
+
+    /**
+     * Delete the least recently used entries, leaving some room so that we do
+     * not have to evict again on the next write
+     */
+    private void evict() {
+        File[] files = listEntries();
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        int target = maxEntries - maxEntries / 10;
+        int remaining = files.length;
+        for (int i = 0; i < files.length && remaining > target; i++) {
+            if (files[i].delete()) {
+                remaining--;
+            }
+        }
+        logger.debug("Evicted " + (files.length - remaining) + " cached solver results");
+        numEntries = remaining;
+    }
+
+    private static class Entry implements Serializable {
+
+        private static final long serialVersionUID = 6044817360247781236L;
+
+        private final String query;
+
+        private final SolverResult result;
+
+        Entry(String query, SolverResult result) {
+            this.query = query;
+            this.result = result;
+        }
+    }
+
+    /**
+     * A constraint system rendered in SMT-LIB syntax with canonical variable
+     * names, and the mapping between canonical and original names
+     */
+    static final class CanonicalConstraints {
+
+        private final String query;
+
+        private final Map<String, String> toCanonical;
+
+        private final Map<String, String> fromCanonical = new HashMap<>();
+
+        private CanonicalConstraints(String query, Map<String, String> toCanonical) {
+            this.query = query;
+            this.toCanonical = toCanonical;
+            for (Map.Entry<String, String> e : toCanonical.entrySet()) {
+                fromCanonical.put(e.getValue(), e.getKey());
+            }
+        }
+
+        /**
+         * @param constraints a constraint system
+         * @return the canonical form, or null if some constraint cannot be
+         * expressed in SMT-LIB
+         */
+        static CanonicalConstraints of(Collection<Constraint<?>> constraints) {
+            CanonicalPrinter printer = new CanonicalPrinter();
+            ExprToSmtVisitor visitor = new ExprToSmtVisitor();
+            StringBuilder query = new StringBuilder();
+            for (Constraint<?> c : constraints) {
+                SmtExpr left;
+                SmtExpr right;
+                try {
+                    left = c.getLeftOperand().accept(visitor, null);
+                    right = c.getRightOperand().accept(visitor, null);
+                } catch (RuntimeException e) {
+                    logger.debug("Constraint cannot be cached: " + e);
+                    return null;
+                }
+                if (left == null || right == null) {
+                    return null;
+                }
+                query.append("(").append(c.getClass().getSimpleName());
+                query.append(" ").append(c.getComparator().name());
+                query.append(" ").append(left.accept(printer, null));
+                query.append(" ").append(right.accept(printer, null));
+                query.append(")\n");
+            }
+            return new CanonicalConstraints(query.toString(), printer.names);
+        }
+
+        String getQuery() {
+            return query;
+        }
+
+        String getHash() {
+            return CacheUtil.hash(query);
+        }
+
+        SolverResult toCanonical(SolverResult result) {
+            return rename(result, toCanonical);
+        }
+
+        SolverResult fromCanonical(SolverResult result) {
+            return rename(result, fromCanonical);
+        }
+
+        private static SolverResult rename(SolverResult result, Map<String, String> names) {
+            if (!result.isSAT()) {
+                return result;
+            }
+            Map<String, Object> model = new HashMap<>();
+            for (Map.Entry<String, Object> e : result.getModel().entrySet()) {
+                String name = names.get(e.getKey());
+                if (name == null) {
+                    return null;
+                }
+                model.put(name, e.getValue());
+            }
+            return SolverResult.newSAT(model);
+        }
+    }
+
+    /**
+     * Prints SMT expressions like {@link SmtExprPrinter}, but replaces each
+     * variable by a canonical name based on the order of first occurrence
+     */
+    private static final class CanonicalPrinter implements SmtExprVisitor<String, Void> {
+
+        private final SmtExprPrinter printer = new SmtExprPrinter();
+
+        private final Map<String, String> names = new HashMap<>();
+
+        private String rename(SmtVariable n) {
+            return names.computeIfAbsent(n.getName(), k -> CANONICAL_VARIABLE_PREFIX + names.size());
+        }
+
+        @Override
+        public String visit(SmtOperation n, Void arg) {
+            StringBuilder result = new StringBuilder();
+            if (n.getArguments().length > 0) {
+                result.append("(");
+            }
+            result.append(n.getOperator().toString());
+            for (SmtExpr argument : n.getArguments()) {
+                result.append(" ");
+                result.append(argument.accept(this, null));
+            }
+            if (n.getArguments().length > 0) {
+                result.append(")");
+            }
+            return result.toString();
+        }
+
+        @Override
+        public String visit(SmtIntVariable n, Void arg) {
+            return rename(n);
+        }
+
+        @Override
+        public String visit(SmtRealVariable n, Void arg) {
+            return rename(n);
+        }
+
+        @Override
+        public String visit(SmtStringVariable n, Void arg) {
+            return rename(n);
+        }
+
+        @Override
+        public String visit(SmtArrayVariable.SmtIntegerArrayVariable n, Void arg) {
+            return rename(n);
+        }
+
+        @Override
+        public String visit(SmtArrayVariable.SmtRealArrayVariable n, Void arg) {
+            return rename(n);
+        }
+
+        @Override
+        public String visit(SmtArrayVariable.SmtStringArrayVariable n, Void arg) {
+            return rename(n);
+        }
+
+        @Override
+        public String visit(SmtArrayVariable.SmtReferenceArrayVariable n, Void arg) {
+            return rename(n);
+        }
+
+        @Override
+        public String visit(SmtBooleanConstant n, Void arg) {
+            return printer.visit(n, arg);
+        }
+
+        @Override
+        public String visit(SmtIntConstant n, Void arg) {
+            return printer.visit(n, arg);
+        }
+
+        @Override
+        public String visit(SmtRealConstant n, Void arg) {
+            return printer.visit(n, arg);
+        }
+
+        @Override
+        public String visit(SmtStringConstant n, Void arg) {
+            return printer.visit(n, arg);
+        }
+
+        @Override
+        public String visit(SmtArrayConstant.SmtIntegerArrayConstant n, Void arg) {
+            return printer.visit(n, arg);
+        }
+
+        @Override
+        public String visit(SmtArrayConstant.SmtRealArrayConstant n, Void arg) {
+            return printer.visit(n, arg);
+        }
+
+        @Override
+        public String visit(SmtArrayConstant.SmtStringArrayConstant n, Void arg) {
+            return printer.visit(n, arg);
+        }
+
+        @Override
+        public String visit(SmtArrayConstant.SmtReferenceArrayConstant n, Void arg) {
+            return printer.visit(n, arg);
+        }
+    }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.apache.commons.exec.CommandLine;
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtConstantDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtFunctionDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtFunctionDefinition;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.evosuite.symbolic.solver.smt.SmtQueryPrinter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * A long-lived SMT-LIB solver process that is reused across queries.
+ *
+ * <p>
+ * Declarations are global to the session and are only sent once. Every
+ * assertion is asserted on its own <code>push</code> level, so a query that
+ * shares a prefix of assertions with the previous query (as the queries
+ * derived from one path condition during generational search do) only pops
+ * the assertions that differ and sends the new suffix.
+ * </p>
+ *
+ * <p>
+ * The output of {@link #solve(SmtQuery, long)} has the same format as the
+ * output of a solver process that was given the whole query, so it can be
+ * parsed by {@link org.evosuite.symbolic.solver.smt.SmtModelParser}.
+ * </p>
+ */
+public final class SmtSolverSession {
+
+    private static final Logger logger = LoggerFactory.getLogger(SmtSolverSession.class);
+
+    private static final String GLOBAL_DECLARATIONS = "(set-option :global-declarations true)\n";
+
+    private static final Map<String, SmtSolverSession> sessions = new HashMap<>();
+
+    private static boolean shutdownHookAdded = false;
+
+    /**
+     * Returns the pooled session for the given solver command, creating it if
+     * needed. The solver process itself is only launched by the first query.
+     *
+     * @param solverCmd the command line of a solver reading SMT-LIB commands
+     *                  from its standard input
+     * @return the session
+     */
+    public static synchronized SmtSolverSession getSession(String solverCmd) {
+        if (!shutdownHookAdded) {
+            Runtime.getRuntime().addShutdownHook(new Thread(SmtSolverSession::closeAll));
+            shutdownHookAdded = true;
+        }
+        return sessions.computeIfAbsent(solverCmd, SmtSolverSession::new);
+    }
+
+    /**
+     * Terminates all pooled solver processes
+     */
+    public static synchronized void closeAll() {
+        for (SmtSolverSession session : sessions.values()) {
+            session.close();
+        }
+        sessions.clear();
+    }
+
+    private final String solverCmd;
+
+    private final SmtQueryPrinter printer = new SmtQueryPrinter();
+
+    /**
+     * Logic and options the current solver process was set up with
+     */
+    private String header = null;
+
+    /**
+     * Declared constants and functions, by name
+     */
+    private final Map<String, String> declarations = new HashMap<>();
+
+    private final Set<String> definitions = new HashSet<>();
+
+    /**
+     * Asserted formulas, one push level each
+     */
+    private final List<String> assertions = new ArrayList<>();
+
+    private Process process = null;
+
+    private BufferedWriter solverIn = null;
+
+    private BufferedReader solverOut = null;
+
+    private ExecutorService outputReader = null;
+
+    SmtSolverSession(String solverCmd) {
+        this.solverCmd = solverCmd;
+    }
+
+    /**
+     * Checks the satisfiability of a query, reusing the declarations and the
+     * common prefix of assertions of the previous query.
+     *
+     * @param query         the query
+     * @param timeoutMillis time after which the solver process is killed
+     * @return the solver output: the status, followed by the model if the
+     * query is satisfiable
+     * @throws IOException            if the solver process cannot be launched or
+     *                                the communication with it failed
+     * @throws SolverTimeoutException if the solver did not answer in time
+     * @throws SolverErrorException   if the solver reported an error
+     */
+    public synchronized String solve(SmtQuery query, long timeoutMillis)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+        String commands = update(query);
+        try {
+            if (process == null) {
+                start();
+            }
+            send(commands + "(check-sat)\n");
+            String status = read(this::readStatus, timeoutMillis);
+            if (!status.equals("sat")) {
+                return status + "\n";
+            }
+            send("(get-model)\n");
+            String model = read(this::readResponse, timeoutMillis);
+            if (model.startsWith("(error")) {
+                throw new SolverErrorException("Solver failed to produce a model: " + model);
+            }
+            return status + "\n" + model;
+        } catch (IOException | SolverTimeoutException | SolverErrorException e) {
+            // the state of the solver is unknown, start over with the next query
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Terminates the solver process. The next query starts a new one.
+     */
+    public synchronized void close() {
+        if (process != null) {
+            process.destroy();
+            outputReader.shutdownNow();
+            process = null;
+            solverIn = null;
+            solverOut = null;
+            outputReader = null;
+        }
+        header = null;
+        declarations.clear();
+        definitions.clear();
+        assertions.clear();
+    }
+
+    /**
+     * Computes the commands that bring the solver from the state of the
+     * previous query to the given query, and records the new state.
+     *
+     * @param query the query
+     * @return the commands, not including <code>(check-sat)</code>
+     */
+    String update(SmtQuery query) {
+        String queryHeader = printHeader(query);
+        if (!queryHeader.equals(header) || hasConflictingDeclarations(query)) {
+            close();
+        }
+
+        StringBuilder commands = new StringBuilder();
+        if (header == null) {
+            header = queryHeader;
+            commands.append(GLOBAL_DECLARATIONS);
+            commands.append(header);
+        }
+
+        for (SmtConstantDeclaration declaration : query.getConstantDeclarations()) {
+            declare(declaration.getConstantName(), printer.print(declaration), commands);
+        }
+        for (SmtFunctionDeclaration declaration : query.getFunctionDeclarations()) {
+            declare(declaration.getFunctionName(), printer.print(declaration), commands);
+        }
+        for (SmtFunctionDefinition definition : query.getFunctionDefinitions()) {
+            String str = printer.print(definition);
+            if (definitions.add(str)) {
+                commands.append(str).append("\n");
+            }
+        }
+
+        List<String> queryAssertions = new ArrayList<>();
+        for (SmtAssertion assertion : query.getAssertions()) {
+            queryAssertions.add(printer.print(assertion));
+        }
+
+        int prefix = 0;
+        while (prefix < assertions.size() && prefix < queryAssertions.size()
+                && assertions.get(prefix).equals(queryAssertions.get(prefix))) {
+            prefix++;
+        }
+        int toPop = assertions.size() - prefix;
+        if (toPop > 0) {
+            commands.append("(pop ").append(toPop).append(")\n");
+            assertions.subList(prefix, assertions.size()).clear();
+        }
+        for (String assertion : queryAssertions.subList(prefix, queryAssertions.size())) {
+            commands.append("(push 1)\n");
+            commands.append(assertion).append("\n");
+            assertions.add(assertion);
+        }
+
+        logger.debug("Reusing {} of {} assertions", prefix, queryAssertions.size());
+        return commands.toString();
+    }
+
+    private void declare(String name, String declaration, StringBuilder commands) {
+        if (!declarations.containsKey(name)) {
+            declarations.put(name, declaration);
+            commands.append(declaration).append("\n");
+        }
+    }
+
+    private boolean hasConflictingDeclarations(SmtQuery query) {
+        for (SmtConstantDeclaration declaration : query.getConstantDeclarations()) {
+            String declared = declarations.get(declaration.getConstantName());
+            if (declared != null && !declared.equals(printer.print(declaration))) {
+                return true;
+            }
+        }
+        for (SmtFunctionDeclaration declaration : query.getFunctionDeclarations()) {
+            String declared = declarations.get(declaration.getFunctionName());
+            if (declared != null && !declared.equals(printer.print(declaration))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String printHeader(SmtQuery query) {
+        StringBuilder buff = new StringBuilder();
+        if (query.hasLogic()) {
+            buff.append("(set-logic ").append(query.getLogic()).append(")\n");
+        }
+        for (String optionName : query.getOptions()) {
+            buff.append(String.format("(set-option %s %s)%n", optionName, query.getOptionValue(optionName)));
+        }
+        return buff.toString();
+    }
+
+    private void start() throws IOException {
+        logger.debug("Launching solver session: {}", solverCmd);
+        ProcessBuilder builder = new ProcessBuilder(CommandLine.parse(solverCmd).toStrings());
+        builder.redirectErrorStream(true);
+        process = builder.start();
+        solverIn = new BufferedWriter(new OutputStreamWriter(process.getOutputStream(), StandardCharsets.UTF_8));
+        solverOut = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8));
+        outputReader = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "SmtSolverSession");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    private void send(String commands) throws IOException {
+        solverIn.write(commands);
+        solverIn.flush();
+    }
+
+    private interface OutputReader {
+        String read() throws IOException, SolverErrorException;
+    }
+
+    private String read(OutputReader reader, long timeoutMillis)
+            throws IOException, SolverTimeoutException, SolverErrorException {
+        Future<String> future = outputReader.submit(reader::read);
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            logger.debug("Solver stopped due to solver timeout");
+            throw new SolverTimeoutException();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SolverTimeoutException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof SolverErrorException) {
+                throw (SolverErrorException) cause;
+            }
+            throw new SolverErrorException("Failed to read solver output: " + cause);
+        }
+    }
+
+    /**
+     * Reads the answer to <code>(check-sat)</code>. An error reported for any
+     * of the commands sent before fails the query.
+     */
+    private String readStatus() throws IOException, SolverErrorException {
+        String response = readResponse();
+        if (response.startsWith("(error")) {
+            throw new SolverErrorException("Solver reported an error: " + response);
+        }
+        return response;
+    }
+
+    /**
+     * Reads the next atom or balanced s-expression from the solver output
+     */
+    private String readResponse() throws IOException {
+        StringBuilder response = new StringBuilder();
+        int depth = 0;
+        boolean inString = false;
+        while (true) {
+            String line = solverOut.readLine();
+            if (line == null) {
+                throw new IOException("Solver process terminated unexpectedly");
+            }
+            if (response.length() == 0 && line.trim().isEmpty()) {
+                continue;
+            }
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (c == '"') {
+                    inString = !inString;
+                } else if (!inString && c == '(') {
+                    depth++;
+                } else if (!inString && c == ')') {
+                    depth--;
+                }
+            }
+            response.append(line).append("\n");
+            if (depth <= 0 && !inString) {
+                break;
+            }
+        }
+        return response.toString().trim();
+    }
+}
@@ -19,8 +19,10 @@
  */
 package org.evosuite.symbolic.solver;
 
+import org.evosuite.Properties;
 import org.evosuite.symbolic.expr.Constraint;
 
+import java.io.File;
 import java.util.Collection;
 import java.util.HashMap;
 
@@ -39,6 +41,12 @@ public final class SolverCache {
     private final HashMap<Collection<Constraint<?>>, SolverResult> cached_solver_results = new HashMap<>();
     private SolverResult cached_solution = null;
 
+    /**
+     * Cache on disk, consulted on a miss in memory if
+     * {@link Properties#DSE_SOLVER_CACHE_DIR} is set
+     */
+    private PersistentSolverCache persistent_cache = null;
+
     public int getNumberOfUNSATs() {
         return cached_unsat_result_count;
     }
@@ -68,9 +76,20 @@ public final class SolverCache {
     public boolean hasCachedResult(Collection<Constraint<?>> constraints) {
         number_of_accesses++;
 
-        if (this.cached_solver_results.containsKey(constraints)) {
+        SolverResult result = this.cached_solver_results.get(constraints);
+        if (result == null) {
+            PersistentSolverCache persistentCache = getPersistentCache();
+            if (persistentCache != null) {
+                result = persistentCache.get(constraints);
+                if (result != null) {
+                    this.cached_solver_results.put(constraints, result);
+                }
+            }
+        }
+
+        if (result != null) {
             valid_cached_solution = true;
-            cached_solution = this.cached_solver_results.get(constraints);
+            cached_solution = result;
             number_of_hits++;
             return true;
         } else {
@@ -79,6 +98,17 @@ public final class SolverCache {
         }
     }
 
+    private PersistentSolverCache getPersistentCache() {
+        if (Properties.DSE_SOLVER_CACHE_DIR == null) {
+            return null;
+        }
+        File directory = new File(Properties.DSE_SOLVER_CACHE_DIR);
+        if (persistent_cache == null || !persistent_cache.getDirectory().equals(directory)) {
+            persistent_cache = new PersistentSolverCache(directory, Properties.DSE_SOLVER_CACHE_SIZE);
+        }
+        return persistent_cache;
+    }
+
     public double getHitRate() {
         return (double) this.number_of_hits / (double) this.number_of_accesses;
     }
@@ -114,6 +144,11 @@ public final class SolverCache {
         } else {
             addSAT(constraints, solverResult);
         }
+
+        PersistentSolverCache persistentCache = getPersistentCache();
+        if (persistentCache != null) {
+            persistentCache.put(constraints, solverResult);
+        }
     }
 
 }
@@ -1003,6 +1003,17 @@ public class DefaultTestCase implements TestCase, Serializable {
         if (statements.size() > t.size())
             return false;
 
+        /*
+         * Structural hashes are cheap to compare, whereas same() needs the
+         * positions of the variables. Only tests that match on all hashes are
+         * compared in detail
+         */
+        for (int i = 0; i < statements.size(); i++) {
+            if (statements.get(i).getStructuralHash() != t.getStatement(i).getStructuralHash()) {
+                return false;
+            }
+        }
+
         for (int i = 0; i < statements.size(); i++) {
             if (!statements.get(i).same(t.getStatement(i))) {
                 return false;
@@ -0,0 +1,104 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal true and false distances of each branch passed in a
+ * {@link MethodCall}, computed in one pass over its branch trace.
+ * <p>
+ * When the distances of many goals are computed for the same execution, each
+ * goal only takes a lookup in this index rather than a scan of the branch
+ * traces of the call. An index is immutable, and only valid as long as the
+ * branch trace of its call does not change (see {@link #isIndexOf(MethodCall)}).
+ */
+public final class BranchDistanceIndex {
+
+    private final List<Integer> branchTrace;
+
+    private final int traceSize;
+
+    /**
+     * Branch id to the minimal true distance (at index 0) and the minimal false
+     * distance (at index 1)
+     */
+    private final Map<Integer, double[]> distances;
+
+    /**
+     * <p>Constructor for BranchDistanceIndex.</p>
+     *
+     * @param call a {@link MethodCall} object.
+     */
+    public BranchDistanceIndex(MethodCall call) {
+        this.branchTrace = call.branchTrace;
+        this.traceSize = branchTrace.size();
+        this.distances = new HashMap<>();
+        for (int pos = 0; pos < traceSize; pos++) {
+            double[] minimal = distances.get(branchTrace.get(pos));
+            if (minimal == null) {
+                minimal = new double[]{Double.MAX_VALUE, Double.MAX_VALUE};
+                distances.put(branchTrace.get(pos), minimal);
+            }
+            minimal[0] = Math.min(minimal[0], call.trueDistanceTrace.get(pos));
+            minimal[1] = Math.min(minimal[1], call.falseDistanceTrace.get(pos));
+        }
+    }
+
+    /**
+     * Whether this index still reflects the branch trace of the given call
+     *
+     * @param call a {@link MethodCall} object.
+     * @return a boolean.
+     */
+    public boolean isIndexOf(MethodCall call) {
+        return call.branchTrace == branchTrace && branchTrace.size() == traceSize;
+    }
+
+    /**
+     * Whether the given branch was passed in the call
+     *
+     * @param branchId the actual id of a branch
+     * @return a boolean.
+     */
+    public boolean isPassed(int branchId) {
+        return distances.containsKey(branchId);
+    }
+
+    /**
+     * Minimal distance over all passes of the given branch to evaluating it
+     * to the given value, or {@link Double#MAX_VALUE} if the branch was not
+     * passed
+     *
+     * @param branchId the actual id of a branch
+     * @param value    whether the distance to the true or the false branch is
+     *                 wanted
+     * @return a double.
+     */
+    public double getDistance(int branchId, boolean value) {
+        double[] minimal = distances.get(branchId);
+        if (minimal == null) {
+            return Double.MAX_VALUE;
+        }
+        return value ? minimal[0] : minimal[1];
+    }
+}
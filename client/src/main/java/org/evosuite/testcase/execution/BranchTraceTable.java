@@ -0,0 +1,317 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Branch distances and execution counts of a trace, stored in primitive
+ * arrays indexed by the branch id assigned by
+ * {@link org.evosuite.coverage.branch.BranchPool}.
+ *
+ * <p>
+ * Recording a branch does not allocate (except when the arrays have to grow
+ * for a branch id that was not seen before) and does not synchronize. The map
+ * views required by {@link ExecutionTrace} are only built when requested, and
+ * are cached until the next branch is recorded.
+ * </p>
+ */
+final class BranchTraceTable {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    /**
+     * Ids of the branches reached so far, in the order they were first reached
+     */
+    private int[] reached;
+
+    private int numReached = 0;
+
+    /**
+     * Indexed by branch id: whether the branch is contained in {@link #reached}
+     */
+    private boolean[] isReached;
+
+    private double[] minTrueDistance;
+
+    private double[] minFalseDistance;
+
+    private double[] sumTrueDistance;
+
+    private double[] sumFalseDistance;
+
+    private int[] predicateCount;
+
+    private int[] trueCount;
+
+    private int[] falseCount;
+
+    private Map<Integer, Double> trueDistances = null;
+
+    private Map<Integer, Double> falseDistances = null;
+
+    private Map<Integer, Double> trueDistancesSum = null;
+
+    private Map<Integer, Double> falseDistancesSum = null;
+
+    private Map<Integer, Integer> predicateExecutionCount = null;
+
+    public BranchTraceTable() {
+        this(INITIAL_CAPACITY);
+    }
+
+    private BranchTraceTable(int capacity) {
+        reached = new int[capacity];
+        isReached = new boolean[capacity];
+        minTrueDistance = new double[capacity];
+        minFalseDistance = new double[capacity];
+        sumTrueDistance = new double[capacity];
+        sumFalseDistance = new double[capacity];
+        predicateCount = new int[capacity];
+        trueCount = new int[capacity];
+        falseCount = new int[capacity];
+    }
+
+    /**
+     * Record one evaluation of a branch
+     *
+     * @param branch        the branch id
+     * @param trueDistance  distance to the true branch
+     * @param falseDistance distance to the false branch
+     * @param countCoverage whether to update the execution counts
+     */
+    public void branchPassed(int branch, double trueDistance, double falseDistance, boolean countCoverage) {
+        if (branch >= isReached.length) {
+            grow(branch + 1);
+        }
+        invalidateViews();
+
+        if (countCoverage) {
+            predicateCount[branch]++;
+            if (trueDistance == 0.0) {
+                trueCount[branch]++;
+            }
+            if (falseDistance == 0.0) {
+                falseCount[branch]++;
+            }
+        }
+
+        if (!isReached[branch]) {
+            isReached[branch] = true;
+            if (numReached == reached.length) {
+                reached = Arrays.copyOf(reached, reached.length * 2);
+            }
+            reached[numReached++] = branch;
+            minTrueDistance[branch] = trueDistance;
+            minFalseDistance[branch] = falseDistance;
+            sumTrueDistance[branch] = trueDistance;
+            sumFalseDistance[branch] = falseDistance;
+        } else {
+            minTrueDistance[branch] = Math.min(minTrueDistance[branch], trueDistance);
+            minFalseDistance[branch] = Math.min(minFalseDistance[branch], falseDistance);
+            sumTrueDistance[branch] += trueDistance;
+            sumFalseDistance[branch] += falseDistance;
+        }
+    }
+
+    /**
+     * @param branch the branch id
+     * @return whether the branch has been evaluated at least once
+     */
+    public boolean isReached(int branch) {
+        return branch >= 0 && branch < isReached.length && isReached[branch];
+    }
+
+    /**
+     * @param branch the branch id
+     * @return whether the true outcome of the branch has been counted
+     */
+    public boolean isCoveredTrue(int branch) {
+        return isReached(branch) && trueCount[branch] > 0;
+    }
+
+    /**
+     * @param branch the branch id
+     * @return whether the false outcome of the branch has been counted
+     */
+    public boolean isCoveredFalse(int branch) {
+        return isReached(branch) && falseCount[branch] > 0;
+    }
+
+    /**
+     * @param branch the branch id of a reached branch
+     * @return the minimal distance to the true outcome
+     */
+    public double getTrueDistance(int branch) {
+        checkReached(branch);
+        return minTrueDistance[branch];
+    }
+
+    /**
+     * @param branch the branch id of a reached branch
+     * @return the minimal distance to the false outcome
+     */
+    public double getFalseDistance(int branch) {
+        checkReached(branch);
+        return minFalseDistance[branch];
+    }
+
+    public Set<Integer> getCoveredTrueBranches() {
+        Set<Integer> covered = new HashSet<>();
+        for (int i = 0; i < numReached; i++) {
+            if (minTrueDistance[reached[i]] == 0.0) {
+                covered.add(reached[i]);
+            }
+        }
+        return covered;
+    }
+
+    public Set<Integer> getCoveredFalseBranches() {
+        Set<Integer> covered = new HashSet<>();
+        for (int i = 0; i < numReached; i++) {
+            if (minFalseDistance[reached[i]] == 0.0) {
+                covered.add(reached[i]);
+            }
+        }
+        return covered;
+    }
+
+    public Map<Integer, Double> getTrueDistances() {
+        if (trueDistances == null) {
+            trueDistances = toMap(minTrueDistance);
+        }
+        return trueDistances;
+    }
+
+    public Map<Integer, Double> getFalseDistances() {
+        if (falseDistances == null) {
+            falseDistances = toMap(minFalseDistance);
+        }
+        return falseDistances;
+    }
+
+    public Map<Integer, Double> getTrueDistancesSum() {
+        if (trueDistancesSum == null) {
+            trueDistancesSum = toMap(sumTrueDistance);
+        }
+        return trueDistancesSum;
+    }
+
+    public Map<Integer, Double> getFalseDistancesSum() {
+        if (falseDistancesSum == null) {
+            falseDistancesSum = toMap(sumFalseDistance);
+        }
+        return falseDistancesSum;
+    }
+
+    /**
+     * @return the number of counted executions of each predicate that was
+     * counted at least once
+     */
+    public Map<Integer, Integer> getPredicateExecutionCount() {
+        if (predicateExecutionCount == null) {
+            Map<Integer, Integer> counts = new HashMap<>();
+            for (int i = 0; i < numReached; i++) {
+                int branch = reached[i];
+                if (predicateCount[branch] > 0) {
+                    counts.put(branch, predicateCount[branch]);
+                }
+            }
+            predicateExecutionCount = counts;
+        }
+        return predicateExecutionCount;
+    }
+
+    /**
+     * Forget all recorded branches, keeping the allocated arrays
+     */
+    public void clear() {
+        for (int i = 0; i < numReached; i++) {
+            int branch = reached[i];
+            isReached[branch] = false;
+            predicateCount[branch] = 0;
+            trueCount[branch] = 0;
+            falseCount[branch] = 0;
+        }
+        numReached = 0;
+        invalidateViews();
+    }
+
+    /**
+     * @return a deep copy of this table, with arrays only as large as needed
+     * for the branches reached so far
+     */
+    public BranchTraceTable copy() {
+        int capacity = 0;
+        for (int i = 0; i < numReached; i++) {
+            capacity = Math.max(capacity, reached[i] + 1);
+        }
+        BranchTraceTable copy = new BranchTraceTable(0);
+        copy.reached = Arrays.copyOf(reached, Math.max(numReached, 1));
+        copy.numReached = numReached;
+        copy.isReached = Arrays.copyOf(isReached, capacity);
+        copy.minTrueDistance = Arrays.copyOf(minTrueDistance, capacity);
+        copy.minFalseDistance = Arrays.copyOf(minFalseDistance, capacity);
+        copy.sumTrueDistance = Arrays.copyOf(sumTrueDistance, capacity);
+        copy.sumFalseDistance = Arrays.copyOf(sumFalseDistance, capacity);
+        copy.predicateCount = Arrays.copyOf(predicateCount, capacity);
+        copy.trueCount = Arrays.copyOf(trueCount, capacity);
+        copy.falseCount = Arrays.copyOf(falseCount, capacity);
+        return copy;
+    }
+
+    private Map<Integer, Double> toMap(double[] values) {
+        Map<Integer, Double> map = new HashMap<>();
+        for (int i = 0; i < numReached; i++) {
+            map.put(reached[i], values[reached[i]]);
+        }
+        return map;
+    }
+
+    private void checkReached(int branch) {
+        if (!isReached(branch)) {
+            throw new IllegalArgumentException("Branch " + branch + " has not been reached");
+        }
+    }
+
+    private void invalidateViews() {
+        trueDistances = null;
+        falseDistances = null;
+        trueDistancesSum = null;
+        falseDistancesSum = null;
+        predicateExecutionCount = null;
+    }
+
+    private void grow(int minCapacity) {
+        int capacity = Math.max(minCapacity, isReached.length * 2);
+        isReached = Arrays.copyOf(isReached, capacity);
+        minTrueDistance = Arrays.copyOf(minTrueDistance, capacity);
+        minFalseDistance = Arrays.copyOf(minFalseDistance, capacity);
+        sumTrueDistance = Arrays.copyOf(sumTrueDistance, capacity);
+        sumFalseDistance = Arrays.copyOf(sumFalseDistance, capacity);
+        predicateCount = Arrays.copyOf(predicateCount, capacity);
+        trueCount = Arrays.copyOf(trueCount, capacity);
+        falseCount = Arrays.copyOf(falseCount, capacity);
+    }
+}
@@ -112,6 +112,12 @@ public class ExecutionResult implements Cloneable {
 
     private Map<Integer, Set<OutputCoverageGoal>> outputGoals = new LinkedHashMap<>();
 
+    /**
+     * Finished method calls of the trace by class and method name, built on
+     * first use
+     */
+    private volatile MethodCallIndex methodCallIndex = null;
+
     // experiment .. tried to remember intermediately calculated ControlFlowDistances .. no real speed up
     //	public Map<Branch, ControlFlowDistance> intermediateDistances;
 
@@ -283,6 +289,56 @@ public class ExecutionResult implements Cloneable {
         this.trace = trace;
     }
 
+    /**
+     * The finished calls of the given method in the execution trace, in the
+     * order in which they are kept by the trace. The calls are grouped once
+     * for all methods, and again only if the trace changed since
+     *
+     * @param className  a {@link java.lang.String} object.
+     * @param methodName a {@link java.lang.String} object.
+     * @return a {@link java.util.List} object.
+     */
+    public List<MethodCall> getMethodCalls(String className, String methodName) {
+        MethodCallIndex index = methodCallIndex;
+        if (index == null || !index.isIndexOf(trace)) {
+            index = new MethodCallIndex(trace);
+            methodCallIndex = index;
+        }
+        return index.get(className, methodName);
+    }
+
+    private static final class MethodCallIndex {
+
+        private final ExecutionTrace trace;
+
+        private final List<MethodCall> calls;
+
+        private final int callCount;
+
+        private final Map<String, Map<String, List<MethodCall>>> callsByMethod = new HashMap<>();
+
+        MethodCallIndex(ExecutionTrace trace) {
+            this.trace = trace;
+            this.calls = trace.getMethodCalls();
+            this.callCount = calls.size();
+            for (MethodCall call : calls) {
+                callsByMethod.computeIfAbsent(call.className, c -> new HashMap<>())
+                        .computeIfAbsent(call.methodName, m -> new ArrayList<>()).add(call);
+            }
+        }
+
+        boolean isIndexOf(ExecutionTrace trace) {
+            return this.trace == trace && trace.getMethodCalls() == calls && calls.size() == callCount;
+        }
+
+        List<MethodCall> get(String className, String methodName) {
+            Map<String, List<MethodCall>> byMethod = callsByMethod.get(className);
+            if (byMethod == null)
+                return Collections.emptyList();
+            return byMethod.getOrDefault(methodName, Collections.emptyList());
+        }
+    }
+
     /**
      * Store a new output trace
      *
@@ -412,6 +468,8 @@ public class ExecutionResult implements Cloneable {
         copy.trace = trace.lazyClone();
         copy.explicitExceptions.putAll(explicitExceptions);
         copy.executionTime = executionTime;
+        copy.executedStatements = executedStatements;
+        copy.hasSecurityException = hasSecurityException;
         copy.inputGoals = new LinkedHashMap<>(inputGoals);
         copy.outputGoals = new LinkedHashMap<>(outputGoals);
         for (Class<?> clazz : traces.keySet()) {
@@ -0,0 +1,218 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
+import org.evosuite.ga.stoppingconditions.MaxTestsStoppingCondition;
+import org.evosuite.testcase.TestCase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Reuses the execution results of structurally identical tests (see
+ * {@link Properties#EXECUTION_CACHE_SIZE}).
+ * <p>
+ * Tests are identified by their statements, so that tests that were built
+ * independently (e.g., by crossover of different parents) but are equal share
+ * one entry. Entries are looked up by the structural hashes of the statements,
+ * and only tests with the same hashes are compared in detail. As static fields
+ * are reset after each test, executing such a test again would produce the
+ * same result. Results that depend on the timing of the execution (timeouts)
+ * are not reused. A reused result counts towards the search budget (number of
+ * tests and statements) as if the test was executed again.
+ * <p>
+ * The cache has to be cleared whenever anything else that influences the
+ * result changes, e.g., the observers of the {@link TestCaseExecutor} or the
+ * instrumented classes.
+ */
+public class ExecutionResultCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExecutionResultCache.class);
+
+    private static final ExecutionResultCache instance = new ExecutionResultCache();
+
+    /**
+     * Least recently used results first
+     */
+    private final Map<Key, ExecutionResult> results = new LinkedHashMap<Key, ExecutionResult>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, ExecutionResult> eldest) {
+            return size() > Properties.EXECUTION_CACHE_SIZE;
+        }
+    };
+
+    private int hits = 0;
+
+    private int misses = 0;
+
+    private ExecutionResultCache() {
+    }
+
+    public static ExecutionResultCache getInstance() {
+        return instance;
+    }
+
+    /**
+     * Returns a copy of the result of a previous execution of a test that is
+     * structurally identical to the given test, or executes the given test.
+     *
+     * @param test      the test to execute
+     * @param execution executes a test
+     * @return the result of executing the test
+     */
+    public ExecutionResult getOrExecute(TestCase test, Function<TestCase, ExecutionResult> execution) {
+        if (!isEnabled()) {
+            return execution.apply(test);
+        }
+
+        Key key = Key.of(test);
+        if (key == null) {
+            return execution.apply(test);
+        }
+
+        ExecutionResult cached = get(key);
+        if (cached != null) {
+            MaxTestsStoppingCondition.testExecuted();
+            MaxStatementsStoppingCondition.statementsExecuted(cached.getExecutedStatements());
+            return copy(cached, test);
+        }
+
+        ExecutionResult result = execution.apply(test);
+        if (isReusable(result)) {
+            // the test might be changed after its execution
+            put(key.copy(), copy(result, null));
+        }
+        return result;
+    }
+
+    private static boolean isEnabled() {
+        return Properties.EXECUTION_CACHE_SIZE > 0 && Properties.RESET_STATIC_FIELDS;
+    }
+
+    private static boolean isReusable(ExecutionResult result) {
+        return result != null && result.getTrace() != null && !result.hasTimeout()
+                && !result.hasTestException();
+    }
+
+    private static ExecutionResult copy(ExecutionResult result, TestCase test) {
+        ExecutionResult copy = result.clone();
+        copy.setTest(test);
+        return copy;
+    }
+
+    private synchronized ExecutionResult get(Key key) {
+        ExecutionResult result = results.get(key);
+        if (result == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return result;
+    }
+
+    private synchronized void put(Key key, ExecutionResult result) {
+        results.put(key, result);
+    }
+
+    /**
+     * Removes all results, as they are no longer valid
+     */
+    public synchronized void clear() {
+        if (hits + misses > 0) {
+            logger.debug("Reused " + hits + " of " + (hits + misses) + " execution results");
+        }
+        results.clear();
+        hits = 0;
+        misses = 0;
+    }
+
+    public synchronized int size() {
+        return results.size();
+    }
+
+    public synchronized int getHits() {
+        return hits;
+    }
+
+    /**
+     * A test together with whether its trace is recorded, as the trace is only
+     * recorded if the tracer is enabled
+     */
+    private static final class Key {
+
+        private final TestCase test;
+
+        private final boolean traced;
+
+        private final int hash;
+
+        private Key(TestCase test, boolean traced, int hash) {
+            this.test = test;
+            this.traced = traced;
+            this.hash = hash;
+        }
+
+        /**
+         * @return the key of the test, or null if the test cannot be hashed
+         */
+        private static Key of(TestCase test) {
+            boolean traced = ExecutionTracer.isEnabled();
+            try {
+                int hash = Boolean.hashCode(traced);
+                for (int i = 0; i < test.size(); i++) {
+                    hash = 31 * hash + test.getStatement(i).getStructuralHash();
+                }
+                return new Key(test, traced, hash);
+            } catch (RuntimeException e) {
+                // e.g., hashCode() of a value or of a member whose type cannot be resolved
+                logger.debug("Cannot compute hash of test: " + e);
+                return null;
+            }
+        }
+
+        private Key copy() {
+            return new Key(test.clone(), traced, hash);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj)
+                return true;
+            if (!(obj instanceof Key))
+                return false;
+            Key other = (Key) obj;
+            // equals() compares the variables of statements by identity, isPrefix() by position
+            return hash == other.hash && traced == other.traced && test.size() == other.test.size()
+                    && test.isPrefix(other.test);
+        }
+    }
+}
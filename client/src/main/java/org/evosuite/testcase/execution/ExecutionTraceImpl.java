@@ -29,6 +29,7 @@ import org.evosuite.coverage.dataflow.DefUsePool;
 import org.evosuite.coverage.dataflow.Definition;
 import org.evosuite.coverage.dataflow.Use;
 import org.evosuite.setup.CallContext;
+import org.evosuite.setup.CallContextNode;
 import org.evosuite.statistics.RuntimeVariable;
 import org.evosuite.utils.ArrayUtil;
 import org.objectweb.asm.Opcodes;
@@ -194,15 +195,12 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     public Map<String, Map<String, Map<Integer, Integer>>> coverage = Collections
             .synchronizedMap(new HashMap<>());
 
-    public Map<Integer, Integer> coveredFalse = Collections.synchronizedMap(new HashMap<>());
-
     public Map<String, Integer> coveredMethods = Collections.synchronizedMap(new HashMap<>());
 
     public Map<String, Integer> coveredBranchlessMethods = Collections.synchronizedMap(new HashMap<>());
 
-    public Map<Integer, Integer> coveredPredicates = Collections.synchronizedMap(new HashMap<>());
-
-    public Map<Integer, Integer> coveredTrue = Collections.synchronizedMap(new HashMap<>());
+    // Branch distances and predicate execution counts
+    private BranchTraceTable branches = new BranchTraceTable();
 
     public Map<Integer, Integer> coveredDefs = Collections.synchronizedMap(new HashMap<>());
 
@@ -223,8 +221,6 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     // The last explicitly thrown exception is kept here
     private Throwable explicitException = null;
 
-    public Map<Integer, Double> falseDistances = Collections.synchronizedMap(new HashMap<>());
-    private final Map<Integer, Double> falseDistancesSum = Collections.synchronizedMap(new HashMap<>());
     // finished_calls;
     public List<MethodCall> finishedCalls = Collections.synchronizedList(new ArrayList<>());
     public Map<Integer, Object> knownCallerObjects = Collections.synchronizedMap(new HashMap<>());
@@ -254,11 +250,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     // active calls
     LinkedList<MethodCall> stack = new LinkedList<>();
 
-    public Set<Integer> touchedMutants = Collections.synchronizedSet(new HashSet<>());
-
-    public Map<Integer, Double> trueDistances = Collections.synchronizedMap(new HashMap<>());
+    // number of calls that were still active when the calls were finished
+    private int unfinishedCalls = 0;
 
-    private final Map<Integer, Double> trueDistancesSum = Collections.synchronizedMap(new HashMap<>());
+    public Set<Integer> touchedMutants = Collections.synchronizedSet(new HashSet<>());
 
     public static Set<Integer> gradientBranches = Collections.synchronizedSet(new HashSet<>());
 
@@ -281,7 +276,37 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      * </p>
      */
     public ExecutionTraceImpl() {
-        stack.add(new MethodCall("", "", 0, 0, 0)); // Main method
+        stack.add(createMainMethodCall());
+    }
+
+    private static MethodCall createMainMethodCall() {
+        MethodCall main = new MethodCall("", "", 0, 0, 0);
+        if (isTracingContext()) {
+            main.contextNode = CallContextNode.getRoot();
+        }
+        return main;
+    }
+
+    /**
+     * Whether call contexts of branches are traced. Contexts of methods are
+     * only traced for some of these settings
+     */
+    private static boolean isTracingContext() {
+        return !disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
+                || ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
+                || ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH));
+    }
+
+    /**
+     * The call context of the current stack, interned if the contexts of all
+     * calls on the stack were traced
+     */
+    private CallContext getCallContext() {
+        MethodCall top = stack.peek();
+        if (top == null || top.contextNode == null) {
+            return new CallContext(stack);
+        }
+        return top.contextNode.getCallContext();
     }
 
     /**
@@ -320,33 +345,13 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
                 gradientBranches.add(branch);
         }
 
-        if (traceCoverage) {
-            if (!coveredPredicates.containsKey(branch))
-                coveredPredicates.put(branch, 1);
-            else
-                coveredPredicates.put(branch, coveredPredicates.get(branch) + 1);
-
-            if (true_distance == 0.0) {
-                if (!coveredTrue.containsKey(branch))
-                    coveredTrue.put(branch, 1);
-                else
-                    coveredTrue.put(branch, coveredTrue.get(branch) + 1);
-
-            }
-
-            if (false_distance == 0.0) {
-                if (!coveredFalse.containsKey(branch))
-                    coveredFalse.put(branch, 1);
-                else
-                    coveredFalse.put(branch, coveredFalse.get(branch) + 1);
-            }
-        }
+        branches.branchPassed(branch, true_distance, false_distance, traceCoverage);
 
         if (Properties.TRACK_COVERED_GRADIENT_BRANCHES) {
             if (gradientBranches.contains(branch)) {
-                if ((coveredTrue.containsKey(branch)))
+                if (branches.isCoveredTrue(branch))
                     gradientBranchesCoveredTrue.add(branch);
-                if ((coveredFalse.containsKey(branch)))
+                if (branches.isCoveredFalse(branch))
                     gradientBranchesCoveredFalse.add(branch);
             }
         }
@@ -359,8 +364,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
                     .getInstruction().getASMNode().getPrevious() != null)
                 previousOpcode = BranchPool.getInstance(TestGenerationContext.getInstance().getClassLoaderForSUT())
                         .getBranch(branch).getInstruction().getASMNode().getPrevious().getOpcode();
-            boolean cTrue = coveredTrue.containsKey(branch);
-            boolean cFalse = coveredFalse.containsKey(branch);
+            boolean cTrue = branches.isCoveredTrue(branch);
+            boolean cFalse = branches.isCoveredFalse(branch);
             switch (previousOpcode) {
                 case Opcodes.LCMP:
                     trackBranchOpcode(bytecodeInstructionReached, RuntimeVariable.Reached_lcmp, branch);
@@ -447,29 +452,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             }
         }
 
-        if (!trueDistances.containsKey(branch))
-            trueDistances.put(branch, true_distance);
-        else
-            trueDistances.put(branch, Math.min(trueDistances.get(branch), true_distance));
-
-        if (!falseDistances.containsKey(branch))
-            falseDistances.put(branch, false_distance);
-        else
-            falseDistances.put(branch, Math.min(falseDistances.get(branch), false_distance));
-
-        if (!trueDistancesSum.containsKey(branch))
-            trueDistancesSum.put(branch, true_distance);
-        else
-            trueDistancesSum.put(branch, trueDistancesSum.get(branch) + true_distance);
-
-        if (!falseDistancesSum.containsKey(branch))
-            falseDistancesSum.put(branch, false_distance);
-        else
-            falseDistancesSum.put(branch, falseDistancesSum.get(branch) + false_distance);
-
-        if (!disableContext && (Properties.INSTRUMENT_CONTEXT || Properties.INSTRUMENT_METHOD_CALLS
-                || ArrayUtil.contains(Properties.CRITERION, Criterion.IBRANCH)
-                || ArrayUtil.contains(Properties.CRITERION, Criterion.CBRANCH))) {
+        if (isTracingContext()) {
             updateBranchContextMaps(branch, true_distance, false_distance);
         }
 
@@ -508,7 +491,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             coveredFalseContext.put(branch, new HashMap<>());
         }
         //CallContext context = new CallContext(new Throwable().getStackTrace());
-        CallContext context = new CallContext(stack);
+        CallContext context = getCallContext();
 
         if (!coveredPredicateContext.get(branch).containsKey(context)) {
             coveredPredicateContext.get(branch).put(context, 1);
@@ -535,7 +518,8 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
 
         // stack.clear();
         // finished_calls.clear();
-        stack.add(new MethodCall("", "", 0, 0, 0)); // Main method
+        stack.add(createMainMethodCall());
+        unfinishedCalls = 0;
         coverage = new HashMap<>();
         returnData = new HashMap<>();
 
@@ -543,15 +527,11 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         duCounter = 0;
         objectCounter = 0;
         knownCallerObjects = new HashMap<>();
-        trueDistances = new HashMap<>();
-        falseDistances = new HashMap<>();
+        branches.clear();
         mutantDistances = new HashMap<>();
         touchedMutants = new HashSet<>();
         coveredMethods = new HashMap<>();
         coveredBranchlessMethods = new HashMap<>();
-        coveredPredicates = new HashMap<>();
-        coveredTrue = new HashMap<>();
-        coveredFalse = new HashMap<>();
         coveredDefs = new HashMap<>();
         passedDefinitions = new HashMap<>();
         passedUses = new HashMap<>();
@@ -591,13 +571,9 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
          * null && stack.peek().method_name.equals("")) { logger.info(
          * "Copying main method"); copy.finished_calls.add(stack.peek()); }
          */
-        copy.trueDistances.putAll(trueDistances);
-        copy.falseDistances.putAll(falseDistances);
+        copy.branches = branches.copy();
         copy.coveredMethods.putAll(coveredMethods);
         copy.coveredBranchlessMethods.putAll(coveredBranchlessMethods);
-        copy.coveredPredicates.putAll(coveredPredicates);
-        copy.coveredTrue.putAll(coveredTrue);
-        copy.coveredFalse.putAll(coveredFalse);
         copy.coveredDefs.putAll(coveredDefs);
         copy.touchedMutants.addAll(touchedMutants);
         copy.mutantDistances.putAll(mutantDistances);
@@ -610,11 +586,13 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         copy.coveredTrueContext.putAll(coveredTrueContext);
         copy.coveredFalseContext.putAll(coveredFalseContext);
         copy.coveredPredicateContext.putAll(coveredPredicateContext);
+        copy.coveredMethodContext.putAll(coveredMethodContext);
 
         copy.initializedClasses.addAll(initializedClasses);
         copy.classesWithStaticReads.addAll(classesWithStaticReads);
         copy.classesWithStaticWrites.addAll(classesWithStaticWrites);
 
+        copy.unfinishedCalls = unfinishedCalls;
         copy.methodId = methodId;
         copy.duCounter = duCounter;
         copy.objectCounter = objectCounter;
@@ -717,6 +695,10 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
                     // TODO line_trace ?
                 }
             }
+            MethodCall top = stack.peek();
+            if (top != null && top.contextNode != null && isTracingContext()) {
+                call.contextNode = top.contextNode.enter(className, methodName);
+            }
             stack.push(call);
 
             if (!disableContext
@@ -739,7 +721,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
         }
 
         // CallContext context = new CallContext(new Throwable().getStackTrace());
-        CallContext context = new CallContext(stack);
+        CallContext context = getCallContext();
 
         if (!coveredMethodContext.get(id).containsKey(context)) {
             coveredMethodContext.get(id).put(context, 1);
@@ -821,11 +803,71 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
     @Override
     public synchronized void finishCalls() {
         logger.debug("At the end, we have " + stack.size() + " calls left on stack");
+        unfinishedCalls += stack.size();
         while (!stack.isEmpty()) {
             finishedCalls.add(stack.pop());
         }
     }
 
+    /**
+     * Whether the execution of the test can be continued on a copy of this
+     * trace (see {@link #resumedClone()}), i.e., the calls were finished when
+     * only the call of the test itself was active
+     *
+     * @return true if the trace can be resumed
+     */
+    boolean isResumable() {
+        return stack.isEmpty() && unfinishedCalls == 1 && !finishedCalls.isEmpty()
+                && finishedCalls.get(finishedCalls.size() - 1).methodName.isEmpty();
+    }
+
+    /**
+     * Create a deep copy that continues the execution of the test, i.e.,
+     * undoes {@link #finishCalls()} by putting the call of the test back on
+     * the stack
+     *
+     * @return a copy with the call of the test on the stack
+     */
+    ExecutionTraceImpl resumedClone() {
+        assert isResumable();
+        ExecutionTraceImpl copy = clone();
+        copy.stack.clear();
+        copy.stack.push(copy.finishedCalls.remove(copy.finishedCalls.size() - 1));
+        copy.unfinishedCalls = 0;
+
+        // the execution continues on the copy, which must not update the nested maps of this trace
+        copy.coverage = new HashMap<>();
+        coverage.forEach((className, methods) -> copy.coverage.put(className, copyNested(methods)));
+        copy.returnData = new HashMap<>();
+        returnData.forEach((className, methods) -> copy.returnData.put(className, copyNested(methods)));
+        copy.coveredTrueContext = copyNested(coveredTrueContext);
+        copy.coveredFalseContext = copyNested(coveredFalseContext);
+        copy.coveredPredicateContext = copyNested(coveredPredicateContext);
+        copy.coveredMethodContext = copyNested(coveredMethodContext);
+        copy.passedDefinitions = copyPassed(passedDefinitions);
+        copy.passedUses = copyPassed(passedUses);
+        copy.passedDefinitionObject = copyPassed(passedDefinitionObject);
+        copy.passedUseObject = copyPassed(passedUseObject);
+        return copy;
+    }
+
+    private static <K, L, V> Map<K, Map<L, V>> copyNested(Map<K, Map<L, V>> map) {
+        Map<K, Map<L, V>> copy = new HashMap<>();
+        map.forEach((key, value) -> copy.put(key, new HashMap<>(value)));
+        return copy;
+    }
+
+    private static <V> Map<String, HashMap<Integer, HashMap<Integer, V>>> copyPassed(
+            Map<String, HashMap<Integer, HashMap<Integer, V>>> map) {
+        Map<String, HashMap<Integer, HashMap<Integer, V>>> copy = new HashMap<>();
+        map.forEach((variable, objects) -> {
+            HashMap<Integer, HashMap<Integer, V>> objectsCopy = new HashMap<>();
+            objects.forEach((objectId, passed) -> objectsCopy.put(objectId, new HashMap<>(passed)));
+            copy.put(variable, objectsCopy);
+        });
+        return copy;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -859,13 +901,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Set<Integer> getCoveredFalseBranches() {
-        Set<Integer> covered = new HashSet<>();
-        for (Entry<Integer, Double> entry : falseDistances.entrySet()) {
-            if (entry.getValue() == 0.0)
-                covered.add(entry.getKey());
-        }
-
-        return covered;
+        return branches.getCoveredFalseBranches();
     }
 
     /*
@@ -938,7 +974,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Set<Integer> getCoveredPredicates() {
-        return coveredPredicates.keySet();
+        return branches.getPredicateExecutionCount().keySet();
     }
 
     /*
@@ -952,13 +988,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Set<Integer> getCoveredTrueBranches() {
-        Set<Integer> covered = new HashSet<>();
-        for (Entry<Integer, Double> entry : trueDistances.entrySet()) {
-            if (entry.getValue() == 0.0)
-                covered.add(entry.getKey());
-        }
-
-        return covered;
+        return branches.getCoveredTrueBranches();
     }
 
     /*
@@ -1018,7 +1048,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public double getFalseDistance(int branchId) {
-        return falseDistances.get(branchId);
+        return branches.getFalseDistance(branchId);
     }
 
     /*
@@ -1032,7 +1062,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<Integer, Double> getFalseDistances() {
-        return falseDistances;
+        return branches.getFalseDistances();
     }
 
     /*
@@ -1131,7 +1161,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<Integer, Integer> getPredicateExecutionCount() {
-        return coveredPredicates;
+        return branches.getPredicateExecutionCount();
     }
 
     /**
@@ -1319,7 +1349,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public double getTrueDistance(int branchId) {
-        return trueDistances.get(branchId);
+        return branches.getTrueDistance(branchId);
     }
 
     /*
@@ -1333,7 +1363,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<Integer, Double> getTrueDistances() {
-        return trueDistances;
+        return branches.getTrueDistances();
     }
 
     /*
@@ -1365,7 +1395,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public boolean hasFalseDistance(int predicateId) {
-        return falseDistances.containsKey(predicateId);
+        return branches.isReached(predicateId);
     }
 
     /**
@@ -1393,7 +1423,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public boolean hasTrueDistance(int predicateId) {
-        return trueDistances.containsKey(predicateId);
+        return branches.isReached(predicateId);
     }
 
     /*
@@ -1657,15 +1687,15 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         ret.append("\nCovered predicates: ");
-        for (Entry<Integer, Integer> entry : coveredPredicates.entrySet()) {
+        for (Entry<Integer, Integer> entry : branches.getPredicateExecutionCount().entrySet()) {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         ret.append("\nTrue distances: ");
-        for (Entry<Integer, Double> entry : trueDistances.entrySet()) {
+        for (Entry<Integer, Double> entry : branches.getTrueDistances().entrySet()) {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         ret.append("\nFalse distances: ");
-        for (Entry<Integer, Double> entry : falseDistances.entrySet()) {
+        for (Entry<Integer, Double> entry : branches.getFalseDistances().entrySet()) {
             ret.append(entry.getKey() + ": " + entry.getValue() + ", ");
         }
         return ret.toString();
@@ -1757,7 +1787,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<Integer, Double> getFalseDistancesSum() {
-        return falseDistancesSum;
+        return branches.getFalseDistancesSum();
     }
 
     /**
@@ -1765,7 +1795,7 @@ public class ExecutionTraceImpl implements ExecutionTrace, Cloneable {
      */
     @Override
     public Map<Integer, Double> getTrueDistancesSum() {
-        return trueDistancesSum;
+        return branches.getTrueDistancesSum();
     }
 
     /**
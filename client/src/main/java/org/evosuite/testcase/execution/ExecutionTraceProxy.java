@@ -587,6 +587,29 @@ public class ExecutionTraceProxy implements ExecutionTrace, Cloneable {
         return trace.hasTrueDistance(predicateId);
     }
 
+    /**
+     * Whether the execution of the test can be continued on a copy of this
+     * trace, see {@link #resume()}
+     *
+     * @return true if the trace can be resumed
+     */
+    boolean isResumable() {
+        return trace.isResumable();
+    }
+
+    /**
+     * Create a copy of this trace that continues the execution of the test
+     * with the call of the test on the stack again, as if the calls had not
+     * been finished. This proxy must not be used afterwards.
+     *
+     * @return the trace to continue the execution on
+     */
+    ExecutionTraceProxy resume() {
+        ExecutionTraceImpl copy = trace.resumedClone();
+        trace.removeProxy();
+        return new ExecutionTraceProxy(copy);
+    }
+
     /*
      * (non-Javadoc)
      *
@@ -237,6 +237,16 @@ public class ExecutionTracer {
         // return copy;
     }
 
+    /**
+     * Continue the current execution on the given trace, e.g., when the
+     * execution resumes after statements that were already executed
+     *
+     * @param trace the trace of the statements executed so far
+     */
+    void setTrace(ExecutionTrace trace) {
+        this.trace = trace;
+    }
+
     /**
      * Return the last explicitly thrown exception
      *
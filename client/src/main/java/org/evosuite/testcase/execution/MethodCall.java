@@ -24,6 +24,8 @@
  */
 package org.evosuite.testcase.execution;
 
+import org.evosuite.setup.CallContextNode;
+
 import java.util.ArrayList;
 import java.util.List;
 
@@ -38,6 +40,15 @@ public class MethodCall implements Cloneable {
     public int methodId;
     public int callingObjectID;
     public int callDepth;
+    /**
+     * Call context of the stack up to this call, or null if contexts are not
+     * traced
+     */
+    public CallContextNode contextNode;
+    /**
+     * Index of the distances in the branch trace, built on first use
+     */
+    private volatile BranchDistanceIndex branchDistances = null;
 
     /**
      * <p>Constructor for MethodCall.</p>
@@ -62,6 +73,21 @@ public class MethodCall implements Cloneable {
         this.callDepth = callDepth;
     }
 
+    /**
+     * Minimal true and false distances of each branch passed in this call.
+     * The index is rebuilt if the branch trace changed since it was last used
+     *
+     * @return a {@link org.evosuite.testcase.execution.BranchDistanceIndex} object.
+     */
+    public BranchDistanceIndex getBranchDistances() {
+        BranchDistanceIndex index = branchDistances;
+        if (index == null || !index.isIndexOf(this)) {
+            index = new BranchDistanceIndex(this);
+            branchDistances = index;
+        }
+        return index;
+    }
+
     /**
      * {@inheritDoc}
      */
@@ -166,6 +192,7 @@ public class MethodCall implements Cloneable {
         copy.trueDistanceTrace = new ArrayList<>(trueDistanceTrace);
         copy.falseDistanceTrace = new ArrayList<>(falseDistanceTrace);
         copy.defuseCounterTrace = new ArrayList<>(defuseCounterTrace);
+        copy.contextNode = contextNode;
         return copy;
     }
 }
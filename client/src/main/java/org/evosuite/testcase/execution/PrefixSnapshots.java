@@ -0,0 +1,235 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.PackageInfo;
+import org.evosuite.Properties;
+import org.evosuite.runtime.Random;
+import org.evosuite.runtime.vfs.VirtualFileSystem;
+import org.evosuite.runtime.vnet.VirtualNetwork;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.FunctionalMockStatement;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.utils.generic.GenericAccessibleObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.LinkedList;
+import java.util.Set;
+
+/**
+ * Keeps the state of executed tests, such that the execution of a test that
+ * extends one of them (e.g., after the mutation appended statements) can
+ * resume after the shared prefix (see {@link Properties#PREFIX_SNAPSHOTS}).
+ * <p>
+ * The state of a test consists of the objects referenced by its variables and
+ * the trace of its execution. As these objects are not copied, a snapshot is
+ * resumed at most once, and only if no observers need to see the execution of
+ * the prefix. Only the state of isolated executions is kept: tests that access
+ * static fields, initialize classes, or use the environment (time, randomness,
+ * properties, files, network, threads) depend on state that is reset before
+ * the next test is executed.
+ */
+class PrefixSnapshots {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrefixSnapshots.class);
+
+    private static final String RUNTIME_PACKAGE = PackageInfo.getEvoSuitePackage() + ".runtime.";
+
+    /**
+     * The state after the execution of all statements of a test
+     */
+    static class Snapshot {
+
+        private final TestCase test;
+
+        /**
+         * Values of the statements, by position
+         */
+        private final Object[] values;
+
+        /**
+         * The trace of the prefix, whose calls were already finished
+         */
+        private final ExecutionTraceProxy trace;
+
+        private Snapshot(TestCase test, Object[] values, ExecutionTraceProxy trace) {
+            this.test = test;
+            this.values = values;
+            this.trace = trace;
+        }
+
+        private boolean isPrefixOf(TestCase other) {
+            return test.isPrefix(other);
+        }
+
+        /**
+         * Restores the state of the prefix for the execution of the given test
+         *
+         * @param other a test that starts with the statements of this snapshot
+         * @param scope the (new) scope to execute the test on
+         * @return the position of the first statement that still needs to be executed
+         */
+        int restore(TestCase other, Scope scope) {
+            for (int i = 0; i < values.length; i++) {
+                scope.setObject(other.getStatement(i).getReturnValue(), values[i]);
+            }
+            // continue inside the call of the test, as if the prefix had not ended
+            ExecutionTracer.getExecutionTracer().setTrace(trace.resume());
+            return values.length;
+        }
+
+        int size() {
+            return values.length;
+        }
+    }
+
+    private final LinkedList<Snapshot> snapshots = new LinkedList<>();
+
+    private int hits = 0;
+
+    /**
+     * Snapshots can only be used if static state is reset after each test, and
+     * if no observer has to see the execution of every statement
+     */
+    static boolean isEnabled(Set<ExecutionObserver> observers) {
+        return Properties.PREFIX_SNAPSHOTS > 0 && Properties.RESET_STATIC_FIELDS
+                && observers.isEmpty();
+    }
+
+    /**
+     * Removes and returns the longest snapshot of a test that is a prefix of the
+     * given test
+     *
+     * @param test the test that is going to be executed
+     * @return the snapshot, or null if there is none
+     */
+    synchronized Snapshot take(TestCase test) {
+        if (snapshots.isEmpty() || !canBeResumed(test)) {
+            return null;
+        }
+        Snapshot best = null;
+        for (Snapshot snapshot : snapshots) {
+            if ((best == null || snapshot.size() > best.size()) && snapshot.isPrefixOf(test)) {
+                best = snapshot;
+            }
+        }
+        if (best != null) {
+            snapshots.remove(best);
+            hits++;
+        }
+        return best;
+    }
+
+    /**
+     * Keeps the state of the given execution, if it did not depend on anything
+     * but the objects referenced by the variables of the test
+     *
+     * @param test          the executed test
+     * @param scope         the scope the test was executed on
+     * @param result        the result of the execution
+     * @param activeThreads number of threads that were alive after the execution
+     */
+    void store(TestCase test, Scope scope, ExecutionResult result, int activeThreads) {
+        if (test.isEmpty() || activeThreads > 1 || !canBeResumed(test) || !isIsolated(result)) {
+            return;
+        }
+        if (!(result.getTrace() instanceof ExecutionTraceProxy)
+                || !((ExecutionTraceProxy) result.getTrace()).isResumable()) {
+            return;
+        }
+        Object[] values = new Object[test.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = scope.getObject(test.getStatement(i).getReturnValue());
+        }
+        Snapshot snapshot = new Snapshot(test.clone(), values,
+                (ExecutionTraceProxy) result.getTrace().lazyClone());
+        synchronized (this) {
+            snapshots.addFirst(snapshot);
+            while (snapshots.size() > Properties.PREFIX_SNAPSHOTS) {
+                snapshots.removeLast();
+            }
+        }
+    }
+
+    private static boolean canBeResumed(TestCase test) {
+        if (test instanceof DefaultTestCase && ((DefaultTestCase) test).getChangedClassLoader() != null) {
+            return false;
+        }
+        for (Statement statement : test) {
+            if (statement instanceof FunctionalMockStatement) {
+                return false;
+            }
+            // Calls to the runtime set up the environment, which is reset before each test
+            GenericAccessibleObject<?> accessibleObject = statement.getAccessibleObject();
+            if (accessibleObject != null
+                    && accessibleObject.getDeclaringClass().getName().startsWith(RUNTIME_PACKAGE)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isIsolated(ExecutionResult result) {
+        if (result.getTrace() == null || result.hasTimeout() || !result.noThrownExceptions()
+                || result.getExecutedStatements() != result.test.size()) {
+            return false;
+        }
+        ExecutionTrace trace = result.getTrace();
+        if (!trace.getClassesWithStaticWrites().isEmpty() || !trace.getClassesWithStaticReads().isEmpty()
+                || !trace.getInitializedClasses().isEmpty()) {
+            return false;
+        }
+        if (result.wasAnyPropertyWritten()
+                || (result.getReadProperties() != null && !result.getReadProperties().isEmpty())) {
+            return false;
+        }
+        if (org.evosuite.runtime.System.wasTimeAccessed() || Random.wasAccessed()) {
+            return false;
+        }
+        VirtualNetwork network = VirtualNetwork.getInstance();
+        return VirtualFileSystem.getInstance().getAccessedFiles().isEmpty()
+                && network.getViewOfRemoteAccessedFiles().isEmpty()
+                && network.getViewOfOpenedTcpConnections().isEmpty()
+                && network.getViewOfLocalListeningPorts().isEmpty()
+                && network.getViewOfRemoteContactedPorts().isEmpty()
+                && network.getCopyOfSentUDP().isEmpty();
+    }
+
+    /**
+     * Removes all snapshots, as their state is no longer valid
+     */
+    synchronized void clear() {
+        if (hits > 0) {
+            logger.debug("Resumed " + hits + " executions after a prefix");
+        }
+        snapshots.clear();
+        hits = 0;
+    }
+
+    synchronized int size() {
+        return snapshots.size();
+    }
+
+    synchronized int getHits() {
+        return hits;
+    }
+}
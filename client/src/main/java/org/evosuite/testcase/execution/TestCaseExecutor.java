@@ -86,6 +86,8 @@ public class TestCaseExecutor implements ThreadFactory {
 
     private final Set<Thread> stalledThreads = new HashSet<>();
 
+    private final PrefixSnapshots prefixSnapshots = new PrefixSnapshots();
+
     /**
      * Constant <code>timeExecuted=0</code>
      */
@@ -174,6 +176,7 @@ public class TestCaseExecutor implements ThreadFactory {
                 instance.executor.shutdownNow();
                 instance.executor = null;
             }
+            instance.prefixSnapshots.clear();
         }
     }
 
@@ -205,6 +208,7 @@ public class TestCaseExecutor implements ThreadFactory {
         if (!observers.contains(observer)) {
             logger.debug("Adding observer");
             observers.add(observer);
+            ExecutionResultCache.getInstance().clear();
         }
         // FIXXME: Find proper solution for this
         // for (ExecutionObserver o : observers)
@@ -225,6 +229,7 @@ public class TestCaseExecutor implements ThreadFactory {
         if (observers.contains(observer)) {
             logger.debug("Removing observer");
             observers.remove(observer);
+            ExecutionResultCache.getInstance().clear();
         }
     }
 
@@ -235,12 +240,20 @@ public class TestCaseExecutor implements ThreadFactory {
      */
     public void newObservers() {
         observers = new LinkedHashSet<>();
+        ExecutionResultCache.getInstance().clear();
     }
 
     public Set<ExecutionObserver> getExecutionObservers() {
         return new LinkedHashSet<>(observers);
     }
 
+    /**
+     * @return the number of executions resumed after the prefix of a previous test
+     */
+    int getNumberOfResumedExecutions() {
+        return prefixSnapshots.getHits();
+    }
+
     private void resetObservers() {
         for (ExecutionObserver observer : observers) {
             observer.clear();
@@ -266,7 +279,11 @@ public class TestCaseExecutor implements ThreadFactory {
      */
     public ExecutionResult execute(TestCase tc, int timeout) {
         Scope scope = new Scope();
-        ExecutionResult result = execute(tc, scope, timeout);
+        PrefixSnapshots.Snapshot snapshot = null;
+        if (PrefixSnapshots.isEnabled(observers)) {
+            snapshot = prefixSnapshots.take(tc);
+        }
+        ExecutionResult result = execute(tc, scope, snapshot, timeout);
 
         if (Properties.RESET_STATIC_FIELDS) {
             logger.debug("Resetting classes after execution");
@@ -279,11 +296,12 @@ public class TestCaseExecutor implements ThreadFactory {
      * Execute a test case on an existing scope
      *
      * @param tc    a {@link org.evosuite.testcase.TestCase} object.
-     * @param scope a {@link org.evosuite.testcase.execution.Scope} object.
+     * @param scope    a {@link org.evosuite.testcase.execution.Scope} object.
+     * @param snapshot state of an already executed prefix of the test, or null
      * @return a {@link org.evosuite.testcase.execution.ExecutionResult} object.
      */
     @SuppressWarnings("deprecation")
-    private ExecutionResult execute(TestCase tc, Scope scope, int timeout) {
+    private ExecutionResult execute(TestCase tc, Scope scope, PrefixSnapshots.Snapshot snapshot, int timeout) {
         ExecutionTracer.getExecutionTracer().clear();
 
         // TODO: Re-insert!
@@ -292,12 +310,17 @@ public class TestCaseExecutor implements ThreadFactory {
         MaxTestsStoppingCondition.testExecuted();
         Runtime.getInstance().resetRuntime();
 
+        int firstStatement = 0;
+        if (snapshot != null) {
+            firstStatement = snapshot.restore(tc, scope);
+        }
+
         long startTime = System.currentTimeMillis();
 
         TimeoutHandler<ExecutionResult> handler = new TimeoutHandler<>();
 
         // #TODO steenbuck could be nicer (TestRunnable should be an interface
-        TestRunnable callable = new TestRunnable(tc, scope, observers);
+        TestRunnable callable = new TestRunnable(tc, scope, observers, firstStatement);
         callable.storeCurrentThreads();
 
         /*
@@ -327,8 +350,13 @@ public class TestCaseExecutor implements ThreadFactory {
                 TestGenerationContext.getInstance().doneWithExecutingSUTCode();
             }
 
-            PermissionStatistics.getInstance().countThreads(threadGroup.activeCount());
+            int activeThreads = threadGroup.activeCount();
+            PermissionStatistics.getInstance().countThreads(activeThreads);
             result.setSecurityException(PermissionStatistics.getInstance().getAndResetExceptionInfo());
+            if (PrefixSnapshots.isEnabled(observers)) {
+                // before the classes are reset, to see which ones were used
+                prefixSnapshots.store(tc, scope, result, activeThreads);
+            }
             /*
              * TODO: this will need proper care when we ll start to handle
              * threads in the search.
@@ -541,6 +569,7 @@ public class TestCaseExecutor implements ThreadFactory {
 
     public void setExecutionObservers(Set<ExecutionObserver> observers) {
         this.observers = observers;
+        ExecutionResultCache.getInstance().clear();
     }
 
 }
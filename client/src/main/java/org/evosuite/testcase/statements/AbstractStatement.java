@@ -28,6 +28,7 @@ import org.evosuite.testcase.execution.EvosuiteError;
 import org.evosuite.testcase.variable.ArrayReference;
 import org.evosuite.testcase.variable.VariableReference;
 import org.evosuite.testcase.variable.VariableReferenceImpl;
+import org.evosuite.utils.generic.GenericAccessibleObject;
 import org.evosuite.utils.generic.GenericClass;
 import org.evosuite.utils.generic.GenericClassFactory;
 import org.slf4j.Logger;
@@ -495,6 +496,22 @@ public abstract class AbstractStatement implements Statement, Serializable {
         return true;
     }
 
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Covers the type of statement and the accessed method, constructor or
+     * field. Statements that are the same for other reasons (e.g., values)
+     * need to add them.
+     */
+    @Override
+    public int getStructuralHash() {
+        final int prime = 31;
+        GenericAccessibleObject<?> accessibleObject = getAccessibleObject();
+        int result = getClass().hashCode();
+        result = prime * result + ((accessibleObject == null) ? 0 : accessibleObject.hashCode());
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
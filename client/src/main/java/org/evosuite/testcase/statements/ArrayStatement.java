@@ -384,6 +384,15 @@ public class ArrayStatement extends AbstractStatement {
         return retval.same(as.retval);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getStructuralHash() {
+        final int prime = 31;
+        return prime * super.getStructuralHash() + Arrays.hashCode(lengths);
+    }
+
     /**
      * <p>
      * Setter for the field <code>lengths</code>.
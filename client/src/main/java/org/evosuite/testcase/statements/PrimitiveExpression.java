@@ -264,6 +264,16 @@ public class PrimitiveExpression extends AbstractStatement {
                 && rightOperand.same(ps.rightOperand);
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getStructuralHash() {
+        // there is no accessible object
+        final int prime = 31;
+        return prime * getClass().hashCode() + operator.hashCode();
+    }
+
     /**
      * {@inheritDoc}
      */
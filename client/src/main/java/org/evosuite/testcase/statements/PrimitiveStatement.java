@@ -346,6 +346,17 @@ public abstract class PrimitiveStatement<T> extends AbstractStatement {
         return (sameValue && retval.same(ps.retval));
     }
 
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public int getStructuralHash() {
+        final int prime = 31;
+        int result = super.getStructuralHash();
+        result = prime * result + ((value == null) ? 0 : value.hashCode());
+        return result;
+    }
+
     /**
      * {@inheritDoc}
      */
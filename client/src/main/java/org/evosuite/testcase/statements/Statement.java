@@ -359,6 +359,17 @@ public interface Statement {
      */
     boolean same(Statement s);
 
+    /**
+     * Hash of the structure of this statement, consistent with
+     * {@link #same(Statement)}: statements that are the same have the same
+     * structural hash. Unlike {@link #hashCode()}, it does not depend on the
+     * identity of the variables, and it is cheap to compute, as it does not
+     * need the positions of the variables in the test.
+     *
+     * @return an int.
+     */
+    int getStructuralHash();
+
     /**
      * Sets the set of assertions to statement
      *
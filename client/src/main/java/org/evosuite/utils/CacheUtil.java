@@ -0,0 +1,97 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.utils;
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Helpers for caches that are persisted across runs, e.g. the cache of
+ * instrumented classes and the persistent constraint solver cache.
+ */
+public abstract class CacheUtil {
+
+    /**
+     * @return a new SHA-256 message digest
+     */
+    public static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // SHA-256 is available on every Java platform
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * @param bytes a {@link byte} array.
+     * @return the SHA-256 hash of the bytes, in hexadecimal
+     */
+    public static String hash(byte[] bytes) {
+        return toHex(newDigest().digest(bytes));
+    }
+
+    /**
+     * @param s a {@link java.lang.String} object.
+     * @return the SHA-256 hash of the UTF-8 encoding of the string, in
+     * hexadecimal
+     */
+    public static String hash(String s) {
+        return hash(s.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @param bytes a {@link byte} array.
+     * @return the bytes in hexadecimal, two lower case digits per byte
+     */
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder(2 * bytes.length);
+        for (byte b : bytes) {
+            hex.append(Character.forDigit((b >> 4) & 0xf, 16));
+            hex.append(Character.forDigit(b & 0xf, 16));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Identifies the EvoSuite build, by the location, size and modification
+     * time of the jar file (or folder) it is loaded from. Cached entries of
+     * another build have to be discarded, as they might have been computed
+     * differently.
+     *
+     * @return a {@link java.lang.String} object.
+     */
+    public static String getBuildStamp() {
+        CodeSource source = CacheUtil.class.getProtectionDomain().getCodeSource();
+        if (source == null || source.getLocation() == null) {
+            return "unknown";
+        }
+        try {
+            File location = new File(source.getLocation().toURI());
+            return location.getAbsolutePath() + ":" + location.length() + ":" + location.lastModified();
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return source.getLocation().toString();
+        }
+    }
+}
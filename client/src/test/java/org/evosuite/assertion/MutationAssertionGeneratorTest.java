@@ -0,0 +1,128 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.assertion;
+
+import org.evosuite.Properties;
+import org.evosuite.coverage.mutation.Mutation;
+import org.evosuite.graphs.cfg.BytecodeInstruction;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.execution.ExecutionResult;
+import org.evosuite.testcase.execution.ExecutionTraceImpl;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testsuite.TestSuiteChromosome;
+import org.junit.After;
+import org.junit.Test;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.InsnList;
+import org.objectweb.asm.tree.InsnNode;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class MutationAssertionGeneratorTest {
+
+    /**
+     * Records the mutants the test is executed on, instead of instrumenting and executing a SUT
+     */
+    private static class RecordingGenerator extends SimpleMutationAssertionGenerator {
+
+        private final ExecutionTraceImpl originalTrace;
+
+        private final List<Mutation> executedOn = new ArrayList<>();
+
+        RecordingGenerator(ExecutionTraceImpl originalTrace, Mutation... mutations) {
+            this.originalTrace = originalTrace;
+            for (Mutation m : mutations) {
+                mutants.put(m.getId(), m);
+            }
+        }
+
+        @Override
+        public void setupClassLoader(TestSuiteChromosome suite) {
+            oldCriterion = Properties.CRITERION;
+        }
+
+        @Override
+        protected ExecutionResult runTest(TestCase test, Mutation mutant) {
+            ExecutionResult result = new ExecutionResult(test, mutant);
+            if (mutant == null) {
+                result.setTrace(originalTrace);
+            } else {
+                executedOn.add(mutant);
+                result.setTrace(new ExecutionTraceImpl());
+            }
+            return result;
+        }
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static Mutation mutation(int id) {
+        BytecodeInstruction original = new BytecodeInstruction(MutationAssertionGeneratorTest.class.getClassLoader(),
+                "foo.Bar", "bar()I", 0, 0, new InsnNode(Opcodes.IADD), 1);
+        return new Mutation("foo.Bar", "bar()I", "ReplaceArithmeticOperator", id, original,
+                new InsnNode(Opcodes.ISUB), new InsnList());
+    }
+
+    private static TestSuiteChromosome suite() {
+        DefaultTestCase test = new DefaultTestCase();
+        test.addStatement(new IntPrimitiveStatement(test, 42));
+        TestSuiteChromosome suite = new TestSuiteChromosome();
+        suite.addTest(test);
+        return suite;
+    }
+
+    @Test
+    public void testNotInfectedMutantIsNotExecuted() {
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        // infected the first time it was reached
+        trace.mutationPassed(1, 0.0);
+        trace.mutationPassed(1, 2.0);
+        // always computed the same value as the original code
+        trace.mutationPassed(2, 1.0);
+        trace.mutationPassed(2, 0.5);
+        Mutation infected = mutation(1);
+        Mutation notInfected = mutation(2);
+
+        RecordingGenerator generator = new RecordingGenerator(trace, infected, notInfected);
+        generator.addAssertions(suite());
+
+        assertEquals(Collections.singletonList(infected), generator.executedOn);
+    }
+
+    @Test
+    public void testMutantWithoutInfectionDistanceIsExecuted() {
+        ExecutionTraceImpl trace = new ExecutionTraceImpl();
+        trace.touchedMutants.add(3);
+        Mutation mutant = mutation(3);
+
+        RecordingGenerator generator = new RecordingGenerator(trace, mutant);
+        generator.addAssertions(suite());
+
+        assertEquals(Collections.singletonList(mutant), generator.executedOn);
+    }
+}
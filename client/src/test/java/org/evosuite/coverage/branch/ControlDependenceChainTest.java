@@ -0,0 +1,133 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.coverage.branch;
+
+import com.examples.with.different.packagename.ArrayStack;
+import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.coverage.ControlFlowDistance;
+import org.evosuite.graphs.cfg.ControlDependency;
+import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.evosuite.testcase.execution.MethodCall;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ControlDependenceChainTest {
+
+    @BeforeClass
+    public static void initClass() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+    }
+
+    @After
+    public void resetProperties() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static List<Branch> loadBranches() throws ClassNotFoundException {
+        Properties.TARGET_CLASS = ArrayStack.class.getName();
+        InstrumentingClassLoader classLoader = new InstrumentingClassLoader();
+        Class.forName(ArrayStack.class.getName(), true, classLoader);
+
+        List<Branch> branches = new ArrayList<>();
+        for (Branch branch : BranchPool.getInstance(classLoader).getAllBranches()) {
+            if (branch.getClassName().equals(ArrayStack.class.getName()))
+                branches.add(branch);
+        }
+        return branches;
+    }
+
+    private static MethodCall call(Branch branch, int... passedBranchIds) {
+        MethodCall call = new MethodCall(branch.getClassName(), branch.getMethodName(), 0, 0, 1);
+        for (int branchId : passedBranchIds) {
+            call.branchTrace.add(branchId);
+            call.trueDistanceTrace.add(2.0);
+            call.falseDistanceTrace.add(3.0);
+        }
+        return call;
+    }
+
+    private static List<ControlDependency> getDependencies(Branch branch) {
+        List<ControlDependency> dependencies = new ArrayList<>();
+        for (ControlDependency dependency : branch.getInstruction().getControlDependencies()) {
+            if (!branch.getInstruction().equals(dependency.getBranch().getInstruction()))
+                dependencies.add(dependency);
+        }
+        return dependencies;
+    }
+
+    @Test
+    public void testApproachLevels() throws ClassNotFoundException {
+        List<Branch> branches = loadBranches();
+        assertFalse(branches.isEmpty());
+
+        boolean nested = false;
+        for (Branch branch : branches) {
+            ControlDependenceChain chain = branch.getInstruction().getCDG().getControlDependenceChain(branch);
+            assertSame(chain, branch.getInstruction().getCDG().getControlDependenceChain(branch));
+
+            // passing the branch itself
+            ControlFlowDistance passed = chain.getDistance(call(branch, branch.getActualBranchId()).getBranchDistances(), false);
+            assertEquals(0, passed.getApproachLevel());
+            assertEquals(3.0, passed.getBranchDistance(), 0.0);
+
+            // passing no branch of the method
+            ControlFlowDistance missed = chain.getDistance(call(branch).getBranchDistances(), true);
+            List<ControlDependency> dependencies = getDependencies(branch);
+            if (dependencies.isEmpty()) {
+                assertNotNull(missed);
+                assertEquals(1, missed.getApproachLevel());
+                assertEquals(0.0, missed.getBranchDistance(), 0.0);
+                continue;
+            }
+            nested = true;
+            // no distance if the dependencies are cyclic (e.g., in loops)
+            if (missed != null) {
+                assertTrue(missed.getApproachLevel() > 1);
+                assertEquals(0.0, missed.getBranchDistance(), 0.0);
+            }
+
+            // passing a branch the branch directly depends on
+            for (ControlDependency dependency : dependencies) {
+                Branch dependent = dependency.getBranch();
+                double expected = Double.MAX_VALUE;
+                for (ControlDependency other : dependencies) {
+                    if (other.getBranch().getActualBranchId() == dependent.getActualBranchId())
+                        expected = Math.min(expected, other.getBranchExpressionValue() ? 2.0 : 3.0);
+                }
+                ControlFlowDistance distance = chain.getDistance(
+                        call(branch, dependent.getActualBranchId()).getBranchDistances(), true);
+                assertEquals(1, distance.getApproachLevel());
+                assertEquals(expected, distance.getBranchDistance(), 0.0);
+            }
+        }
+        assertTrue(nested);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class FitnessValueMapTest {
+
+    @Test
+    public void testSameAsLinkedHashMap() {
+        FitnessValueMap<String> map = new FitnessValueMap<>();
+        Map<String, Double> expected = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            String key = "goal" + (i * 7 % 31);
+            map.put(key, (double) i);
+            expected.put(key, (double) i);
+        }
+
+        assertEquals(expected, map);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+        assertEquals(expected.values().stream().mapToDouble(Double::doubleValue).sum(), map.sum(), 0.0);
+        assertEquals(1.0, map.getDouble("missing", 1.0), 0.0);
+        assertNull(map.get("missing"));
+    }
+
+    @Test
+    public void testRemove() {
+        FitnessValueMap<String> map = new FitnessValueMap<>();
+        for (String key : Arrays.asList("a", "b", "c", "d")) {
+            map.putDouble(key, key.charAt(0));
+        }
+
+        assertEquals('b', map.remove("b"), 0.0);
+        map.keySet().removeIf(key -> key.equals("d"));
+
+        assertEquals(Arrays.asList("a", "c"), new ArrayList<>(map.keySet()));
+        assertTrue(map.containsKey("c"));
+        assertFalse(map.containsKey("d"));
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        map.putDouble("e", 1.0);
+        assertEquals(1.0, map.getDouble("e", 0.0), 0.0);
+    }
+
+    @Test
+    public void testCopyOnWrite() {
+        FitnessValueMap<String> original = new FitnessValueMap<>();
+        original.putDouble("a", 1.0);
+        original.putDouble("b", 2.0);
+
+        FitnessValueMap<String> copy = new FitnessValueMap<>();
+        copy.setAll(original);
+        assertEquals(original, copy);
+
+        copy.putDouble("a", 3.0);
+        original.putDouble("c", 4.0);
+        original.remove("b");
+
+        assertEquals(1.0, original.getDouble("a", 0.0), 0.0);
+        assertEquals(3.0, copy.getDouble("a", 0.0), 0.0);
+        assertEquals(2.0, copy.getDouble("b", 0.0), 0.0);
+        assertFalse(copy.containsKey("c"));
+
+        original.clear();
+        assertEquals(2, copy.size());
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.archive;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.Criterion;
+import org.evosuite.coverage.method.MethodCoverageTestFitness;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestChromosome;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class CoverageArchiveTest {
+
+    private final CoverageArchive archive = new CoverageArchive();
+
+    @Before
+    public void setUp() {
+        Properties.CRITERION = new Criterion[]{Criterion.METHOD};
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static List<TestFitnessFunction> targets(int numberOfTargets) {
+        List<TestFitnessFunction> targets = new ArrayList<>();
+        for (int i = 0; i < numberOfTargets; i++) {
+            // a few targets per method
+            targets.add(new MethodCoverageTestFitness("foo.Foo", "bar" + (i / 3) + "(I)V" + "/" + i));
+        }
+        return targets;
+    }
+
+    private static TestChromosome solution() {
+        TestChromosome solution = new TestChromosome();
+        solution.setTestCase(new DefaultTestCase());
+        return solution;
+    }
+
+    @Test
+    public void testTargetOrder() {
+        List<TestFitnessFunction> targets = targets(5);
+        archive.addTargets(targets);
+        assertEquals(targets, new ArrayList<>(archive.getUncoveredTargets()));
+
+        archive.updateArchive(targets.get(3), solution(), 0.0);
+        archive.updateArchive(targets.get(1), solution(), 0.0);
+        archive.updateArchive(targets.get(2), solution(), 1.0);
+
+        assertEquals(Arrays.asList(targets.get(3), targets.get(1)), new ArrayList<>(archive.getCoveredTargets()));
+        assertEquals(Arrays.asList(targets.get(0), targets.get(2), targets.get(4)),
+                new ArrayList<>(archive.getUncoveredTargets()));
+        assertTrue(archive.getCoveredTargets().contains(targets.get(1)));
+        assertFalse(archive.getUncoveredTargets().contains(targets.get(1)));
+        assertEquals(5, archive.getNumberOfTargets());
+        assertEquals(3, archive.getNumberOfUncoveredTargets());
+        assertTrue(archive.hasBeenUpdated());
+
+        archive.reset();
+        assertTrue(archive.getCoveredTargets().isEmpty());
+        assertEquals(0, archive.getNumberOfTargets());
+    }
+
+    @Test
+    public void testUncoveredTargetsOfEachMethod() {
+        List<TestFitnessFunction> targets = targets(3);
+        archive.addTargets(targets);
+        String method = "foo.Foobar0(I)V/0";
+        assertEquals(1, archive.getNumOfRemainingTargets(method));
+        assertFalse(archive.isMethodFullyCovered(method));
+        assertEquals(0, archive.getNumOfRemainingTargets("foo.Foounknown()V"));
+        assertTrue(archive.isMethodFullyCovered("foo.Foounknown()V"));
+
+        for (TestFitnessFunction target : targets) {
+            archive.updateArchive(target, solution(), 0.0);
+        }
+        assertEquals(0, archive.getNumOfRemainingTargets(method));
+        assertTrue(archive.isMethodFullyCovered(method));
+
+        // re-adding a covered target does not list it as uncovered again
+        archive.addTarget(targets.get(0));
+        assertTrue(archive.getUncoveredTargets().isEmpty());
+        assertEquals(3, archive.getNumberOfTargets());
+    }
+
+    @Test
+    public void testConcurrentUpdates() throws Exception {
+        List<TestFitnessFunction> targets = targets(300);
+        archive.addTargets(targets);
+
+        int numberOfThreads = 4;
+        ExecutorService executor = Executors.newFixedThreadPool(numberOfThreads);
+        try {
+            List<Future<?>> updates = new ArrayList<>();
+            for (int thread = 0; thread < numberOfThreads; thread++) {
+                int offset = thread;
+                updates.add(executor.submit(() -> {
+                    for (int i = 0; i < targets.size(); i++) {
+                        TestFitnessFunction target = targets.get((i + offset * 75) % targets.size());
+                        archive.updateArchive(target, solution(), 0.0);
+                        archive.getSolutions();
+                    }
+                }));
+            }
+            for (Future<?> update : updates) {
+                update.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(targets.size(), archive.getNumberOfCoveredTargets());
+        assertEquals(targets.size(), archive.getCoveredTargets().size());
+        assertEquals(targets.size(), new ArrayList<>(archive.getCoveredTargets()).size());
+        assertEquals(0, archive.getNumberOfUncoveredTargets());
+        assertTrue(archive.getUncoveredTargets().isEmpty());
+        for (TestFitnessFunction target : targets) {
+            assertTrue(archive.hasSolution(target));
+        }
+    }
+}
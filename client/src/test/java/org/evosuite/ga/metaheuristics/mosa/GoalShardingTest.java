@@ -0,0 +1,78 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.metaheuristics.mosa;
+
+import org.evosuite.coverage.line.LineCoverageTestFitness;
+import org.evosuite.testcase.TestFitnessFunction;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class GoalShardingTest {
+
+    private static List<TestFitnessFunction> goals(int... goalsPerMethod) {
+        List<TestFitnessFunction> goals = new ArrayList<>();
+        for (int m = 0; m < goalsPerMethod.length; m++) {
+            for (int line = 0; line < goalsPerMethod[m]; line++) {
+                goals.add(new LineCoverageTestFitness("Foo", "m" + m + "()V", line));
+            }
+        }
+        return goals;
+    }
+
+    @Test
+    public void testGoalsOfAMethodShareTheirShard() {
+        List<TestFitnessFunction> goals = goals(3, 2, 4, 1);
+        int[] shards = GoalSharding.assignShards(goals, 2);
+
+        for (int i = 1; i < goals.size(); i++) {
+            if (goals.get(i).getTargetMethod().equals(goals.get(i - 1).getTargetMethod())) {
+                assertEquals(shards[i - 1], shards[i]);
+            }
+        }
+    }
+
+    @Test
+    public void testShardsAreBalanced() {
+        int[] shards = GoalSharding.assignShards(goals(4, 3, 3, 2, 2, 1, 1), 3);
+
+        int[] sizes = new int[3];
+        for (int shard : shards) {
+            sizes[shard]++;
+        }
+        assertArrayEquals(new int[]{6, 5, 5}, sizes);
+    }
+
+    @Test
+    public void testAssignmentIsDeterministic() {
+        List<TestFitnessFunction> goals = goals(2, 2, 2, 2);
+        assertArrayEquals(GoalSharding.assignShards(goals, 2), GoalSharding.assignShards(goals(2, 2, 2, 2), 2));
+    }
+
+    @Test
+    public void testMoreShardsThanMethods() {
+        int[] shards = GoalSharding.assignShards(goals(2, 1), 4);
+        assertArrayEquals(new int[]{0, 0, 1}, shards);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.ga.operators.ranking;
+
+import org.evosuite.ga.DummyChromosome;
+import org.evosuite.ga.FitnessFunction;
+import org.evosuite.ga.comparators.DominanceComparator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+public class EfficientNonDominatedSortingTest {
+
+    private static class Goal extends FitnessFunction<DummyChromosome> {
+
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        public double getFitness(DummyChromosome individual) {
+            return 0;
+        }
+
+        @Override
+        public boolean isMaximizationFunction() {
+            return false;
+        }
+    }
+
+    /**
+     * Fronts as found by repeatedly taking the solutions that no other
+     * remaining solution dominates
+     */
+    private static List<List<DummyChromosome>> getFrontsPairwise(List<DummyChromosome> solutions,
+                                                                 Set<Goal> goals) {
+        DominanceComparator<DummyChromosome> comparator = new DominanceComparator<>(goals);
+        List<List<DummyChromosome>> fronts = new ArrayList<>();
+        List<DummyChromosome> remaining = new ArrayList<>(solutions);
+        while (!remaining.isEmpty()) {
+            List<DummyChromosome> front = new ArrayList<>();
+            for (DummyChromosome p : remaining) {
+                if (remaining.stream().noneMatch(q -> comparator.compare(q, p) < 0)) {
+                    front.add(p);
+                }
+            }
+            fronts.add(front);
+            remaining.removeIf(p -> front.stream().anyMatch(q -> q == p));
+        }
+        return fronts;
+    }
+
+    @Test
+    public void testSameFrontsAsPairwiseComparison() {
+        Random random = new Random(42);
+        for (int run = 0; run < 20; run++) {
+            Set<Goal> goals = new LinkedHashSet<>();
+            int numberOfGoals = 1 + random.nextInt(6);
+            for (int i = 0; i < numberOfGoals; i++) {
+                goals.add(new Goal());
+            }
+            List<DummyChromosome> solutions = new ArrayList<>();
+            for (int i = 0; i < 50; i++) {
+                DummyChromosome solution = new DummyChromosome(i);
+                for (Goal goal : goals) {
+                    // few distinct values, such that there are ties and duplicates
+                    solution.setFitness(goal, random.nextInt(4));
+                }
+                solutions.add(solution);
+            }
+
+            assertEquals(getFrontsPairwise(solutions, goals),
+                    EfficientNonDominatedSorting.getFronts(solutions, goals));
+        }
+    }
+
+    @Test
+    public void testFrontIndices() {
+        double[][] objectives = {
+                {2, 2},
+                {1, 3},
+                {3, 3},
+                {1, 3},
+                {0, 4},
+                {4, 0},
+                {3, 4},
+        };
+        assertArrayEquals(new int[]{0, 0, 1, 0, 0, 0, 2}, EfficientNonDominatedSorting.getFrontIndices(objectives));
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.graphs;
+
+import com.examples.with.different.packagename.ArrayStack;
+import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.graphs.cdg.ControlDependenceGraph;
+import org.evosuite.instrumentation.InstrumentingClassLoader;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+
+public class GraphPoolTest {
+
+    @BeforeClass
+    public static void initClass() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+    }
+
+    @After
+    public void resetProperties() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private static Map<String, ControlDependenceGraph> loadControlDependenceGraphs(boolean parallel) throws ClassNotFoundException {
+        Properties.TARGET_CLASS = ArrayStack.class.getName();
+        Properties.PARALLEL_GRAPH_CONSTRUCTION = parallel;
+
+        InstrumentingClassLoader classLoader = new InstrumentingClassLoader();
+        Class.forName(ArrayStack.class.getName(), true, classLoader);
+
+        GraphPool pool = GraphPool.getInstance(classLoader);
+        Map<String, ControlDependenceGraph> cdgs = new LinkedHashMap<>();
+        for (String methodName : pool.getRawCFGs(ArrayStack.class.getName()).keySet()) {
+            cdgs.put(methodName, pool.getCDG(ArrayStack.class.getName(), methodName));
+        }
+        return cdgs;
+    }
+
+    @Test
+    public void testParallelConstructionComputesSameGraphs() throws ClassNotFoundException {
+        Map<String, ControlDependenceGraph> sequential = loadControlDependenceGraphs(false);
+        Map<String, ControlDependenceGraph> parallel = loadControlDependenceGraphs(true);
+
+        assertFalse(parallel.isEmpty());
+        assertEquals(sequential.keySet(), parallel.keySet());
+        for (String methodName : sequential.keySet()) {
+            ControlDependenceGraph expected = sequential.get(methodName);
+            ControlDependenceGraph actual = parallel.get(methodName);
+            assertNotNull(methodName, actual);
+            assertEquals(methodName, expected.vertexCount(), actual.vertexCount());
+            assertEquals(methodName, expected.edgeCount(), actual.edgeCount());
+        }
+    }
+}
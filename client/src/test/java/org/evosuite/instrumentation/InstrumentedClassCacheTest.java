@@ -0,0 +1,170 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.instrumentation;
+
+import com.examples.with.different.packagename.Dummy;
+import com.examples.with.different.packagename.SimpleInteger;
+import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.runtime.sandbox.Sandbox;
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class InstrumentedClassCacheTest {
+
+    private static final byte[] ORIGINAL = {(byte) 0xca, (byte) 0xfe, (byte) 0xba, (byte) 0xbe, 0, 0, 0, 52, 1};
+
+    private static final byte[] TRANSFORMED = {(byte) 0xca, (byte) 0xfe, (byte) 0xba, (byte) 0xbe, 0, 0, 0, 52, 2};
+
+    @BeforeClass
+    public static void initClass() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+    }
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private final boolean resetStaticFields = Properties.RESET_STATIC_FIELDS;
+
+    private final String targetClass = Properties.TARGET_CLASS;
+
+    @After
+    public void restoreProperties() {
+        Properties.INSTRUMENTATION_CACHE_DIR = null;
+        Properties.RESET_STATIC_FIELDS = resetStaticFields;
+        Properties.TARGET_CLASS = targetClass;
+    }
+
+    private File[] listEntries() {
+        File[] entries = folder.getRoot().listFiles((dir, name) -> name.endsWith(".class"));
+        assertNotNull(entries);
+        return entries;
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        InstrumentedClassCache cache = new InstrumentedClassCache(folder.getRoot(), 100);
+        assertNull(cache.get("foo/Bar", ORIGINAL));
+
+        cache.put("foo/Bar", ORIGINAL, TRANSFORMED);
+        assertArrayEquals(TRANSFORMED, cache.get("foo/Bar", ORIGINAL));
+        assertArrayEquals(TRANSFORMED, new InstrumentedClassCache(folder.getRoot(), 100).get("foo/Bar", ORIGINAL));
+        assertNull(cache.get("foo/Baz", ORIGINAL));
+        assertNull(cache.get("foo/Bar", TRANSFORMED));
+    }
+
+    @Test
+    public void testConfigurationChangeMisses() throws Exception {
+        InstrumentedClassCache cache = new InstrumentedClassCache(folder.getRoot(), 100);
+        cache.put("foo/Bar", ORIGINAL, TRANSFORMED);
+
+        Properties.RESET_STATIC_FIELDS = !resetStaticFields;
+        assertNull(cache.get("foo/Bar", ORIGINAL));
+
+        Properties.RESET_STATIC_FIELDS = resetStaticFields;
+        assertNotNull(cache.get("foo/Bar", ORIGINAL));
+    }
+
+    @Test
+    public void testCorruptEntryIsIgnored() throws Exception {
+        InstrumentedClassCache cache = new InstrumentedClassCache(folder.getRoot(), 100);
+        cache.put("foo/Bar", ORIGINAL, TRANSFORMED);
+
+        File[] entries = folder.getRoot().listFiles();
+        assertNotNull(entries);
+        assertEquals(1, entries.length);
+        Files.write(entries[0].toPath(), new byte[]{1, 2, 3});
+
+        assertNull(cache.get("foo/Bar", ORIGINAL));
+    }
+
+    @Test
+    public void testInstanceFollowsProperty() throws Exception {
+        assertNull(InstrumentedClassCache.getInstance());
+
+        Properties.INSTRUMENTATION_CACHE_DIR = folder.getRoot().getAbsolutePath();
+        InstrumentedClassCache cache = InstrumentedClassCache.getInstance();
+        assertNotNull(cache);
+        assertSame(cache, InstrumentedClassCache.getInstance());
+
+        Properties.INSTRUMENTATION_CACHE_DIR = folder.newFolder().getAbsolutePath();
+        assertNotNull(InstrumentedClassCache.getInstance());
+        assertNotSame(cache, InstrumentedClassCache.getInstance());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntriesAreEvicted() throws Exception {
+        InstrumentedClassCache cache = new InstrumentedClassCache(folder.getRoot(), 10);
+        for (int i = 0; i < 10; i++) {
+            cache.put("foo/Bar" + i, ORIGINAL, TRANSFORMED);
+        }
+        for (File entry : listEntries()) {
+            entry.setLastModified(1000L);
+        }
+        assertNotNull(cache.get("foo/Bar0", ORIGINAL));
+        assertEquals(10, listEntries().length);
+
+        cache.put("foo/Bar10", ORIGINAL, TRANSFORMED);
+        assertEquals(9, listEntries().length);
+        assertNotNull(cache.get("foo/Bar0", ORIGINAL));
+        assertNotNull(cache.get("foo/Bar10", ORIGINAL));
+    }
+
+    @Test
+    public void testLoadWhileExecutingSUTCode() throws Exception {
+        Properties.TARGET_CLASS = "";
+        Properties.INSTRUMENTATION_CACHE_DIR = folder.getRoot().getAbsolutePath();
+        InstrumentingClassLoader loader = new InstrumentingClassLoader();
+
+        Sandbox.initializeSecurityManagerForSUT();
+        try {
+            Sandbox.goingToExecuteSUTCode();
+            // the current thread is put in the sandbox, like the threads executing tests
+            Sandbox.goingToExecuteUnsafeCodeOnSameThread();
+            try {
+                Class<?> clazz = loader.loadClass(SimpleInteger.class.getName());
+                assertSame(loader, clazz.getClassLoader());
+            } finally {
+                Sandbox.doneWithExecutingUnsafeCodeOnSameThread();
+                Sandbox.doneWithExecutingSUTCode();
+            }
+        } finally {
+            Sandbox.resetDefaultSecurityManager();
+        }
+        assertEquals(0, listEntries().length);
+
+        // the deferred entry is written together with the next one
+        loader.loadClass(Dummy.class.getName());
+        assertEquals(2, listEntries().length);
+    }
+}
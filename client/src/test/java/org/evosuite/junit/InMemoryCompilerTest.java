@@ -0,0 +1,96 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.junit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class InMemoryCompilerTest {
+
+    private static final String SCAFFOLDING = "foo.Bar_ESTest_scaffolding";
+
+    private static final String TEST = "foo.Bar_ESTest";
+
+    private static final String CLASSPATH = System.getProperty("java.class.path");
+
+    private static Map<String, String> sources(String testBody) {
+        Map<String, String> sources = new LinkedHashMap<>();
+        sources.put(TEST, "package foo;\npublic class Bar_ESTest extends Bar_ESTest_scaffolding {\n"
+                + testBody + "\n}\n");
+        sources.put(SCAFFOLDING, "package foo;\npublic class Bar_ESTest_scaffolding {\n"
+                + "  protected Runnable task = new Runnable() { public void run() { } };\n}\n");
+        return sources;
+    }
+
+    @Before
+    public void init() {
+        InMemoryCompiler.clearCache();
+    }
+
+    @After
+    public void tearDown() {
+        InMemoryCompiler.clearCache();
+    }
+
+    @Test
+    public void testCompileInnerClasses() {
+        Map<String, byte[]> classes = InMemoryCompiler.compile(
+                sources("public void test0() { new Object() { }.hashCode(); }"), CLASSPATH);
+
+        assertNotNull(classes);
+        assertEquals(4, classes.size());
+        assertTrue(classes.containsKey(TEST));
+        assertTrue(classes.containsKey(TEST + "$1"));
+        assertTrue(classes.containsKey(SCAFFOLDING));
+        assertTrue(classes.containsKey(SCAFFOLDING + "$1"));
+    }
+
+    @Test
+    public void testScaffoldingIsReused() {
+        Map<String, byte[]> first = InMemoryCompiler.compile(sources("public void test0() { }"), CLASSPATH);
+        assertNotNull(first);
+        assertEquals(0, InMemoryCompiler.getScaffoldingHits());
+
+        Map<String, byte[]> second = InMemoryCompiler.compile(
+                sources("public void test0() { task.run(); }"), CLASSPATH);
+        assertNotNull(second);
+        assertEquals(1, InMemoryCompiler.getScaffoldingHits());
+        assertArrayEquals(first.get(SCAFFOLDING), second.get(SCAFFOLDING));
+        assertTrue(second.containsKey(SCAFFOLDING + "$1"));
+    }
+
+    @Test
+    public void testCompilationFailure() {
+        assertNull(InMemoryCompiler.compile(sources("public void test0() { undefined(); }"), CLASSPATH));
+        //the scaffolding is not kept if the compilation failed
+        assertNotNull(InMemoryCompiler.compile(sources("public void test0() { }"), CLASSPATH));
+        assertEquals(0, InMemoryCompiler.getScaffoldingHits());
+    }
+}
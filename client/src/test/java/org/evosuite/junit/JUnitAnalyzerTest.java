@@ -50,6 +50,8 @@ public class JUnitAnalyzerTest {
     private static final boolean DEFAULT_SANDBOX = Properties.SANDBOX;
     private static final boolean DEFAULT_ASSERTS_FOR_EVO = Properties.ENABLE_ASSERTS_FOR_EVOSUITE;
     private static final boolean DEFAULT_SCAFFOLDING = Properties.TEST_SCAFFOLDING;
+    private static final boolean DEFAULT_IN_MEMORY = Properties.JUNIT_CHECK_IN_MEMORY;
+    private static final int DEFAULT_THREADS = Properties.JUNIT_CHECK_THREADS;
 
     private File file = new File(OpenStream.FILE_NAME);
 
@@ -75,10 +77,35 @@ public class JUnitAnalyzerTest {
         Properties.SANDBOX = DEFAULT_SANDBOX;
         Properties.ENABLE_ASSERTS_FOR_EVOSUITE = DEFAULT_ASSERTS_FOR_EVO;
         Properties.TEST_SCAFFOLDING = DEFAULT_SCAFFOLDING;
+        Properties.JUNIT_CHECK_IN_MEMORY = DEFAULT_IN_MEMORY;
+        Properties.JUNIT_CHECK_THREADS = DEFAULT_THREADS;
     }
 
     @Test
     public void testSandboxIssue() throws Exception {
+        checkSandboxIssue();
+    }
+
+    @Test
+    public void testSandboxIssueCompilingInMemory() throws Exception {
+        Properties.JUNIT_CHECK_IN_MEMORY = true;
+        checkSandboxIssue();
+    }
+
+    @Test
+    public void testSandboxIssueCompilingOnDisk() throws Exception {
+        Properties.JUNIT_CHECK_IN_MEMORY = false;
+        checkSandboxIssue();
+    }
+
+    @Test
+    public void testSandboxIssueCompilingInTheBackground() throws Exception {
+        Properties.JUNIT_CHECK_IN_MEMORY = false;
+        Properties.JUNIT_CHECK_THREADS = 2;
+        checkSandboxIssue();
+    }
+
+    private void checkSandboxIssue() throws Exception {
 
         //First, get a TestCase from a carved JUnit
 
@@ -138,6 +165,12 @@ public class JUnitAnalyzerTest {
         Assert.assertEquals(1, list.size());
         Assert.assertFalse(file.exists());
 
+        System.out.println("\n ONE BY ONE STABILITY CHECK \n");
+        //each test on its own, compiled in the background
+        JUnitAnalyzer.handleTestsThatAreUnstableOneByOne(list);
+        Assert.assertEquals(1, list.size());
+        Assert.assertFalse(file.exists());
+
         System.out.println("\n SECOND STABILITY CHECK \n");
         //try again
         JUnitAnalyzer.handleTestsThatAreUnstable(list);
@@ -148,6 +181,11 @@ public class JUnitAnalyzerTest {
         JUnitAnalyzer.verifyCompilationAndExecution(list);
         Assert.assertEquals(1, list.size());
         Assert.assertFalse(file.exists());
+
+        //the background compiler threads do not stay privileged
+        for (Thread thread : Sandbox.getPrivilegedThreads()) {
+            Assert.assertNotEquals(JUnitAnalyzer.COMPILER_THREAD_NAME, thread.getName());
+        }
     }
 
     @Test
@@ -0,0 +1,83 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.setup;
+
+import org.evosuite.testcase.execution.MethodCall;
+import org.junit.Test;
+
+import java.util.LinkedList;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CallContextNodeTest {
+
+    /**
+     * Checks that the interned context of the given calls (from the bottom of
+     * the stack to its top) is the context computed from the whole stack
+     */
+    private static CallContext checkContext(String... calls) {
+        LinkedList<MethodCall> stack = new LinkedList<>();
+        stack.push(new MethodCall("", "", 0, 0, 0));
+        CallContextNode node = CallContextNode.getRoot();
+        for (String call : calls) {
+            String className = call.substring(0, call.indexOf(':'));
+            String methodName = call.substring(call.indexOf(':') + 1);
+            stack.push(new MethodCall(className, methodName, 0, 0, stack.size()));
+            node = node.enter(className, methodName);
+        }
+
+        CallContext expected = new CallContext(stack);
+        CallContext interned = node.getCallContext();
+        assertEquals(expected, interned);
+        assertEquals(expected.toString(), interned.toString());
+        return interned;
+    }
+
+    @Test
+    public void testSameAsStackContext() {
+        checkContext();
+        checkContext("foo.Foo:bar()V");
+        checkContext("foo.Foo:bar()V", "foo.Foo:baz()V");
+        checkContext("foo.Foo:bar()V", "foo.Foo:bar()V", "foo.Foo:bar()V", "foo.Foo:bar()V");
+        checkContext("foo.Foo:bar()V", "foo.Foo:bar()V", "foo.Foo:bar()V", "foo.Foo:baz()V");
+    }
+
+    @Test
+    public void testExcludedCalls() {
+        checkContext("java.lang.Thread:run()V", "foo.Foo:bar()V");
+        checkContext("foo.Foo:bar()V", "java.util.ArrayList:add(Ljava/lang/Object;)Z");
+        checkContext("foo.Foo:bar()V", "java.util.ArrayList:add(Ljava/lang/Object;)Z", "foo.Foo:baz()V");
+        CallContext empty = checkContext("java.lang.Thread:run()V");
+        assertTrue(empty.isEmpty());
+    }
+
+    @Test
+    public void testContextsAreInterned() {
+        CallContext first = checkContext("foo.Foo:bar()V", "foo.Foo:baz()V");
+        CallContext second = checkContext("foo.Foo:bar()V", "foo.Foo:baz()V");
+        assertSame(first, second);
+
+        // calls on top of the stack that are excluded share the context of their caller
+        CallContext withLibrary = checkContext("foo.Foo:bar()V", "foo.Foo:baz()V", "java.lang.String:length()I");
+        assertSame(first, withLibrary);
+    }
+}
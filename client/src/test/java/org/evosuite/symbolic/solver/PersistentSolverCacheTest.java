@@ -0,0 +1,109 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.expr.Constraint;
+import org.evosuite.symbolic.expr.bv.IntegerConstant;
+import org.evosuite.symbolic.expr.bv.IntegerVariable;
+import org.evosuite.symbolic.vm.ConstraintFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PersistentSolverCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Collection<Constraint<?>> lessThan(String variableName, long value) {
+        IntegerVariable x = new IntegerVariable(variableName, 0L, Long.MIN_VALUE, Long.MAX_VALUE);
+        List<Constraint<?>> constraints = new ArrayList<>();
+        constraints.add(ConstraintFactory.lt(x, new IntegerConstant(value)));
+        return constraints;
+    }
+
+    private static SolverResult sat(String variableName, long value) {
+        Map<String, Object> model = new HashMap<>();
+        model.put(variableName, value);
+        return SolverResult.newSAT(model);
+    }
+
+    @Test
+    public void testCanonicalFormIgnoresVariableNames() {
+        PersistentSolverCache.CanonicalConstraints c1 = PersistentSolverCache.CanonicalConstraints.of(lessThan("x", 5));
+        PersistentSolverCache.CanonicalConstraints c2 = PersistentSolverCache.CanonicalConstraints.of(lessThan("y", 5));
+        PersistentSolverCache.CanonicalConstraints c3 = PersistentSolverCache.CanonicalConstraints.of(lessThan("x", 6));
+
+        assertEquals(c1.getQuery(), c2.getQuery());
+        assertEquals(c1.getHash(), c2.getHash());
+        assertNotEquals(c1.getHash(), c3.getHash());
+    }
+
+    @Test
+    public void testResultIsRenamed() throws Exception {
+        File dir = folder.newFolder();
+        new PersistentSolverCache(dir, 10).put(lessThan("x", 5), sat("x", 4L));
+
+        PersistentSolverCache cache = new PersistentSolverCache(dir, 10);
+        SolverResult result = cache.get(lessThan("y", 5));
+        assertNotNull(result);
+        assertTrue(result.isSAT());
+        assertEquals(4L, result.getValue("y"));
+        assertNull(cache.get(lessThan("y", 6)));
+    }
+
+    @Test
+    public void testUnsat() throws Exception {
+        PersistentSolverCache cache = new PersistentSolverCache(folder.newFolder(), 10);
+        cache.put(lessThan("x", 5), SolverResult.newUNSAT());
+        assertTrue(cache.get(lessThan("z", 5)).isUNSAT());
+    }
+
+    @Test
+    public void testModelWithUnknownVariableIsNotStored() throws Exception {
+        PersistentSolverCache cache = new PersistentSolverCache(folder.newFolder(), 10);
+        cache.put(lessThan("x", 5), sat("other", 4L));
+        assertNull(cache.get(lessThan("x", 5)));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        File dir = folder.newFolder();
+        PersistentSolverCache cache = new PersistentSolverCache(dir, 10);
+        for (int i = 0; i < 25; i++) {
+            cache.put(lessThan("x", i), sat("x", i - 1L));
+        }
+        int entries = dir.listFiles((d, name) -> name.endsWith(".result")).length;
+        assertTrue(entries <= 10);
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.symbolic.solver;
+
+import org.evosuite.symbolic.solver.smt.SmtAssertion;
+import org.evosuite.symbolic.solver.smt.SmtConstantDeclaration;
+import org.evosuite.symbolic.solver.smt.SmtExpr;
+import org.evosuite.symbolic.solver.smt.SmtQuery;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SmtSolverSessionTest {
+
+    private static SmtExpr lt(String var, int value) {
+        return SmtExprBuilder.mkLt(SmtExprBuilder.mkIntVariable(var), SmtExprBuilder.mkIntConstant(value));
+    }
+
+    private static SmtExpr gt(String var, int value) {
+        return SmtExprBuilder.mkGt(SmtExprBuilder.mkIntVariable(var), SmtExprBuilder.mkIntConstant(value));
+    }
+
+    private static SmtQuery query(String timeout, SmtExpr... formulas) {
+        SmtQuery query = new SmtQuery();
+        query.addOption(":timeout", timeout);
+        query.addConstantDeclaration(SmtExprBuilder.mkIntConstantDeclaration("x"));
+        query.addConstantDeclaration(SmtExprBuilder.mkIntConstantDeclaration("y"));
+        for (SmtExpr formula : formulas) {
+            query.addAssertion(new SmtAssertion(formula));
+        }
+        return query;
+    }
+
+    @Test
+    public void testFirstQuerySetsUpSession() {
+        SmtSolverSession session = new SmtSolverSession("solver");
+        String commands = session.update(query("100", lt("x", 10), gt("y", 5)));
+
+        assertTrue(commands.contains("(set-option :global-declarations true)"));
+        assertTrue(commands.contains("(set-option :timeout 100)"));
+        assertTrue(commands.contains("(declare-const x Int)"));
+        assertTrue(commands.contains("(declare-const y Int)"));
+        assertFalse(commands.contains("(pop"));
+        assertEquals(2, count(commands, "(push 1)"));
+        assertEquals(2, count(commands, "(assert "));
+    }
+
+    @Test
+    public void testOnlyDifferentSuffixIsSent() {
+        SmtSolverSession session = new SmtSolverSession("solver");
+        session.update(query("100", lt("x", 10), gt("y", 5), lt("y", 7)));
+
+        // same prefix, negated last condition
+        String commands = session.update(query("100", lt("x", 10), gt("y", 5), gt("y", 6)));
+
+        assertFalse(commands.contains("set-option"));
+        assertFalse(commands.contains("declare-const"));
+        assertTrue(commands.startsWith("(pop 1)"));
+        assertEquals(1, count(commands, "(push 1)"));
+        assertEquals(1, count(commands, "(assert "));
+    }
+
+    @Test
+    public void testShorterQueryOnlyPops() {
+        SmtSolverSession session = new SmtSolverSession("solver");
+        session.update(query("100", lt("x", 10), gt("y", 5), lt("y", 7)));
+
+        String commands = session.update(query("100", lt("x", 10)));
+
+        assertEquals("(pop 2)\n", commands);
+    }
+
+    @Test
+    public void testDifferentOptionsRestartSession() {
+        SmtSolverSession session = new SmtSolverSession("solver");
+        session.update(query("100", lt("x", 10)));
+
+        String commands = session.update(query("200", lt("x", 10)));
+
+        assertFalse(commands.contains("(pop"));
+        assertTrue(commands.contains("(set-option :timeout 200)"));
+        assertTrue(commands.contains("(declare-const x Int)"));
+        assertEquals(1, count(commands, "(assert "));
+    }
+
+    @Test
+    public void testConflictingDeclarationRestartsSession() {
+        SmtSolverSession session = new SmtSolverSession("solver");
+        session.update(query("100", lt("x", 10)));
+
+        SmtQuery query = new SmtQuery();
+        query.addOption(":timeout", "100");
+        SmtConstantDeclaration realX = SmtExprBuilder.mkRealConstantDeclaration("x");
+        query.addConstantDeclaration(realX);
+        String commands = session.update(query);
+
+        assertTrue(commands.contains("(set-option :global-declarations true)"));
+        assertTrue(commands.contains("(declare-const x Real)"));
+    }
+
+    private static int count(String str, String token) {
+        int count = 0;
+        int index = str.indexOf(token);
+        while (index >= 0) {
+            count++;
+            index = str.indexOf(token, index + 1);
+        }
+        return count;
+    }
+}
@@ -19,6 +19,8 @@
  */
 package org.evosuite.testcase;
 
+import org.evosuite.testcase.statements.StringPrimitiveStatement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -31,4 +33,35 @@ public class DefaultTestCaseTest {
         DefaultTestCase clone = tc.clone();
         Assert.assertTrue(tc.statements != clone.statements);
     }
+
+    private static DefaultTestCase createTest(int value, String text) {
+        DefaultTestCase tc = new DefaultTestCase();
+        tc.addStatement(new IntPrimitiveStatement(tc, value));
+        tc.addStatement(new StringPrimitiveStatement(tc, text));
+        return tc;
+    }
+
+    @Test
+    public void testStructuralHashOfClone() {
+        DefaultTestCase tc = createTest(42, "foo");
+        DefaultTestCase clone = tc.clone();
+        for (int i = 0; i < tc.size(); i++) {
+            Assert.assertTrue(tc.getStatement(i).same(clone.getStatement(i)));
+            Assert.assertEquals(tc.getStatement(i).getStructuralHash(), clone.getStatement(i).getStructuralHash());
+        }
+        Assert.assertTrue(tc.isPrefix(clone));
+        Assert.assertTrue(clone.isPrefix(tc));
+    }
+
+    @Test
+    public void testIsPrefix() {
+        DefaultTestCase tc = createTest(42, "foo");
+        DefaultTestCase longer = createTest(42, "foo");
+        longer.addStatement(new IntPrimitiveStatement(longer, 0));
+
+        Assert.assertTrue(tc.isPrefix(longer));
+        Assert.assertFalse(longer.isPrefix(tc));
+        Assert.assertFalse(createTest(42, "bar").isPrefix(longer));
+        Assert.assertFalse(createTest(43, "foo").isPrefix(longer));
+    }
 }
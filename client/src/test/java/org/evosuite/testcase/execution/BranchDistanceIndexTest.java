@@ -0,0 +1,75 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class BranchDistanceIndexTest {
+
+    private static void pass(MethodCall call, int branchId, double trueDistance, double falseDistance) {
+        call.branchTrace.add(branchId);
+        call.trueDistanceTrace.add(trueDistance);
+        call.falseDistanceTrace.add(falseDistance);
+    }
+
+    @Test
+    public void testMinimalDistances() {
+        MethodCall call = new MethodCall("foo.Foo", "bar()V", 0, 0, 1);
+        pass(call, 1, 3.0, 0.0);
+        pass(call, 2, 0.0, 1.0);
+        pass(call, 1, 0.0, 2.0);
+        pass(call, 1, 5.0, 0.0);
+
+        BranchDistanceIndex index = call.getBranchDistances();
+        assertTrue(index.isPassed(1));
+        assertTrue(index.isPassed(2));
+        assertFalse(index.isPassed(3));
+        assertEquals(0.0, index.getDistance(1, true), 0.0);
+        assertEquals(0.0, index.getDistance(1, false), 0.0);
+        assertEquals(0.0, index.getDistance(2, true), 0.0);
+        assertEquals(1.0, index.getDistance(2, false), 0.0);
+        assertEquals(Double.MAX_VALUE, index.getDistance(3, true), 0.0);
+    }
+
+    @Test
+    public void testIndexFollowsTrace() {
+        MethodCall call = new MethodCall("foo.Foo", "bar()V", 0, 0, 1);
+        pass(call, 1, 3.0, 0.0);
+
+        BranchDistanceIndex index = call.getBranchDistances();
+        assertSame(index, call.getBranchDistances());
+
+        pass(call, 1, 1.0, 0.0);
+        assertFalse(index.isIndexOf(call));
+        BranchDistanceIndex updated = call.getBranchDistances();
+        assertNotSame(index, updated);
+        assertEquals(1.0, updated.getDistance(1, true), 0.0);
+
+        MethodCall copy = call.clone();
+        assertFalse(updated.isIndexOf(copy));
+        assertEquals(1.0, copy.getBranchDistances().getDistance(1, true), 0.0);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BranchTraceTableTest {
+
+    @Test
+    public void testMinimumAndSum() {
+        BranchTraceTable table = new BranchTraceTable();
+        table.branchPassed(3, 2.0, 0.0, true);
+        table.branchPassed(3, 1.0, 0.0, true);
+
+        Assert.assertTrue(table.isReached(3));
+        Assert.assertFalse(table.isReached(2));
+        Assert.assertEquals(1.0, table.getTrueDistance(3), 0.0);
+        Assert.assertEquals(0.0, table.getFalseDistance(3), 0.0);
+        Assert.assertEquals(3.0, table.getTrueDistancesSum().get(3), 0.0);
+        Assert.assertEquals(2, (int) table.getPredicateExecutionCount().get(3));
+        Assert.assertTrue(table.getCoveredFalseBranches().contains(3));
+        Assert.assertFalse(table.getCoveredTrueBranches().contains(3));
+    }
+
+    @Test
+    public void testCoverageNotCounted() {
+        BranchTraceTable table = new BranchTraceTable();
+        table.branchPassed(1, 0.0, 1.0, false);
+
+        Assert.assertTrue(table.isReached(1));
+        Assert.assertFalse(table.isCoveredTrue(1));
+        Assert.assertTrue(table.getPredicateExecutionCount().isEmpty());
+        Assert.assertTrue(table.getCoveredTrueBranches().contains(1));
+    }
+
+    @Test
+    public void testGrowAndViews() {
+        BranchTraceTable table = new BranchTraceTable();
+        table.branchPassed(1000, 0.0, 1.0, true);
+        Assert.assertEquals(1, table.getTrueDistances().size());
+
+        table.branchPassed(1, 0.5, 0.5, true);
+        Assert.assertEquals(2, table.getTrueDistances().size());
+        Assert.assertEquals(0.5, table.getFalseDistances().get(1), 0.0);
+    }
+
+    @Test
+    public void testClearAndCopy() {
+        BranchTraceTable table = new BranchTraceTable();
+        table.branchPassed(5, 0.0, 1.0, true);
+        BranchTraceTable copy = table.copy();
+
+        table.clear();
+        Assert.assertFalse(table.isReached(5));
+        Assert.assertTrue(table.getTrueDistances().isEmpty());
+
+        table.branchPassed(5, 3.0, 0.0, true);
+        Assert.assertEquals(3.0, table.getTrueDistance(5), 0.0);
+        Assert.assertEquals(1, (int) table.getPredicateExecutionCount().get(5));
+
+        Assert.assertEquals(0.0, copy.getTrueDistance(5), 0.0);
+        Assert.assertTrue(copy.isCoveredTrue(5));
+    }
+
+    @Test
+    public void testCopyOnlyKeepsReachedBranches() {
+        BranchTraceTable table = new BranchTraceTable();
+        table.branchPassed(1000, 0.0, 1.0, true);
+        table.clear();
+        table.branchPassed(3, 1.0, 0.0, true);
+
+        BranchTraceTable copy = table.copy();
+        Assert.assertTrue(copy.isReached(3));
+        Assert.assertFalse(copy.isReached(1000));
+        Assert.assertEquals(1, copy.getTrueDistances().size());
+
+        copy.branchPassed(10, 0.0, 2.0, true);
+        copy.branchPassed(3, 0.5, 0.0, true);
+        Assert.assertEquals(0.5, copy.getTrueDistance(3), 0.0);
+        Assert.assertEquals(2, (int) copy.getPredicateExecutionCount().get(3));
+        Assert.assertTrue(copy.isCoveredTrue(10));
+        Assert.assertFalse(table.isReached(10));
+
+        BranchTraceTable empty = new BranchTraceTable().copy();
+        empty.branchPassed(0, 0.0, 0.0, true);
+        empty.branchPassed(1, 0.0, 0.0, true);
+        Assert.assertEquals(2, empty.getTrueDistances().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testDistanceOfUnreachedBranch() {
+        new BranchTraceTable().getTrueDistance(7);
+    }
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import org.evosuite.Properties;
+import org.evosuite.ga.stoppingconditions.MaxStatementsStoppingCondition;
+import org.evosuite.ga.stoppingconditions.MaxTestsStoppingCondition;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Set;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+public class ExecutionResultCacheTest {
+
+    private int executions = 0;
+
+    private final Function<TestCase, ExecutionResult> execution = test -> {
+        executions++;
+        ExecutionResult result = new ExecutionResult(test);
+        result.setTrace(new ExecutionTraceProxy());
+        result.setExecutedStatements(test.size());
+        return result;
+    };
+
+    private static TestCase test(int... values) {
+        TestCase test = new DefaultTestCase();
+        for (int value : values) {
+            test.addStatement(new IntPrimitiveStatement(test, value));
+        }
+        return test;
+    }
+
+    @Before
+    public void setUp() {
+        Properties.EXECUTION_CACHE_SIZE = 2;
+        Properties.RESET_STATIC_FIELDS = true;
+        ExecutionResultCache.getInstance().clear();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+        ExecutionResultCache.getInstance().clear();
+    }
+
+    @Test
+    public void testIdenticalTestIsNotExecutedAgain() {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        ExecutionResult first = cache.getOrExecute(test(1, 2), execution);
+
+        TestCase identical = test(1, 2);
+        ExecutionResult second = cache.getOrExecute(identical, execution);
+
+        assertEquals(1, executions);
+        assertEquals(1, cache.getHits());
+        assertNotSame(first, second);
+        assertSame(identical, second.test);
+        assertEquals(2, second.getExecutedStatements());
+    }
+
+    @Test
+    public void testDifferentTestIsExecuted() {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        cache.getOrExecute(test(1, 2), execution);
+        cache.getOrExecute(test(1, 3), execution);
+        cache.getOrExecute(test(1), execution);
+
+        assertEquals(3, executions);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedResultIsEvicted() {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        cache.getOrExecute(test(1), execution);
+        cache.getOrExecute(test(2), execution);
+        cache.getOrExecute(test(1), execution);
+        cache.getOrExecute(test(3), execution);
+        assertEquals(3, executions);
+
+        cache.getOrExecute(test(1), execution);
+        assertEquals(3, executions);
+        cache.getOrExecute(test(2), execution);
+        assertEquals(4, executions);
+    }
+
+    @Test
+    public void testNoReuseWithoutStaticReset() {
+        Properties.RESET_STATIC_FIELDS = false;
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        cache.getOrExecute(test(1), execution);
+        cache.getOrExecute(test(1), execution);
+
+        assertEquals(2, executions);
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testNoReuseAfterObserversChanged() {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        cache.getOrExecute(test(1), execution);
+        Set<ExecutionObserver> observers = TestCaseExecutor.getInstance().getExecutionObservers();
+        TestCaseExecutor.getInstance().setExecutionObservers(observers);
+        cache.getOrExecute(test(1), execution);
+
+        assertEquals(2, executions);
+    }
+
+    @Test
+    public void testReusedResultCountsTowardsBudget() {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        cache.getOrExecute(test(1, 2), execution);
+
+        long tests = MaxTestsStoppingCondition.getNumExecutedTests();
+        long statements = MaxStatementsStoppingCondition.getNumExecutedStatements();
+        cache.getOrExecute(test(1, 2), execution);
+
+        assertEquals(1, executions);
+        assertEquals(tests + 1, MaxTestsStoppingCondition.getNumExecutedTests());
+        assertEquals(statements + 2, MaxStatementsStoppingCondition.getNumExecutedStatements());
+    }
+
+    @Test
+    public void testTestChangedAfterExecution() {
+        ExecutionResultCache cache = ExecutionResultCache.getInstance();
+        TestCase test = test(1, 2);
+        cache.getOrExecute(test, execution);
+
+        ((IntPrimitiveStatement) test.getStatement(1)).setValue(3);
+        cache.getOrExecute(test(1, 3), execution);
+        assertEquals(2, executions);
+
+        cache.getOrExecute(test(1, 2), execution);
+        assertEquals(2, executions);
+    }
+}
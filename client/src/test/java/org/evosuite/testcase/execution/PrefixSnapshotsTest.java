@@ -0,0 +1,301 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.testcase.execution;
+
+import com.examples.with.different.packagename.ArrayStack;
+import org.evosuite.Properties;
+import org.evosuite.TestGenerationContext;
+import org.evosuite.classpath.ClassPathHandler;
+import org.evosuite.runtime.Runtime;
+import org.evosuite.symbolic.TestCaseBuilder;
+import org.evosuite.testcase.DefaultTestCase;
+import org.evosuite.testcase.TestCase;
+import org.evosuite.testcase.statements.Statement;
+import org.evosuite.testcase.statements.numeric.IntPrimitiveStatement;
+import org.evosuite.testcase.variable.VariableReference;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PrefixSnapshotsTest {
+
+    private final PrefixSnapshots snapshots = new PrefixSnapshots();
+
+    private static TestCase test(int... values) {
+        TestCase test = new DefaultTestCase();
+        for (int value : values) {
+            test.addStatement(new IntPrimitiveStatement(test, value));
+        }
+        return test;
+    }
+
+    /**
+     * Stores the state of the given test as if it had been executed
+     */
+    private void execute(TestCase test) {
+        Scope scope = new Scope();
+        for (int i = 0; i < test.size(); i++) {
+            scope.setObject(test.getStatement(i).getReturnValue(), i);
+        }
+        ExecutionResult result = new ExecutionResult(test);
+        ExecutionTrace trace = new ExecutionTraceProxy();
+        trace.finishCalls();
+        result.setTrace(trace);
+        result.setExecutedStatements(test.size());
+        snapshots.store(test, scope, result, 1);
+    }
+
+    @BeforeClass
+    public static void initClass() {
+        ClassPathHandler.getInstance().changeTargetCPtoTheSameAsEvoSuite();
+    }
+
+    @Before
+    public void setUp() {
+        Properties.PREFIX_SNAPSHOTS = 2;
+        Properties.RESET_STATIC_FIELDS = true;
+        Runtime.getInstance().resetRuntime();
+    }
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+        TestGenerationContext.getInstance().resetContext();
+    }
+
+    @Test
+    public void testExtendedTestResumesAfterPrefix() {
+        execute(test(1, 2));
+
+        TestCase extended = test(1, 2, 3);
+        PrefixSnapshots.Snapshot snapshot = snapshots.take(extended);
+        assertNotNull(snapshot);
+
+        Scope scope = new Scope();
+        assertEquals(2, snapshot.restore(extended, scope));
+        assertEquals(0, scope.getObject(extended.getStatement(0).getReturnValue()));
+        assertEquals(1, scope.getObject(extended.getStatement(1).getReturnValue()));
+        assertNull(scope.getObject(extended.getStatement(2).getReturnValue()));
+        assertEquals(1, snapshots.getHits());
+    }
+
+    @Test
+    public void testSnapshotIsResumedOnce() {
+        execute(test(1, 2));
+
+        assertNotNull(snapshots.take(test(1, 2, 3)));
+        assertNull(snapshots.take(test(1, 2, 3)));
+        assertEquals(0, snapshots.size());
+    }
+
+    @Test
+    public void testLongestPrefixIsResumed() {
+        execute(test(1));
+        execute(test(1, 2));
+        execute(test(1, 3));
+
+        PrefixSnapshots.Snapshot snapshot = snapshots.take(test(1, 2, 4));
+        assertNotNull(snapshot);
+        assertEquals(2, snapshot.size());
+        assertNull(snapshots.take(test(1, 2, 4)));
+    }
+
+    @Test
+    public void testNoResumeOfDifferentTest() {
+        execute(test(1, 2));
+
+        assertNull(snapshots.take(test(1, 3, 2)));
+        assertNull(snapshots.take(test(1)));
+        assertEquals(1, snapshots.size());
+    }
+
+    @Test
+    public void testNoSnapshotOfFailingTest() {
+        TestCase test = test(1, 2);
+        ExecutionResult result = new ExecutionResult(test);
+        result.setTrace(new ExecutionTraceProxy());
+        result.setExecutedStatements(1);
+        result.reportNewThrownException(1, new IllegalStateException());
+        snapshots.store(test, new Scope(), result, 1);
+
+        assertEquals(0, snapshots.size());
+    }
+
+    @Test
+    public void testNoSnapshotsWithObservers() {
+        Set<ExecutionObserver> none = Collections.emptySet();
+        assertTrue(PrefixSnapshots.isEnabled(none));
+
+        Set<ExecutionObserver> observers = Collections.singleton(new ExecutionObserver() {
+            @Override
+            public void output(int position, String output) {
+            }
+
+            @Override
+            public void beforeStatement(Statement statement, Scope scope) {
+            }
+
+            @Override
+            public void afterStatement(Statement statement, Scope scope, Throwable exception) {
+            }
+
+            @Override
+            public void testExecutionFinished(ExecutionResult r, Scope s) {
+            }
+
+            @Override
+            public void clear() {
+            }
+        });
+        assertFalse(PrefixSnapshots.isEnabled(observers));
+
+        Properties.RESET_STATIC_FIELDS = false;
+        assertFalse(PrefixSnapshots.isEnabled(none));
+    }
+
+    @Test
+    public void testExecutorResumesExtendedTest() {
+        TestCaseExecutor executor = TestCaseExecutor.getInstance();
+        Set<ExecutionObserver> observers = executor.getExecutionObservers();
+        executor.newObservers();
+        try {
+            ExecutionResult prefix = executor.execute(test(1, 2));
+            assertTrue(prefix.noThrownExceptions());
+
+            ExecutionResult extended = executor.execute(test(1, 2, 3));
+            assertTrue(extended.noThrownExceptions());
+            assertEquals(3, extended.getExecutedStatements());
+        } finally {
+            executor.setExecutionObservers(observers);
+        }
+    }
+
+    /**
+     * Pushes an element on a new stack
+     */
+    private static DefaultTestCase stackTest(Class<?> clazz) throws Exception {
+        TestCaseBuilder builder = new TestCaseBuilder();
+        VariableReference stack = builder.appendConstructor(clazz.getConstructor());
+        VariableReference element = builder.appendStringPrimitive("element");
+        builder.appendMethod(stack, clazz.getMethod("push", Object.class), element);
+        return builder.getDefaultTestCase();
+    }
+
+    /**
+     * Copies the given stack test and appends calls that inspect and pop the element
+     */
+    private static TestCase extend(DefaultTestCase prefix, Class<?> clazz) throws Exception {
+        DefaultTestCase test = prefix.clone();
+        VariableReference stack = test.getStatement(0).getReturnValue();
+        VariableReference element = test.getStatement(1).getReturnValue();
+        TestCaseBuilder builder = new TestCaseBuilder(test, test.size());
+        VariableReference n = builder.appendIntPrimitive(0);
+        builder.appendMethod(stack, clazz.getMethod("peek", int.class), n);
+        builder.appendMethod(stack, clazz.getMethod("search", Object.class), element);
+        builder.appendMethod(stack, clazz.getMethod("pop"));
+        builder.appendMethod(stack, clazz.getMethod("empty"));
+        return test;
+    }
+
+    private static void assertSameTrace(ExecutionTrace expected, ExecutionTrace actual) {
+        assertEquals(expected.getCoverageData(), actual.getCoverageData());
+        assertEquals(expected.getCoveredMethods(), actual.getCoveredMethods());
+        assertEquals(expected.getMethodExecutionCount(), actual.getMethodExecutionCount());
+        assertEquals(expected.getCoveredTrueBranches(), actual.getCoveredTrueBranches());
+        assertEquals(expected.getCoveredFalseBranches(), actual.getCoveredFalseBranches());
+        assertEquals(expected.getTrueDistances(), actual.getTrueDistances());
+        assertEquals(expected.getFalseDistances(), actual.getFalseDistances());
+        assertEquals(expected.getPredicateExecutionCount(), actual.getPredicateExecutionCount());
+        assertEquals(expected.getMethodContextCount(), actual.getMethodContextCount());
+        assertEquals(expected.getTrueDistancesContext(), actual.getTrueDistancesContext());
+        assertEquals(expected.getFalseDistancesContext(), actual.getFalseDistancesContext());
+
+        List<MethodCall> expectedCalls = expected.getMethodCalls();
+        List<MethodCall> actualCalls = actual.getMethodCalls();
+        assertEquals(expectedCalls.size(), actualCalls.size());
+        for (int i = 0; i < expectedCalls.size(); i++) {
+            MethodCall expectedCall = expectedCalls.get(i);
+            MethodCall actualCall = actualCalls.get(i);
+            assertEquals(expectedCall.className + "." + expectedCall.methodName,
+                    actualCall.className + "." + actualCall.methodName);
+            assertEquals(expectedCall.methodId, actualCall.methodId);
+            assertEquals(expectedCall.callingObjectID, actualCall.callingObjectID);
+            assertEquals(expectedCall.callDepth, actualCall.callDepth);
+            assertEquals(expectedCall.lineTrace, actualCall.lineTrace);
+            assertEquals(expectedCall.branchTrace, actualCall.branchTrace);
+            assertEquals(expectedCall.trueDistanceTrace, actualCall.trueDistanceTrace);
+            assertEquals(expectedCall.falseDistanceTrace, actualCall.falseDistanceTrace);
+            // contexts are interned, so equal contexts are the same node
+            assertNotNull(actualCall.contextNode);
+            assertSame(expectedCall.contextNode, actualCall.contextNode);
+        }
+    }
+
+    @Test
+    public void testResumedTraceEqualsFullTrace() throws Exception {
+        Properties.TARGET_CLASS = ArrayStack.class.getCanonicalName();
+        Properties.INSTRUMENT_CONTEXT = true;
+        TestGenerationContext.getInstance().resetContext();
+        Class<?> clazz = TestGenerationContext.getInstance().getClassLoaderForSUT()
+                .loadClass(ArrayStack.class.getCanonicalName());
+
+        TestCaseExecutor executor = TestCaseExecutor.getInstance();
+        Set<ExecutionObserver> observers = executor.getExecutionObservers();
+        executor.newObservers();
+        try {
+            Properties.PREFIX_SNAPSHOTS = 0;
+            // the first execution initializes the class, and is not isolated
+            executor.execute(extend(stackTest(clazz), clazz));
+            // as in the search, the extended test is a copy of the executed prefix
+            DefaultTestCase prefixTest = stackTest(clazz);
+            executor.execute(prefixTest);
+            ExecutionResult full = executor.execute(extend(prefixTest, clazz));
+            assertTrue(full.noThrownExceptions());
+            assertTrue(full.getTrace().getMethodCalls().size() > 2);
+
+            Properties.PREFIX_SNAPSHOTS = 2;
+            int resumed = executor.getNumberOfResumedExecutions();
+            ExecutionResult prefix = executor.execute(prefixTest);
+            assertTrue(prefix.noThrownExceptions());
+            ExecutionResult extended = executor.execute(extend(prefixTest, clazz));
+            assertEquals(resumed + 1, executor.getNumberOfResumedExecutions());
+            assertTrue(extended.noThrownExceptions());
+            assertEquals(full.getExecutedStatements(), extended.getExecutedStatements());
+
+            assertSameTrace(full.getTrace(), extended.getTrace());
+            // the trace of the prefix is not changed by the resumed execution
+            assertSameTrace(executor.execute(stackTest(clazz)).getTrace(), prefix.getTrace());
+        } finally {
+            executor.setExecutionObservers(observers);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import org.evosuite.continuous.job.JobDefinition;
 import org.evosuite.continuous.job.JobExecutor;
 import org.evosuite.continuous.job.JobScheduler;
 import org.evosuite.continuous.persistency.StorageManager;
+import org.evosuite.continuous.persistency.StorageManager.TestsOnDisk;
 import org.evosuite.continuous.project.ProjectAnalyzer;
 import org.evosuite.continuous.project.ProjectStaticData;
 import org.evosuite.utils.FileIOUtils;
@@ -34,7 +35,9 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
 
 
 /**
@@ -165,22 +168,40 @@ public class ContinuousTestGeneration {
             throw new IllegalStateException("Cannot debug CTG when more than one CUT is selected");
         }
 
-        if (Properties.CTG_TIME_PER_CLASS != null) {
-            configuration = configuration.getWithChangedTime(Properties.CTG_TIME_PER_CLASS, data.getTotalNumberOfTestableCUTs());
-        }
+        /*
+         * in incremental mode, the tests of the CUTs that did not change
+         * since the previous run are kept as they are
+         */
+        ProjectStaticData toTest = data.getClassesToTest();
+
+        if (toTest.getTotalNumberOfTestableCUTs() > 0) {
+            if (Properties.CTG_TIME_PER_CLASS != null) {
+                configuration = configuration.getWithChangedTime(Properties.CTG_TIME_PER_CLASS, toTest.getTotalNumberOfTestableCUTs());
+            }
+
+            JobScheduler scheduler = new JobScheduler(toTest, configuration);
+            JobExecutor executor = new JobExecutor(storage, projectClassPath, configuration);
 
-        JobScheduler scheduler = new JobScheduler(data, configuration);
-        JobExecutor executor = new JobExecutor(storage, projectClassPath, configuration);
+            //loop: define (partial) schedule
+            while (scheduler.canExecuteMore()) {
+                List<JobDefinition> jobs = scheduler.createNewSchedule();
+                executor.executeJobs(jobs, configuration.getNumberOfUsableCores());
+                executor.waitForJobs();
+            }
+        }
 
-        //loop: define (partial) schedule
-        while (scheduler.canExecuteMore()) {
-            List<JobDefinition> jobs = scheduler.createNewSchedule();
-            executor.executeJobs(jobs, configuration.getNumberOfUsableCores());
-            executor.waitForJobs();
+        Set<String> upToDate = new LinkedHashSet<>(data.getClassNames());
+        upToDate.removeAll(toTest.getClassNames());
+        for (TestsOnDisk suite : storage.gatherGeneratedTestsOnDisk()) {
+            upToDate.add(suite.cut);
         }
 
         String description = storage.mergeAndCommitChanges(data, cuts);
 
+        if (data.getClassHashes() != null) {
+            data.getClassHashes().commit(upToDate);
+        }
+
         if (exportFolder != null) {
             try {
                 exportToFolder(".", exportFolder);
@@ -179,4 +179,8 @@ public class CtgConfiguration {
     public int getConstantMemoryPerJob() {
         return totalMemoryInMB / getNumberOfUsableCores();
     }
+
+    public int getMinimumMemoryPerJob() {
+        return MINIMUM_MEMORY_PER_JOB_MB;
+    }
 }
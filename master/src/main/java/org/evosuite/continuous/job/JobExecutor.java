@@ -20,12 +20,14 @@
 package org.evosuite.continuous.job;
 
 import org.evosuite.Properties;
+import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.continuous.CtgConfiguration;
 import org.evosuite.continuous.persistency.StorageManager;
 import org.evosuite.utils.LoggingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.File;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -70,6 +72,14 @@ public class JobExecutor {
      */
     private BlockingQueue<JobDefinition> jobQueue;
 
+    /**
+     * Memory of all the jobs that have been submitted but are not finished yet.
+     * This should never go above the total memory of the configuration
+     */
+    private int memoryInUseMB;
+
+    private final Object memoryLock = new Object();
+
     /**
      * keep track of all the jobs that have been executed so far.
      * Each job definition (value) is indexed by the CUT name (key).
@@ -82,6 +92,11 @@ public class JobExecutor {
 
     private final String projectClassPath;
 
+    /**
+     * File with the project classpath, written once and shared by all jobs
+     */
+    private String projectClassPathFile;
+
     private final StorageManager storage;
 
     /**
@@ -189,13 +204,16 @@ public class JobExecutor {
          */
         jobQueue = new ArrayBlockingQueue<>(1);
         finishedJobs = new ConcurrentHashMap<>();
+
+        synchronized (memoryLock) {
+            memoryInUseMB = 0;
+        }
     }
 
     protected long execute(List<JobDefinition> jobs) {
 
         long longestJob = -1L;
 
-        //TODO handle memory
         Queue<JobDefinition> toExecute = new LinkedList<>(jobs);
 
         List<JobDefinition> postponed = new LinkedList<>();
@@ -268,11 +286,37 @@ public class JobExecutor {
             }
 
             assert chosenJob != null;
+
+            if (!reserveMemory(chosenJob)) {
+                /*
+                 * the running jobs do not leave enough memory for this job.
+                 * Instead of leaving a core idle till enough memory is released,
+                 * we rather start a later job that does fit (ie backfilling).
+                 * The chosen job keeps its priority for when memory is released
+                 */
+                postponed.add(0, chosenJob);
+                chosenJob = pollJobThatFits(jobs, postponed, toExecute);
+
+                if (chosenJob == null) {
+                    try {
+                        waitForReleasedMemory(postponed.get(0), remaining);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        break mainLoop;
+                    }
+                    continue mainLoop;
+                }
+            }
+
             longestJob = Math.max(longestJob, chosenJob.seconds * 1000);
 
             try {
-                jobQueue.offer(chosenJob, remaining, TimeUnit.MILLISECONDS);
+                boolean offered = jobQueue.offer(chosenJob, remaining, TimeUnit.MILLISECONDS);
+                if (!offered) {
+                    releaseMemory(chosenJob);
+                }
             } catch (InterruptedException e) {
+                releaseMemory(chosenJob);
                 Thread.currentThread().interrupt(); //important for check later
                 break mainLoop;
             }
@@ -286,7 +330,67 @@ public class JobExecutor {
         return jobQueue.take();
     }
 
+    /**
+     * Find the first job (in order of priority) whose dependencies are satisfied
+     * and that fits in the currently free memory. If any, the job is removed from
+     * its queue and its memory is reserved
+     *
+     * @return {@code null} if no job can be started now
+     */
+    private JobDefinition pollJobThatFits(List<JobDefinition> jobs, List<JobDefinition> postponed,
+                                          Queue<JobDefinition> toExecute) {
+        for (Collection<JobDefinition> candidates : Arrays.asList(postponed, toExecute)) {
+            Iterator<JobDefinition> iterator = candidates.iterator();
+            while (iterator.hasNext()) {
+                JobDefinition job = iterator.next();
+                if (job.areDependenciesSatisfied(jobs, finishedJobs.keySet()) && reserveMemory(job)) {
+                    iterator.remove();
+                    return job;
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reserve the memory of the given job, if it fits in what is left of the
+     * total memory. A job that needs more than the total memory is only
+     * started when no other job is running
+     *
+     * @return whether the memory was reserved
+     */
+    private boolean reserveMemory(JobDefinition job) {
+        synchronized (memoryLock) {
+            if (!fits(job)) {
+                return false;
+            }
+            memoryInUseMB += job.memoryInMB;
+            return true;
+        }
+    }
+
+    private boolean fits(JobDefinition job) {
+        assert Thread.holdsLock(memoryLock);
+        return memoryInUseMB == 0 || memoryInUseMB + job.memoryInMB <= configuration.totalMemoryInMB;
+    }
+
+    private void releaseMemory(JobDefinition job) {
+        synchronized (memoryLock) {
+            memoryInUseMB -= job.memoryInMB;
+            memoryLock.notifyAll();
+        }
+    }
+
+    private void waitForReleasedMemory(JobDefinition job, long timeoutInMs) throws InterruptedException {
+        synchronized (memoryLock) {
+            if (!fits(job)) {
+                memoryLock.wait(timeoutInMs);
+            }
+        }
+    }
+
     public void doneWithJob(JobDefinition job) {
+        releaseMemory(job);
         finishedJobs.put(job.cut, job);
         latch.countDown();
         LoggingUtils.getEvoLogger().info("Completed job. Left: " + latch.getCount());
@@ -319,6 +423,16 @@ public class JobExecutor {
         return projectClassPath;
     }
 
+    /**
+     * @return path of a file containing the project classpath
+     */
+    public synchronized String getProjectClassPathFile() {
+        if (projectClassPathFile == null || !new File(projectClassPathFile).exists()) {
+            projectClassPathFile = ClassPathHandler.writeClasspathToFile(projectClassPath);
+        }
+        return projectClassPathFile;
+    }
+
     public StorageManager getStorage() {
         return storage;
     }
@@ -21,7 +21,6 @@ package org.evosuite.continuous.job;
 
 import org.evosuite.Properties;
 import org.evosuite.Properties.StoppingCondition;
-import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.continuous.persistency.StorageManager;
 import org.evosuite.coverage.CoverageCriteriaAnalyzer;
 import org.evosuite.runtime.util.JarPathing;
@@ -278,8 +277,7 @@ public class JobHandler extends Thread {
         //commands.add("-projectCP");
         //commands.add(executor.getProjectClassPath()); might be too long and fail on Windows
 
-        String classpath = ClassPathHandler.writeClasspathToFile(executor.getProjectClassPath());
-        commands.add("-DCP_file_path=" + classpath);
+        commands.add("-DCP_file_path=" + executor.getProjectClassPathFile());
 
         //needs to be called twice, after the Java command
         if (Properties.LOG_LEVEL != null && !Properties.LOG_LEVEL.isEmpty()) {
@@ -310,6 +308,15 @@ public class JobHandler extends Thread {
 
         commands.addAll(getPoolInfo(job));
 
+        /*
+         * Most of the dependencies of a CUT are shared with other CUTs. With a
+         * cache, only the first job needs to instrument them
+         */
+        String instrumentationCache = getInstrumentationCacheDir();
+        if (instrumentationCache != null) {
+            commands.add("-Dinstrumentation_cache_dir=" + instrumentationCache);
+        }
+
         //TODO not just input pool, but also hierarchy
 
         commands.addAll(timeSetUp(job.seconds));
@@ -389,6 +396,17 @@ public class JobHandler extends Thread {
         return commands;
     }
 
+    private String getInstrumentationCacheDir() {
+        if (Properties.INSTRUMENTATION_CACHE_DIR != null && !Properties.INSTRUMENTATION_CACHE_DIR.isEmpty()) {
+            return Properties.INSTRUMENTATION_CACHE_DIR;
+        }
+        File folder = StorageManager.getInstrumentationCacheFolder();
+        if (folder == null) {
+            return null;
+        }
+        return folder.getAbsolutePath();
+    }
+
     private List<String> getPoolInfo(JobDefinition job) {
 
         List<String> commands = new ArrayList<>();
@@ -96,7 +96,7 @@ public class BudgetSchedule extends OneTimeSchedule {
             }
 
             JobDefinition job = new JobDefinition(
-                    budget, scheduler.getConfiguration().getConstantMemoryPerJob(), info.getClassName(), 0, null, null);
+                    budget, getMemoryInMB(info), info.getClassName(), 0, null, null);
             jobs.add(job);
 
         }
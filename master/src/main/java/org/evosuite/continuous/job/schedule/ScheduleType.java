@@ -19,6 +19,8 @@
  */
 package org.evosuite.continuous.job.schedule;
 
+import org.evosuite.Properties;
+import org.evosuite.continuous.CtgConfiguration;
 import org.evosuite.continuous.job.JobDefinition;
 import org.evosuite.continuous.job.JobScheduler;
 import org.evosuite.continuous.project.ProjectStaticData;
@@ -56,11 +58,61 @@ public abstract class ScheduleType {
 
     protected final JobScheduler scheduler;
 
+    /**
+     * Highest number of branches of a CUT of the project, or -1 if not computed yet
+     */
+    private int maxBranches = -1;
+
     protected ScheduleType(JobScheduler scheduler) {
         this.scheduler = scheduler;
     }
 
 
+    /**
+     * Memory for the job of the given CUT.
+     *
+     * <p>
+     * Unless {@link Properties#CTG_VARIABLE_MEMORY} is set, all jobs get the same
+     * share of the total memory. Otherwise, the memory grows linearly with the
+     * number of branches of the CUT, from the minimum per job up to twice the
+     * constant share (but never more than the total). The executor only runs
+     * jobs in parallel as long as their memory fits in the total
+     *
+     * @param info the CUT
+     * @return memory in MB
+     */
+    protected int getMemoryInMB(ClassInfo info) {
+        CtgConfiguration conf = scheduler.getConfiguration();
+        int constant = conf.getConstantMemoryPerJob();
+        if (!Properties.CTG_VARIABLE_MEMORY) {
+            return constant;
+        }
+
+        int maxBranches = getMaxNumberOfBranches();
+        if (maxBranches == 0) {
+            return constant;
+        }
+
+        int min = Math.min(conf.getMinimumMemoryPerJob(), constant);
+        int max = Math.min(2 * constant, conf.totalMemoryInMB);
+        return min + (int) ((long) (max - min) * info.numberOfBranches / maxBranches);
+    }
+
+    /**
+     * The project data does not change while a schedule is created, so the
+     * CUTs are only scanned once rather than for each job
+     */
+    private int getMaxNumberOfBranches() {
+        if (maxBranches < 0) {
+            int max = 0;
+            for (ClassInfo info : scheduler.getProjectData().getClassInfos()) {
+                max = Math.max(max, info.numberOfBranches);
+            }
+            maxBranches = max;
+        }
+        return maxBranches;
+    }
+
     protected boolean enoughBudgetForAll() {
         int totalBudget = 60 * scheduler.getConfiguration().timeInMinutes * scheduler.getConfiguration().getNumberOfUsableCores();
         int maximumNumberOfJobs = totalBudget / (60 * scheduler.getConfiguration().minMinutesPerJob);
@@ -122,6 +122,13 @@ public class StorageManager {
             }
         }
 
+        File instrumentationFolder = getInstrumentationCacheFolder();
+        if (instrumentationFolder != null && !instrumentationFolder.exists()) {
+            if (!instrumentationFolder.mkdirs()) {
+                logger.error("Failed to mkdir " + instrumentationFolder.getAbsolutePath());
+            }
+        }
+
         return true;
     }
 
@@ -138,10 +145,35 @@ public class StorageManager {
                 File.separator + Properties.CTG_BESTS_DIR_NAME);
     }
 
+    /**
+     * Check whether a best test suite for the given CUT has been stored in any
+     * of the previous CTG runs
+     *
+     * @param cut full qualifying name of the class under test
+     * @return
+     */
+    public static boolean hasBestTest(String cut) {
+        String path = (cut + Properties.JUNIT_SUFFIX).replace(".", File.separator) + ".java";
+        return new File(getBestTestFolder() + File.separator + path).exists();
+    }
+
     public static File getSeedInFolder() {
         return new File(new File(Properties.CTG_DIR), "evosuite-" + Properties.CTG_SEEDS_DIR_NAME);
     }
 
+    /**
+     * Folder where the instrumented classes are cached across jobs and CTG runs
+     *
+     * @return {@code null} if the instrumented classes should not be cached
+     */
+    public static File getInstrumentationCacheFolder() {
+        if (Properties.CTG_INSTRUMENTATION_CACHE_DIR_NAME == null
+                || Properties.CTG_INSTRUMENTATION_CACHE_DIR_NAME.isEmpty()) {
+            return null;
+        }
+        return new File(new File(Properties.CTG_DIR), "evosuite-" + Properties.CTG_INSTRUMENTATION_CACHE_DIR_NAME);
+    }
+
     /**
      * Create a new tmp folder for this CTG session
      *
@@ -0,0 +1,352 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.project;
+
+import org.apache.commons.io.IOUtils;
+import org.evosuite.Properties;
+import org.evosuite.utils.CacheUtil;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.commons.ClassRemapper;
+import org.objectweb.asm.commons.Remapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * <p>
+ * Hashes of the bytecode of the classes in the project, used by the incremental
+ * CTG mode (see {@link Properties#CTG_INCREMENTAL}) to detect which CUTs changed
+ * since the last CTG run.
+ * </p>
+ *
+ * <p>
+ * The hash of a CUT covers its own bytecode, the bytecode of all the classes
+ * of the project it transitively depends on (including its inner and anonymous
+ * classes), and the libraries on the classpath. Tests of a CUT whose hash did
+ * not change would not be any different, so there is no need to generate them
+ * again. Furthermore, as long as the bytecode of a class itself does not change,
+ * its static analysis (e.g., number of branches) can be reused.
+ * </p>
+ *
+ * <p>
+ * A new hash is only stored once tests were successfully generated for the CUT,
+ * so that CUTs for which CTG failed are tried again in the next run.
+ * </p>
+ */
+public class ClassHashes {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassHashes.class);
+
+    private static final String FILE_NAME = "class_hashes.csv";
+
+    private static final String SEPARATOR = ",";
+
+    /**
+     * What is stored for each class
+     */
+    public static class Entry {
+
+        public final String bytecodeHash;
+
+        /**
+         * Hash including all the dependencies, or empty if no tests were
+         * generated for this version of the class yet
+         */
+        public final String hash;
+
+        public final int numberOfBranches;
+
+        public final boolean hasCode;
+
+        public Entry(String bytecodeHash, String hash, int numberOfBranches, boolean hasCode) {
+            this.bytecodeHash = bytecodeHash;
+            this.hash = hash;
+            this.numberOfBranches = numberOfBranches;
+            this.hasCode = hasCode;
+        }
+    }
+
+    /**
+     * Entries of the previous CTG run
+     */
+    private final Map<String, Entry> previous;
+
+    /**
+     * Entries of this CTG run, for all the analyzed classes
+     */
+    private final Map<String, Entry> current = new LinkedHashMap<>();
+
+    /**
+     * Outer classes of the project. Dependencies on any other class are only
+     * covered by the hash of the classpath
+     */
+    private final Set<String> projectClasses;
+
+    private final ClassLoader loader;
+
+    private final String classpathHash;
+
+    private final Map<String, String> bytecodeHashes = new LinkedHashMap<>();
+
+    private final Map<String, Set<String>> dependencies = new LinkedHashMap<>();
+
+    private final Map<String, String> hashes = new LinkedHashMap<>();
+
+    public ClassHashes(Collection<String> projectClasses, ClassLoader loader, String classpath) {
+        this.projectClasses = new LinkedHashSet<>(projectClasses);
+        this.loader = loader;
+        this.classpathHash = hashClasspath(classpath);
+        this.previous = load();
+    }
+
+    private static File getFile() {
+        return new File(Properties.CTG_DIR + File.separator + FILE_NAME);
+    }
+
+    private static Map<String, Entry> load() {
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        File file = getFile();
+        if (!file.exists()) {
+            return entries;
+        }
+
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String stamp = in.readLine();
+            if (stamp == null || !stamp.equals(CacheUtil.getBuildStamp())) {
+                //a different version of EvoSuite might analyze and test classes differently
+                logger.info("Class hashes were computed by a different version of EvoSuite");
+                return entries;
+            }
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] tokens = line.split(SEPARATOR, -1);
+                if (tokens.length != 5) {
+                    logger.warn("Invalid line in " + file + ": " + line);
+                    continue;
+                }
+                entries.put(tokens[0], new Entry(tokens[1], tokens[2], Integer.parseInt(tokens[3]),
+                        Boolean.parseBoolean(tokens[4])));
+            }
+        } catch (IOException | NumberFormatException e) {
+            logger.warn("Failed to read " + file + ": " + e.getMessage());
+            entries.clear();
+        }
+        return entries;
+    }
+
+    /**
+     * Return the analysis of the given class from the previous run, if its
+     * bytecode did not change since then
+     *
+     * @param className
+     * @return {@code null} if the class needs to be analyzed again
+     */
+    public Entry getUnchangedAnalysis(String className) {
+        Entry entry = previous.get(className);
+        String bytecodeHash = getBytecodeHash(className);
+        if (entry == null || bytecodeHash == null || !entry.bytecodeHash.equals(bytecodeHash)) {
+            return null;
+        }
+        return entry;
+    }
+
+    /**
+     * Check whether the given class or any class it depends on changed since
+     * tests were last generated for it
+     *
+     * @param className
+     * @return
+     */
+    public boolean hasChanged(String className) {
+        Entry entry = previous.get(className);
+        String hash = getHash(className);
+        return entry == null || hash == null || !entry.hash.equals(hash);
+    }
+
+    /**
+     * Keep track of the analysis of the given class in this run
+     *
+     * @param className
+     * @param numberOfBranches
+     * @param hasCode
+     */
+    public void addAnalysis(String className, int numberOfBranches, boolean hasCode) {
+        String bytecodeHash = getBytecodeHash(className);
+        if (bytecodeHash == null) {
+            return;
+        }
+        Entry entry = previous.get(className);
+        String hash = entry != null && !hasChanged(className) ? entry.hash : "";
+        current.put(className, new Entry(bytecodeHash, hash, numberOfBranches, hasCode));
+    }
+
+    /**
+     * Store the hashes of this run
+     *
+     * @param upToDate the classes whose tests are up to date with their current version
+     */
+    public void commit(Set<String> upToDate) {
+        File file = getFile();
+        try (BufferedWriter out = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+            out.write(CacheUtil.getBuildStamp());
+            out.newLine();
+            for (Map.Entry<String, Entry> e : current.entrySet()) {
+                String className = e.getKey();
+                Entry entry = e.getValue();
+                String hash = entry.hash;
+                if (upToDate.contains(className)) {
+                    hash = getHash(className);
+                }
+                out.write(String.join(SEPARATOR, className, entry.bytecodeHash, hash == null ? "" : hash,
+                        "" + entry.numberOfBranches, "" + entry.hasCode));
+                out.newLine();
+            }
+        } catch (IOException e) {
+            logger.error("Failed to write " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @param className
+     * @return {@code null} if the bytecode of the class cannot be read
+     */
+    public String getBytecodeHash(String className) {
+        if (!bytecodeHashes.containsKey(className)) {
+            byte[] bytes = readBytecode(className);
+            bytecodeHashes.put(className, bytes == null ? null : CacheUtil.hash(bytes));
+            dependencies.put(className, bytes == null ? new LinkedHashSet<>() : getReferencedClasses(bytes));
+        }
+        return bytecodeHashes.get(className);
+    }
+
+    /**
+     * @param className
+     * @return hash of the class, all the project classes it transitively depends on, and the classpath
+     */
+    public String getHash(String className) {
+        if (hashes.containsKey(className)) {
+            return hashes.get(className);
+        }
+
+        /*
+         * sorted, so that the hash does not depend on the order in which
+         * dependencies are found
+         */
+        Set<String> closure = new TreeSet<>();
+        Deque<String> toVisit = new ArrayDeque<>();
+        toVisit.push(className);
+        while (!toVisit.isEmpty()) {
+            String name = toVisit.pop();
+            if (!closure.add(name)) {
+                continue;
+            }
+            if (getBytecodeHash(name) == null) {
+                if (name.equals(className)) {
+                    hashes.put(className, null);
+                    return null;
+                }
+                continue;
+            }
+            for (String dependency : dependencies.get(name)) {
+                if (isProjectClass(dependency) && !closure.contains(dependency)) {
+                    toVisit.push(dependency);
+                }
+            }
+        }
+
+        StringBuilder sb = new StringBuilder(classpathHash);
+        for (String name : closure) {
+            sb.append(SEPARATOR).append(name).append('=').append(getBytecodeHash(name));
+        }
+        String hash = CacheUtil.hash(sb.toString());
+        hashes.put(className, hash);
+        return hash;
+    }
+
+    private boolean isProjectClass(String className) {
+        int inner = className.indexOf('$');
+        String outer = inner < 0 ? className : className.substring(0, inner);
+        return projectClasses.contains(outer);
+    }
+
+    private byte[] readBytecode(String className) {
+        String resource = className.replace('.', '/') + ".class";
+        try (InputStream in = loader.getResourceAsStream(resource)) {
+            if (in == null) {
+                return null;
+            }
+            return IOUtils.toByteArray(in);
+        } catch (IOException e) {
+            logger.warn("Failed to read bytecode of " + className + ": " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static Set<String> getReferencedClasses(byte[] bytes) {
+        Set<String> referenced = new LinkedHashSet<>();
+        Remapper collector = new Remapper() {
+            @Override
+            public String map(String internalName) {
+                referenced.add(internalName.replace('/', '.'));
+                return internalName;
+            }
+        };
+        try {
+            new ClassReader(bytes).accept(new ClassRemapper(new ClassWriter(0), collector), ClassReader.SKIP_FRAMES);
+        } catch (RuntimeException e) {
+            logger.warn("Failed to collect dependencies: " + e.getMessage());
+        }
+        return referenced;
+    }
+
+    /**
+     * Libraries are not hashed class by class. Rather, any change in the names
+     * or sizes of the jar files on the classpath counts as a change of all
+     * classes
+     */
+    private static String hashClasspath(String classpath) {
+        StringBuilder sb = new StringBuilder();
+        if (classpath != null) {
+            for (String element : classpath.split(File.pathSeparator)) {
+                File file = new File(element);
+                if (file.isFile()) {
+                    sb.append(file.getName()).append(':').append(file.length()).append(';');
+                }
+            }
+        }
+        return CacheUtil.hash(sb.toString());
+    }
+}
@@ -26,6 +26,7 @@ import org.evosuite.classpath.ClassPathHacker;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.classpath.ResourceList;
 import org.evosuite.continuous.job.schedule.HistorySchedule;
+import org.evosuite.continuous.persistency.StorageManager;
 import org.evosuite.continuous.project.ProjectStaticData.ClassInfo;
 import org.evosuite.coverage.branch.BranchPool;
 import org.evosuite.instrumentation.InstrumentingClassLoader;
@@ -193,11 +194,33 @@ public class ProjectAnalyzer {
             data.initializeLocalHistory();
         }
 
-        for (String className : getCutsToAnalyze()) {
+        Collection<String> cuts = getCutsToAnalyze();
+
+        ClassHashes hashes = null;
+        if (Properties.CTG_INCREMENTAL) {
+            hashes = new ClassHashes(cuts, ClassPathHacker.getContinuousClassLoader(),
+                    ClassPathHandler.getInstance().getTargetProjectClasspath());
+            data.setClassHashes(hashes);
+        }
+
+        for (String className : cuts) {
             Class<?> theClass = null;
             int numberOfBranches = -1;
             boolean hasCode = false;
 
+            ClassHashes.Entry previous = hashes == null ? null : hashes.getUnchangedAnalysis(className);
+            if (previous != null) {
+                //same bytecode as in the previous run, so no need to instrument it again
+                try {
+                    theClass = ClassPathHacker.getContinuousClassLoader().loadClass(className);
+                } catch (Exception e) {
+                    logger.warn("Cannot handle " + className + " due to: " + e.getClass() + " " + e.getMessage());
+                    continue;
+                }
+                addClass(data, new ClassInfo(theClass, previous.numberOfBranches, previous.hasCode), hashes);
+                continue;
+            }
+
             Properties.TARGET_CLASS = className;
             InstrumentingClassLoader instrumenting = new InstrumentingClassLoader();
 
@@ -235,16 +258,34 @@ public class ProjectAnalyzer {
                 Properties.TARGET_CLASS = "";
             }
 
-            ClassInfo ci = new ClassInfo(theClass, numberOfBranches, hasCode);
-            data.addNewClass(ci);
-
-            if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY) {
-                ci.setChanged(data.hasChanged(theClass.getCanonicalName() + ".java"));
-                ci.isToTest(data.isToTest(theClass.getCanonicalName(), HistorySchedule.COMMIT_IMPROVEMENT));
-            }
+            addClass(data, new ClassInfo(theClass, numberOfBranches, hasCode), hashes);
         }
 
         return data;
     }
+
+    private void addClass(ProjectStaticData data, ClassInfo ci, ClassHashes hashes) {
+        data.addNewClass(ci);
+        Class<?> theClass = ci.theClass;
+
+        if (Properties.CTG_SCHEDULE == AvailableSchedule.HISTORY) {
+            ci.setChanged(data.hasChanged(theClass.getCanonicalName() + ".java"));
+            ci.isToTest(data.isToTest(theClass.getCanonicalName(), HistorySchedule.COMMIT_IMPROVEMENT));
+        }
+
+        if (hashes != null) {
+            hashes.addAnalysis(ci.getClassName(), ci.numberOfBranches, ci.hasCode);
+            if (!hashes.hasChanged(ci.getClassName()) && StorageManager.hasBestTest(ci.getClassName())) {
+                /*
+                 * neither the CUT nor anything it depends on changed, so there
+                 * is no point in generating tests again
+                 */
+                ci.setChanged(false);
+                ci.isToTest(false);
+            } else {
+                ci.setChanged(true);
+            }
+        }
+    }
 }
 
@@ -74,6 +74,11 @@ public class ProjectStaticData {
 
     private ProjectGraph graph = null;
 
+    /**
+     * Only used in incremental mode, otherwise {@code null}
+     */
+    private ClassHashes classHashes = null;
+
 
     public ProjectStaticData() {
         classes = new ConcurrentHashMap<>();
@@ -373,6 +378,41 @@ public class ProjectStaticData {
         return false;
     }
 
+    protected void setClassHashes(ClassHashes classHashes) {
+        this.classHashes = classHashes;
+    }
+
+    public ClassHashes getClassHashes() {
+        return classHashes;
+    }
+
+    /**
+     * Return the data of the classes for which we still need to generate tests,
+     * ie in incremental mode (see {@link Properties#CTG_INCREMENTAL}) excluding
+     * the ones that neither changed nor are worth testing again
+     *
+     * @return this object if all classes need to be tested
+     */
+    public ProjectStaticData getClassesToTest() {
+        if (!Properties.CTG_INCREMENTAL) {
+            return this;
+        }
+        boolean all = classes.values().stream().allMatch(info -> info.hasChanged() || info.isToTest());
+        if (all) {
+            return this;
+        }
+        ProjectStaticData subset = new ProjectStaticData();
+        subset.modifiedFiles.addAll(modifiedFiles);
+        subset.project = project;
+        subset.classHashes = classHashes;
+        for (ClassInfo info : classes.values()) {
+            if (info.hasChanged() || info.isToTest()) {
+                subset.addNewClass(info);
+            }
+        }
+        return subset;
+    }
+
     /**
      * Return a read-only view of the current project CUT graph
      *
@@ -191,18 +191,58 @@ public class MasterNodeImpl implements MasterNodeRemote, MasterNodeLocal {
     @Override
     public void evosuite_migrate(String clientRmiIdentifier, Set<? extends Chromosome<?>> migrants)
             throws RemoteException {
-        //implements ring topology
         int idSender = Integer.parseInt(clientRmiIdentifier.replaceAll("[^0-9]", ""));
-        int idNeighbour = (idSender + 1) % Properties.NUM_PARALLEL_CLIENTS;
 
-        while (!ClientState.SEARCH.equals(clientStates.get("ClientNode" + idNeighbour)) && idNeighbour != idSender) {
-            idNeighbour = (idNeighbour + 1) % Properties.NUM_PARALLEL_CLIENTS;
+        for (int idNeighbour : getMigrationTargets(idSender)) {
+            ClientNodeRemote node = clients.get(ClientProcess.CLIENT_PREFIX + idNeighbour);
+            node.immigrate(migrants);
         }
+    }
 
-        if (idNeighbour != idSender) {
-            ClientNodeRemote node = clients.get("ClientNode" + idNeighbour);
-            node.immigrate(migrants);
+    /**
+     * Determines the clients that receive the migrants of a client, according to
+     * {@link Properties#MIGRANTS_TOPOLOGY}. Only clients that are still searching are considered.
+     *
+     * @param idSender the number of the sending client
+     * @return the numbers of the receiving clients
+     */
+    List<Integer> getMigrationTargets(int idSender) {
+        List<Integer> targets = new ArrayList<>();
+        int numClients = Properties.NUM_PARALLEL_CLIENTS;
+
+        switch (Properties.MIGRANTS_TOPOLOGY) {
+            case RING:
+                int idNeighbour = (idSender + 1) % numClients;
+                while (!isSearching(idNeighbour) && idNeighbour != idSender) {
+                    idNeighbour = (idNeighbour + 1) % numClients;
+                }
+                if (idNeighbour != idSender) {
+                    targets.add(idNeighbour);
+                }
+                break;
+            case STAR:
+                if (idSender != 0) {
+                    if (isSearching(0)) {
+                        targets.add(0);
+                    }
+                    break;
+                }
+                // the hub sends to everybody else
+            case ALL_TO_ALL:
+                for (int id = 0; id < numClients; id++) {
+                    if (id != idSender && isSearching(id)) {
+                        targets.add(id);
+                    }
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown migration topology: " + Properties.MIGRANTS_TOPOLOGY);
         }
+        return targets;
+    }
+
+    private boolean isSearching(int clientId) {
+        return ClientState.SEARCH.equals(clientStates.get(ClientProcess.CLIENT_PREFIX + clientId));
     }
 
     @Override
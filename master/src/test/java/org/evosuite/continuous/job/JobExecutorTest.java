@@ -0,0 +1,107 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.job;
+
+import org.evosuite.Properties;
+import org.evosuite.Properties.AvailableSchedule;
+import org.evosuite.continuous.CtgConfiguration;
+import org.evosuite.continuous.persistency.StorageManager;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertSame;
+
+public class JobExecutorTest {
+
+    private StorageManager storage;
+
+    @Before
+    public void init() {
+        Properties.CTG_DIR = ".tmp_for_testing_" + JobExecutorTest.class.getName();
+        storage = new StorageManager();
+    }
+
+    @After
+    public void tearDown() {
+        storage.clean();
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private Thread execute(JobExecutor executor, List<JobDefinition> jobs) {
+        executor.initExecution(jobs);
+        Thread thread = new Thread(() -> executor.execute(jobs));
+        thread.start();
+        return thread;
+    }
+
+    @Test(timeout = 10_000)
+    public void testJobsAreExecutedInOrder() throws InterruptedException {
+        CtgConfiguration conf = new CtgConfiguration(1000, 2, 1, 1, false, AvailableSchedule.SIMPLE);
+        JobExecutor executor = new JobExecutor(storage, "", conf);
+
+        JobDefinition first = new JobDefinition(30, 500, "First", 0, null, null);
+        JobDefinition second = new JobDefinition(30, 500, "Second", 0, null, null);
+        JobDefinition third = new JobDefinition(30, 500, "Third", 0, null, null);
+        Thread thread = execute(executor, Arrays.asList(first, second, third));
+
+        assertSame(first, executor.pollJob());
+        assertSame(second, executor.pollJob());
+        executor.doneWithJob(first);
+        assertSame(third, executor.pollJob());
+        thread.join();
+    }
+
+    @Test(timeout = 10_000)
+    public void testBackfillingWhenNotEnoughMemory() throws InterruptedException {
+        CtgConfiguration conf = new CtgConfiguration(1000, 2, 1, 1, false, AvailableSchedule.SIMPLE);
+        JobExecutor executor = new JobExecutor(storage, "", conf);
+
+        JobDefinition large = new JobDefinition(30, 600, "Large", 0, null, null);
+        JobDefinition second = new JobDefinition(30, 600, "Second", 0, null, null);
+        JobDefinition small = new JobDefinition(30, 400, "Small", 0, null, null);
+        Thread thread = execute(executor, Arrays.asList(large, second, small));
+
+        assertSame(large, executor.pollJob());
+        //the second job does not fit while the first is running, but the small one does
+        assertSame(small, executor.pollJob());
+        executor.doneWithJob(large);
+        assertSame(second, executor.pollJob());
+        thread.join();
+    }
+
+    @Test(timeout = 10_000)
+    public void testJobLargerThanTotalMemoryRunsAlone() throws InterruptedException {
+        CtgConfiguration conf = new CtgConfiguration(1000, 2, 1, 1, false, AvailableSchedule.SIMPLE);
+        JobExecutor executor = new JobExecutor(storage, "", conf);
+
+        JobDefinition small = new JobDefinition(30, 500, "Small", 0, null, null);
+        JobDefinition huge = new JobDefinition(30, 1500, "Huge", 0, null, null);
+        Thread thread = execute(executor, Arrays.asList(small, huge));
+
+        assertSame(small, executor.pollJob());
+        executor.doneWithJob(small);
+        assertSame(huge, executor.pollJob());
+        thread.join();
+    }
+}
@@ -22,6 +22,7 @@ package org.evosuite.continuous.job;
 import java.util.List;
 import java.util.Set;
 
+import org.evosuite.Properties;
 import org.evosuite.classpath.ClassPathHandler;
 import org.evosuite.continuous.CtgConfiguration;
 import org.evosuite.Properties.AvailableSchedule;
@@ -315,4 +316,40 @@ public class JobSchedulerTest {
     }
 
 
+
+    @Test
+    public void testVariableMemory() {
+
+        String[] cuts = new String[]{
+                NoBranches.class.getName(),
+                SomeBranches.class.getName(),
+                MoreBranches.class.getName()};
+
+        ProjectAnalyzer analyzer = new ProjectAnalyzer(cuts);
+        ProjectStaticData data = analyzer.analyze();
+
+        int cores = 2;
+        int memory = 2000;
+        int budget = 2;
+
+        CtgConfiguration conf = new CtgConfiguration(memory, cores, budget, 1, false, AvailableSchedule.BUDGET);
+
+        List<JobDefinition> jobs;
+        Properties.CTG_VARIABLE_MEMORY = true;
+        try {
+            jobs = new JobScheduler(data, conf).createNewSchedule();
+        } finally {
+            Properties.CTG_VARIABLE_MEMORY = false;
+        }
+        Assert.assertEquals(3, jobs.size());
+
+        Assert.assertEquals(MoreBranches.class.getName(), jobs.get(0).cut);
+        Assert.assertEquals(SomeBranches.class.getName(), jobs.get(1).cut);
+        Assert.assertEquals(NoBranches.class.getName(), jobs.get(2).cut);
+
+        Assert.assertEquals(memory, jobs.get(0).memoryInMB);
+        Assert.assertTrue(jobs.get(0).memoryInMB > jobs.get(1).memoryInMB);
+        Assert.assertTrue(jobs.get(1).memoryInMB > jobs.get(2).memoryInMB);
+        Assert.assertEquals(conf.getMinimumMemoryPerJob(), jobs.get(2).memoryInMB);
+    }
 }
@@ -0,0 +1,114 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.continuous.project;
+
+import com.examples.with.different.packagename.continuous.ExtendingNoBranches;
+import com.examples.with.different.packagename.continuous.NoBranches;
+import com.examples.with.different.packagename.continuous.Simple;
+import org.apache.commons.io.FileUtils;
+import org.evosuite.Properties;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ClassHashesTest {
+
+    private final List<String> projectClasses = Arrays.asList(
+            NoBranches.class.getName(), ExtendingNoBranches.class.getName(), Simple.class.getName());
+
+    @Before
+    public void init() {
+        Properties.CTG_DIR = ".tmp_for_testing_" + ClassHashesTest.class.getName();
+        new File(Properties.CTG_DIR).mkdirs();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(new File(Properties.CTG_DIR));
+        Properties.getInstance().resetToDefaults();
+    }
+
+    private ClassHashes newHashes() {
+        return new ClassHashes(projectClasses, ClassHashesTest.class.getClassLoader(), "");
+    }
+
+    @Test
+    public void testUnchangedAfterCommit() {
+        String cut = Simple.class.getName();
+        ClassHashes hashes = newHashes();
+        assertTrue(hashes.hasChanged(cut));
+        assertNull(hashes.getUnchangedAnalysis(cut));
+        hashes.addAnalysis(cut, 4, true);
+        hashes.commit(Collections.singleton(cut));
+
+        hashes = newHashes();
+        assertFalse(hashes.hasChanged(cut));
+        ClassHashes.Entry entry = hashes.getUnchangedAnalysis(cut);
+        assertNotNull(entry);
+        assertEquals(4, entry.numberOfBranches);
+        assertTrue(entry.hasCode);
+    }
+
+    @Test
+    public void testNotUpToDateWithoutGeneratedTests() {
+        String cut = Simple.class.getName();
+        ClassHashes hashes = newHashes();
+        hashes.addAnalysis(cut, 4, true);
+        hashes.commit(Collections.emptySet());
+
+        hashes = newHashes();
+        //the analysis can be reused, but tests still need to be generated
+        assertNotNull(hashes.getUnchangedAnalysis(cut));
+        assertTrue(hashes.hasChanged(cut));
+    }
+
+    @Test
+    public void testHashIncludesDependencies() {
+        ClassHashes hashes = newHashes();
+        String base = NoBranches.class.getName();
+        String extending = ExtendingNoBranches.class.getName();
+        assertNotEquals(hashes.getBytecodeHash(extending), hashes.getHash(extending));
+
+        //without the super class in the project, its bytecode does not matter
+        ClassHashes withoutBase = new ClassHashes(Collections.singletonList(extending),
+                ClassHashesTest.class.getClassLoader(), "");
+        assertNotEquals(hashes.getHash(extending), withoutBase.getHash(extending));
+        assertEquals(hashes.getHash(base), newHashes().getHash(base));
+    }
+
+    @Test
+    public void testUnknownClass() {
+        ClassHashes hashes = newHashes();
+        assertNull(hashes.getBytecodeHash("foo.DoesNotExist"));
+        assertTrue(hashes.hasChanged("foo.DoesNotExist"));
+    }
+}
@@ -19,11 +19,13 @@
  */
 package org.evosuite.continuous.project;
 
+import org.evosuite.Properties;
 import org.evosuite.xsd.CUT;
 import org.evosuite.xsd.Generation;
 import org.evosuite.xsd.Project;
 import org.evosuite.xsd.TestSuite;
 import org.evosuite.xsd.XSDUtils;
+import org.junit.After;
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -32,6 +34,11 @@ import org.junit.Test;
  */
 public class ProjectStaticDataTest {
 
+    @After
+    public void resetProperties() {
+        Properties.CTG_INCREMENTAL = false;
+    }
+
     @Test
     public void testIsToTest_NoData() {
 
@@ -221,4 +228,23 @@ public class ProjectStaticDataTest {
         // coverage has improved
         Assert.assertTrue(data.isToTest("foo.Bar", 3));
     }
+
+    @Test
+    public void testClassesToTest() {
+        ProjectStaticData data = new ProjectStaticData();
+        ProjectStaticData.ClassInfo changed = new ProjectStaticData.ClassInfo(String.class, 1, true);
+        ProjectStaticData.ClassInfo unchanged = new ProjectStaticData.ClassInfo(Integer.class, 1, true);
+        unchanged.setChanged(false);
+        unchanged.isToTest(false);
+        data.addNewClass(changed);
+        data.addNewClass(unchanged);
+
+        // only in incremental mode the unchanged classes are skipped
+        Assert.assertSame(data, data.getClassesToTest());
+
+        Properties.CTG_INCREMENTAL = true;
+        ProjectStaticData toTest = data.getClassesToTest();
+        Assert.assertTrue(toTest.containsClass(String.class.getName()));
+        Assert.assertFalse(toTest.containsClass(Integer.class.getName()));
+    }
 }
@@ -0,0 +1,139 @@
+/*
+ * Copyright (C) 2010-2018 Gordon Fraser, Andrea Arcuri and EvoSuite
+ * contributors
+ *
+ * This file is part of EvoSuite.
+ *
+ * EvoSuite is free software: you can redistribute it and/or modify it
+ * under the terms of the GNU Lesser General Public License as published
+ * by the Free Software Foundation, either version 3.0 of the License, or
+ * (at your option) any later version.
+ *
+ * EvoSuite is distributed in the hope that it will be useful, but
+ * WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the GNU
+ * Lesser Public License for more details.
+ *
+ * You should have received a copy of the GNU Lesser General Public
+ * License along with EvoSuite. If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.evosuite.rmi.service;
+
+import org.evosuite.ClientProcess;
+import org.evosuite.Properties;
+import org.evosuite.Properties.MigrationTopology;
+import org.evosuite.testcase.TestChromosome;
+import org.junit.After;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.rmi.registry.Registry;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+
+public class MasterNodeImplTest {
+
+    private ClientNodeRemote<?>[] nodes;
+
+    @After
+    public void tearDown() {
+        Properties.getInstance().resetToDefaults();
+    }
+
+    /**
+     * Creates a master with the given number of registered clients, all of which are searching
+     */
+    private MasterNodeImpl master(int numClients) throws Exception {
+        Properties.NUM_PARALLEL_CLIENTS = numClients;
+        Registry registry = Mockito.mock(Registry.class);
+        MasterNodeImpl master = new MasterNodeImpl(registry);
+        nodes = new ClientNodeRemote<?>[numClients];
+        for (int id = 0; id < numClients; id++) {
+            nodes[id] = Mockito.mock(ClientNodeRemote.class);
+            Mockito.when(registry.lookup(ClientProcess.CLIENT_PREFIX + id)).thenReturn(nodes[id]);
+            master.evosuite_registerClientNode(ClientProcess.CLIENT_PREFIX + id);
+            setState(master, id, ClientState.SEARCH);
+        }
+        return master;
+    }
+
+    private static void setState(MasterNodeImpl master, int id, ClientState state) throws Exception {
+        master.evosuite_informChangeOfStateInClient(ClientProcess.CLIENT_PREFIX + id, state,
+                new ClientStateInformation(state));
+    }
+
+    @Test
+    public void testRing() throws Exception {
+        Properties.MIGRANTS_TOPOLOGY = MigrationTopology.RING;
+        MasterNodeImpl master = master(4);
+
+        assertEquals(Collections.singletonList(1), master.getMigrationTargets(0));
+        assertEquals(Collections.singletonList(0), master.getMigrationTargets(3));
+
+        // clients that no longer search are skipped
+        setState(master, 1, ClientState.DONE);
+        setState(master, 2, ClientState.DONE);
+        assertEquals(Collections.singletonList(3), master.getMigrationTargets(0));
+        assertEquals(Collections.singletonList(0), master.getMigrationTargets(3));
+
+        setState(master, 3, ClientState.DONE);
+        assertEquals(Collections.emptyList(), master.getMigrationTargets(0));
+    }
+
+    @Test
+    public void testStar() throws Exception {
+        Properties.MIGRANTS_TOPOLOGY = MigrationTopology.STAR;
+        MasterNodeImpl master = master(4);
+
+        // the hub sends to all other clients, which only send to the hub
+        assertEquals(Arrays.asList(1, 2, 3), master.getMigrationTargets(0));
+        assertEquals(Collections.singletonList(0), master.getMigrationTargets(2));
+
+        setState(master, 2, ClientState.DONE);
+        assertEquals(Arrays.asList(1, 3), master.getMigrationTargets(0));
+
+        setState(master, 0, ClientState.DONE);
+        assertEquals(Collections.emptyList(), master.getMigrationTargets(1));
+    }
+
+    @Test
+    public void testAllToAll() throws Exception {
+        Properties.MIGRANTS_TOPOLOGY = MigrationTopology.ALL_TO_ALL;
+        MasterNodeImpl master = master(4);
+
+        assertEquals(Arrays.asList(0, 1, 3), master.getMigrationTargets(2));
+
+        setState(master, 0, ClientState.DONE);
+        assertEquals(Arrays.asList(1, 3), master.getMigrationTargets(2));
+    }
+
+    @Test
+    public void testSingleClient() throws Exception {
+        for (MigrationTopology topology : MigrationTopology.values()) {
+            Properties.MIGRANTS_TOPOLOGY = topology;
+            MasterNodeImpl master = master(1);
+            assertEquals(topology.toString(), Collections.emptyList(), master.getMigrationTargets(0));
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testMigrantsReachTargets() throws Exception {
+        Properties.MIGRANTS_TOPOLOGY = MigrationTopology.STAR;
+        MasterNodeImpl master = master(3);
+
+        Set<TestChromosome> migrants = Collections.singleton(new TestChromosome());
+        master.evosuite_migrate(ClientProcess.CLIENT_PREFIX + 0, migrants);
+
+        Mockito.verify((ClientNodeRemote<TestChromosome>) nodes[1]).immigrate(migrants);
+        Mockito.verify((ClientNodeRemote<TestChromosome>) nodes[2]).immigrate(migrants);
+        Mockito.verify(nodes[0], Mockito.never()).immigrate(Mockito.any());
+
+        master.evosuite_migrate(ClientProcess.CLIENT_PREFIX + 2, migrants);
+        Mockito.verify((ClientNodeRemote<TestChromosome>) nodes[0]).immigrate(migrants);
+        Mockito.verify((ClientNodeRemote<TestChromosome>) nodes[1]).immigrate(migrants);
+    }
+}
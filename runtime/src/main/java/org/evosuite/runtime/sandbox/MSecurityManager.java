@@ -49,6 +49,7 @@ import java.net.UnknownHostException;
 import java.security.*;
 import java.sql.SQLPermission;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.logging.FileHandler;
 import java.util.logging.LoggingPermission;
@@ -177,6 +178,28 @@ public class MSecurityManager extends SecurityManager {
      */
     private final Set<Permission> unrecognizedPermissions;
 
+    /**
+     * Permission types whose checks on SUT threads only depend on the name of the
+     * permission (they are all {@link BasicPermission}s, ie without actions), and
+     * not on the stack trace, the files, or whether a test case is executed.
+     * The only exception is "shutdownHooks", see {@link #isCacheable(Permission)}
+     */
+    private static final Set<Class<? extends Permission>> CACHEABLE_PERMISSIONS = new HashSet<>(Arrays.asList(
+            RuntimePermission.class, ReflectPermission.class, SecurityPermission.class,
+            LoggingPermission.class, NetPermission.class, SerializablePermission.class));
+
+    /**
+     * Upper bound on the number of cached decisions, as the SUT could ask for
+     * an unbounded number of different permission names
+     */
+    private static final int MAX_CACHED_DECISIONS = 10_000;
+
+    /**
+     * Decisions on permissions of the types in {@link #CACHEABLE_PERMISSIONS} asked
+     * by SUT threads. Those are the bulk of the checks, eg for reflection
+     */
+    private final Map<Permission, Boolean> decisions;
+
     /**
      * Create a custom security manager for the SUT. The thread that create this
      * instance is automatically added as "privileged"
@@ -188,6 +211,7 @@ public class MSecurityManager extends SecurityManager {
         executingTestCase = false;
         privilegedThreadToIgnore = null;
         unrecognizedPermissions = new CopyOnWriteArraySet<>();
+        decisions = new ConcurrentHashMap<>();
 
         filesToDelete = new CopyOnWriteArraySet<>();
     }
@@ -387,6 +411,24 @@ public class MSecurityManager extends SecurityManager {
         }
     }
 
+    /**
+     * Remove a thread from the list of privileged threads, e.g. once a thread
+     * added with {@link #addPrivilegedThread(Thread)} is no longer used.
+     *
+     * @param t
+     * @throws SecurityException if the thread calling this method is not privileged itself
+     */
+    public synchronized void removePrivilegedThread(Thread t) throws SecurityException {
+        if (privilegedThreads.contains(Thread.currentThread())) {
+            logger.debug("Removing privileged thread: \"" + t.getName() + "\"");
+            privilegedThreads.remove(t);
+        } else {
+            String current = Thread.currentThread().getName();
+            throw new SecurityException("Unprivileged thread \"" + current + "\" cannot remove privileged thread \""
+                    + t.getName() + "\"");
+        }
+    }
+
     // ------------------------------------------------------------------------------------------
 
     /*
@@ -420,10 +462,6 @@ public class MSecurityManager extends SecurityManager {
     public void checkPermission(Permission perm) throws SecurityException {
         // check access
         if (!allowPermission(perm)) {
-            String stack = "\n";
-            for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
-                stack += e + "\n";
-            }
             if (executingTestCase) {
                 /*
                  * report statistics only during test case execution, although still log them. The reason is to avoid EvoSuite threads which might not
@@ -431,9 +469,16 @@ public class MSecurityManager extends SecurityManager {
                  */
                 statistics.permissionDenied(perm);
             }
-            logger.debug("Security manager blocks permission " + perm + stack);
+            if (logger.isDebugEnabled()) {
+                //the stack trace is expensive to collect, and the exception has its own anyway
+                StringBuilder stack = new StringBuilder("\n");
+                for (StackTraceElement e : Thread.currentThread().getStackTrace()) {
+                    stack.append(e).append("\n");
+                }
+                logger.debug("Security manager blocks permission " + perm + stack);
+            }
 
-            throw new SecurityException("Security manager blocks " + perm + stack);
+            throw new SecurityException("Security manager blocks " + perm);
         } else {
             if (executingTestCase) {
                 statistics.permissionAllowed(perm);
@@ -551,6 +596,36 @@ public class MSecurityManager extends SecurityManager {
         // TODO: This makes JVM8 on MacOS crash
         //PermissionStatistics.getInstance().countThreads(Thread.currentThread().getThreadGroup().activeCount());
 
+        if (!isCacheable(perm)) {
+            return checkPermissionByType(perm);
+        }
+
+        Boolean allowed = decisions.get(perm);
+        if (allowed == null) {
+            allowed = checkPermissionByType(perm);
+            if (decisions.size() < MAX_CACHED_DECISIONS) {
+                decisions.put(perm, allowed);
+            }
+        }
+        return allowed;
+    }
+
+    private static boolean isCacheable(Permission perm) {
+        if (!CACHEABLE_PERMISSIONS.contains(perm.getClass())) {
+            return false;
+        }
+        //depends on the stack trace and on the mocking of the JVM non-determinism
+        return !(perm instanceof RuntimePermission && "shutdownHooks".equals(perm.getName().trim()));
+    }
+
+    /**
+     * Check the given permission, asked by a SUT thread, based on its type
+     *
+     * @param perm
+     * @return false if access is forbidden, true otherwise
+     */
+    private boolean checkPermissionByType(Permission perm) {
+
         if (perm instanceof FilePermission) {
             return checkFilePermission((FilePermission) perm);
         }
@@ -713,8 +788,10 @@ public class MSecurityManager extends SecurityManager {
         final String pattern = "sun.rmi.";
         boolean foundRMI = false;
 
+        StackTraceElement[] stack = Thread.currentThread().getStackTrace();
+
         //first check if there is any reference to RMI in the stack trace
-        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
+        for (StackTraceElement element : stack) {
             if (element.toString().startsWith(pattern)) {
                 foundRMI = true;
                 break;
@@ -729,7 +806,7 @@ public class MSecurityManager extends SecurityManager {
         boolean foundMasterNode = false;
 
         traceLoop:
-        for (StackTraceElement element : Thread.currentThread().getStackTrace()) {
+        for (StackTraceElement element : stack) {
             for (String masterNodeMethod : masterNodeRemoteMethodNames) {
                 if (element.toString().contains(masterNodeMethod)) {
                     foundMasterNode = true;
@@ -999,13 +1076,12 @@ public class MSecurityManager extends SecurityManager {
 
         // AWT needs to be treated specially
         //FIXME handling of awt read permission
-        if ("true".equals(AWT_HEADLESS) && isAWTThread()) {
-            if (name.equals("shutdownHooks"))
-                return true;
-            if (name.equals("modifyThreadGroup"))
-                return true;
-            if (name.equals("modifyThread"))
-                return true;
+        /*
+         * modifyThreadGroup and modifyThread are granted to AWT as well, but they are granted
+         * to any thread further below. So, only check the (expensive) stack trace when needed
+         */
+        if (name.equals("shutdownHooks") && "true".equals(AWT_HEADLESS) && isAWTThread()) {
+            return true;
         }
 
         /*
@@ -26,6 +26,8 @@ import java.io.FilePermission;
 import java.security.Permission;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * <p>
@@ -35,10 +37,9 @@ import java.util.concurrent.ConcurrentHashMap;
  *
  *
  * <p>
- * FIXME: This class seem directly used by the SUT, when its methods check the
- * security manager. This can lead to concurrency issues when the SUT is
- * multi-threaded. Some re-factoring might be needed, but that would need some
- * discussions first regarding its use/goals
+ * Note: This class is directly used by the SUT, when its methods check the
+ * security manager. As the SUT can be multi-threaded, all counters are
+ * updated atomically, but without locks, as this happens on each check.
  * <p>
  *
  * @author Gordon Fraser
@@ -47,22 +48,22 @@ public class PermissionStatistics {
 
     private static final PermissionStatistics instance = new PermissionStatistics();
 
-    private final Map<String, Map<String, Integer>> allowedCount;
+    private final Map<String, Map<String, AtomicInteger>> allowedCount;
 
     /**
      * Keep track of the denied exceptions. Key -> name of the permission class
      * Value -> a map from type (name+action) to counter of times it was thrown
      */
-    private final Map<String, Map<String, Integer>> deniedCount;
+    private final Map<String, Map<String, AtomicInteger>> deniedCount;
 
-    private final Map<Class<?>, Integer> deniedClassCount;
+    private final Map<Class<?>, AtomicInteger> deniedClassCount;
     private final Set<String> recentAccess;
-    private int maxThreads;
+    private final AtomicInteger maxThreads;
 
-    private boolean hasNewExceptions = false;
+    private final AtomicBoolean hasNewExceptions = new AtomicBoolean(false);
 
 
-    private String threadGroupToMonitor;
+    private volatile String threadGroupToMonitor;
 
 
     // Private constructor
@@ -70,8 +71,8 @@ public class PermissionStatistics {
         allowedCount = new ConcurrentHashMap<>();
         deniedCount = new ConcurrentHashMap<>();
         deniedClassCount = new ConcurrentHashMap<>();
-        recentAccess = Collections.synchronizedSet(new HashSet<>());
-        maxThreads = 1;
+        recentAccess = ConcurrentHashMap.newKeySet();
+        maxThreads = new AtomicInteger(1);
     }
 
 
@@ -126,31 +127,44 @@ public class PermissionStatistics {
      */
     public void permissionAllowed(Permission permission) {
         rememberRecentReadFilePermissions(permission);
+        increment(allowedCount, permission);
+    }
+
+    /*
+     * Note: no lambdas in here, as their bootstrap would ask the security manager
+     * for permissions while it is checking one
+     */
+
+    private static void increment(Map<String, Map<String, AtomicInteger>> counts, Permission permission) {
         String name = permission.getClass().getName();
         String type = getPermissionType(permission);
-        if (!allowedCount.containsKey(name)) {
-            allowedCount.put(name, new HashMap<>());
+        Map<String, AtomicInteger> types = counts.get(name);
+        if (types == null) {
+            counts.putIfAbsent(name, new ConcurrentHashMap<>());
+            types = counts.get(name);
         }
+        getCounter(types, type).incrementAndGet();
+    }
 
-        if (allowedCount.get(name).containsKey(type)) {
-            allowedCount.get(name).put(type, allowedCount.get(name).get(type) + 1);
-        } else {
-            allowedCount.get(name).put(type, 1);
+    private static <K> AtomicInteger getCounter(Map<K, AtomicInteger> counters, K key) {
+        AtomicInteger counter = counters.get(key);
+        if (counter == null) {
+            counters.putIfAbsent(key, new AtomicInteger(0));
+            counter = counters.get(key);
         }
+        return counter;
     }
 
     private int getCurrentCount(Class<?> permissionClass) {
-        if (!deniedClassCount.containsKey(permissionClass))
-            deniedClassCount.put(permissionClass, 0);
-
-        return deniedClassCount.get(permissionClass);
+        AtomicInteger count = deniedClassCount.get(permissionClass);
+        return count == null ? 0 : count.get();
     }
 
     private void incCurrentCount(Class<?> permissionClass) {
-        deniedClassCount.put(permissionClass, getCurrentCount(permissionClass) + 1);
+        getCounter(deniedClassCount, permissionClass).incrementAndGet();
     }
 
-    private String getPermissionType(Permission permission) {
+    private static String getPermissionType(Permission permission) {
         String name = permission.getName();
         String actions = permission.getActions();
         String type = "";
@@ -174,20 +188,8 @@ public class PermissionStatistics {
         incCurrentCount(permission.getClass());
         rememberRecentReadFilePermissions(permission);
 
-        String permissionClassName = permission.getClass().getName();
-        String type = getPermissionType(permission);
-
-        if (!deniedCount.containsKey(permissionClassName)) {
-            deniedCount.put(permissionClassName, new HashMap<>());
-        }
-
-        if (deniedCount.get(permissionClassName).containsKey(type)) {
-            deniedCount.get(permissionClassName).put(type,
-                    deniedCount.get(permissionClassName).get(type) + 1);
-        } else {
-            deniedCount.get(permissionClassName).put(type, 1);
-        }
-        hasNewExceptions = true;
+        increment(deniedCount, permission);
+        hasNewExceptions.set(true);
     }
 
     /**
@@ -199,9 +201,11 @@ public class PermissionStatistics {
     public int getPermissionDeniedCount(Permission permission) {
         String name = permission.getClass().getName();
         String type = getPermissionType(permission);
-        if (deniedCount.containsKey(name)) {
-            if (deniedCount.get(name).containsKey(type)) {
-                return deniedCount.get(name).get(type);
+        Map<String, AtomicInteger> counts = deniedCount.get(name);
+        if (counts != null) {
+            AtomicInteger count = counts.get(type);
+            if (count != null) {
+                return count.get();
             }
         }
         return 0;
@@ -404,8 +408,8 @@ public class PermissionStatistics {
                 + getNumAuthPermission() + getNumAudioPermission();
 
         int total = 0;
-        for (int i : deniedClassCount.values())
-            total += i;
+        for (AtomicInteger i : deniedClassCount.values())
+            total += i.get();
 
         return total - sum;
     }
@@ -495,7 +499,10 @@ public class PermissionStatistics {
      */
     public void countThreads(int numThreads) {
         if (threadGroupToMonitor != null && Thread.currentThread().getThreadGroup().getName().equals(threadGroupToMonitor)) {
-            maxThreads = Math.max(maxThreads, numThreads);
+            int max = maxThreads.get();
+            while (numThreads > max && !maxThreads.compareAndSet(max, numThreads)) {
+                max = maxThreads.get();
+            }
         }
     }
 
@@ -507,15 +514,11 @@ public class PermissionStatistics {
      * @return a int.
      */
     public int getMaxThreads() {
-        return maxThreads;
+        return maxThreads.get();
     }
 
     public boolean getAndResetExceptionInfo() {
-        if (hasNewExceptions) {
-            hasNewExceptions = false;
-            return true;
-        }
-        return false;
+        return hasNewExceptions.getAndSet(false);
     }
 
     public void setThreadGroupToMonitor(String threadGroupToMonitor) {
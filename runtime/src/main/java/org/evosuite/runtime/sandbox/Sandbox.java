@@ -22,6 +22,7 @@ package org.evosuite.runtime.sandbox;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.Set;
 
 /**
@@ -90,6 +91,21 @@ public class Sandbox {
             manager.addPrivilegedThread(t);
     }
 
+    public static void removePrivilegedThread(Thread t) {
+        if (manager != null)
+            manager.removePrivilegedThread(t);
+    }
+
+    /**
+     * @return a copy of the threads currently marked as privileged, or an empty set
+     * if the sandbox is not initialized
+     */
+    public static Set<Thread> getPrivilegedThreads() {
+        if (manager == null)
+            return Collections.emptySet();
+        return manager.getPrivilegedThreads();
+    }
+
     /**
      * @return a set of the threads that were marked as privileged. This is useful
      * if then we want to reactivate the security manager with the same priviliged threads.
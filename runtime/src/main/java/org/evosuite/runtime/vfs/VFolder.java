@@ -20,8 +20,9 @@
 package org.evosuite.runtime.vfs;
 
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.Map;
 
 /**
  * A virtual folder
@@ -30,18 +31,23 @@ import java.util.concurrent.CopyOnWriteArrayList;
  */
 public class VFolder extends FSObject {
 
-    private final List<FSObject> children;
+    /**
+     * Children indexed by name, in the order in which they were created
+     */
+    private final Map<String, FSObject> children;
 
     public VFolder(String path, VFolder parent) {
         super(path, parent);
 
-        children = new CopyOnWriteArrayList<>();
+        children = new LinkedHashMap<>();
     }
 
     @Override
     public boolean delete() {
-        if (children.size() > 0) {
-            return false;
+        synchronized (this) {
+            if (children.size() > 0) {
+                return false;
+            }
         }
 
         return super.delete();
@@ -51,48 +57,54 @@ public class VFolder extends FSObject {
         return parent == null && path == null;
     }
 
-    public void addChild(FSObject child) {
-        children.add(child);
+    /**
+     * Add the given child, unless this folder already has a child with the same name
+     *
+     * @param child
+     */
+    public synchronized void addChild(FSObject child) {
+        children.putIfAbsent(child.getName(), child);
     }
 
-    public boolean removeChild(String name) throws IllegalArgumentException {
+    public synchronized boolean removeChild(String name) throws IllegalArgumentException {
 
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Empty name");
         }
 
-        for (FSObject element : children) {
-            if (name.equals(element.getName())) {
-                return children.remove(element);
-            }
-        }
+        return children.remove(name) != null;
+    }
 
-        return false;
+    /**
+     * Index the given child, which has just been renamed, under its new name
+     *
+     * @param oldName the name of the child before it was renamed
+     * @param child
+     */
+    protected synchronized void renameChild(String oldName, FSObject child) {
+        if (children.get(oldName) == child) {
+            children.remove(oldName);
+        }
+        children.put(child.getName(), child);
     }
 
     public boolean hasChild(String name) {
         return getChild(name) != null;
     }
 
-    public String[] getChildrenNames() {
+    public synchronized String[] getChildrenNames() {
         List<String> list = new ArrayList<>(children.size());
-        for (final FSObject child : children) {
+        for (final FSObject child : children.values()) {
             list.add(child.getName());
         }
         return list.toArray(new String[0]);
     }
 
-    public FSObject getChild(String name) {
+    public synchronized FSObject getChild(String name) {
         if (name == null || name.isEmpty()) {
             throw new IllegalArgumentException("Empty name");
         }
 
-        for (final FSObject current : children) {
-            if (name.equals(current.getName())) {
-                return current;
-            }
-        }
-
-        return null;
+        return children.get(name);
     }
 }
@@ -30,7 +30,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -65,6 +67,16 @@ public final class VirtualFileSystem {
      */
     private VFolder root;
 
+    /**
+     * Objects already found in the VFS, indexed by absolute path, so that
+     * lookups do not need to walk the tree.
+     *
+     * <p>
+     * Deleted objects are skipped on lookup, and the index is cleared whenever
+     * an object is renamed, as that changes the paths of all its descendants
+     */
+    private final Map<String, FSObject> index;
+
     /**
      * An atomic counter for generating unique names for tmp files
      */
@@ -105,8 +117,10 @@ public final class VirtualFileSystem {
      */
     private VirtualFileSystem() {
         tmpFileCounter = new AtomicInteger(0);
-        accessedFiles = new CopyOnWriteArraySet<>(); //we only add during test execution, and read after
-        leakingResources = new CopyOnWriteArraySet<>();
+        index = new ConcurrentHashMap<>();
+        //each file lookup is marked, so adding should not need to copy the whole set
+        accessedFiles = ConcurrentHashMap.newKeySet();
+        leakingResources = ConcurrentHashMap.newKeySet();
         classesThatShouldThrowIOException = new CopyOnWriteArraySet<>(); //should only contain very few values
     }
 
@@ -124,6 +138,7 @@ public final class VirtualFileSystem {
      */
     public void resetSingleton() {
         root = null;
+        index.clear();
         tmpFileCounter.set(0);
         accessedFiles.clear();
         shouldAllThrowIOException = false;
@@ -202,6 +217,7 @@ public final class VirtualFileSystem {
     public void init() {
 
         root = new VFolder(null, null);
+        index.clear();
 
         String workingDir = getWorkingDirPath();
         createFolder(workingDir);
@@ -293,10 +309,22 @@ public final class VirtualFileSystem {
      */
     public FSObject findFSObject(String rawPath) {
         String path = new File(rawPath).getAbsolutePath();
-        String[] tokens = tokenize(path);
 
         markAccessedFile(path);
 
+        FSObject indexed = index.get(path);
+        if (indexed != null && !indexed.isDeleted()) {
+            return indexed;
+        }
+
+        FSObject found = findInTree(tokenize(path));
+        if (found != null) {
+            index.put(path, found);
+        }
+        return found;
+    }
+
+    private FSObject findInTree(String[] tokens) {
         VFolder parent = root;
         for (int i = 0; i < tokens.length; i++) {
             String name = tokens[i];
@@ -327,7 +355,11 @@ public final class VirtualFileSystem {
         if (obj == null || !obj.isWritePermission()) {
             return false;
         }
-        return obj.delete();
+        boolean deleted = obj.delete();
+        if (deleted) {
+            index.remove(new File(rawPath).getAbsolutePath());
+        }
+        return deleted;
     }
 
     public boolean createFile(String rawPath) {
@@ -375,7 +407,11 @@ public final class VirtualFileSystem {
             return false;
         }
 
-        return src.rename(destination);
+        boolean renamed = src.rename(destination);
+        if (renamed) {
+            index.clear();
+        }
+        return renamed;
     }
 
     public boolean createFolder(String rawPath) {
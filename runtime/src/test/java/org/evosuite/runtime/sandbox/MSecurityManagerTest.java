@@ -22,8 +22,10 @@ package org.evosuite.runtime.sandbox;
 import org.junit.*;
 
 import java.io.*;
+import java.lang.reflect.ReflectPermission;
 import java.net.URL;
 import java.net.URLConnection;
+import java.security.Permission;
 import java.util.concurrent.*;
 import java.util.logging.LogManager;
 
@@ -56,6 +58,33 @@ public class MSecurityManagerTest {
     }
 
 
+    @Test
+    public void testRepeatedChecksOnSUTThread() throws Exception {
+        final Permission denied = new RuntimePermission("setSecurityManager");
+        final Permission allowed = new ReflectPermission("suppressAccessChecks");
+        PermissionStatistics statistics = PermissionStatistics.getInstance();
+        int deniedBefore = statistics.getPermissionDeniedCount(denied);
+
+        Future<?> future = executor.submit(new Runnable() {
+            @Override
+            public void run() {
+                for (int i = 0; i < 3; i++) {
+                    securityManager.checkPermission(allowed);
+                    try {
+                        securityManager.checkPermission(denied);
+                        Assert.fail();
+                    } catch (SecurityException e) {
+                        //expected, even if the decision was already taken before
+                    }
+                }
+            }
+        });
+        future.get(1000, TimeUnit.MILLISECONDS);
+
+        //each check is counted, even the ones with a cached decision
+        Assert.assertEquals(deniedBefore + 3, statistics.getPermissionDeniedCount(denied));
+    }
+
     @Test
     public void testSpecifyStreamHandler() throws Exception {
         File tmp = null;
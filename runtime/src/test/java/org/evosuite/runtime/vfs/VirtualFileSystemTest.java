@@ -252,4 +252,43 @@ public class VirtualFileSystemTest {
         Assert.assertFalse(folder.exists());
     }
 
+    @Test
+    public void testDeleteFolderCreatedTwice() throws IOException {
+
+        MockFile folder = new MockFile("foo" + File.separator + "twice");
+        Assert.assertTrue(folder.mkdirs());
+        Assert.assertTrue(VirtualFileSystem.getInstance().createFolder(folder.getAbsolutePath()));
+
+        Assert.assertTrue(folder.delete());
+        Assert.assertFalse(folder.exists());
+        Assert.assertEquals(0, new MockFile("foo").list().length);
+    }
+
+    @Test
+    public void testRenameFolderWithChildren() throws IOException {
+
+        MockFile folder = new MockFile("foo");
+        Assert.assertTrue(folder.mkdirs());
+        MockFile file = new MockFile(folder, "evo");
+        Assert.assertTrue(file.createNewFile());
+        Assert.assertTrue(file.exists());
+
+        MockFile renamed = new MockFile("bar");
+        Assert.assertTrue(folder.renameTo(renamed));
+        Assert.assertFalse(file.exists());
+        Assert.assertTrue(new MockFile(renamed, "evo").exists());
+        Assert.assertArrayEquals(new String[]{"evo"}, renamed.list());
+    }
+
+    @Test
+    public void testRecreateDeletedFile() throws IOException {
+
+        MockFile file = new MockFile("foo");
+        for (int i = 0; i < 3; i++) {
+            Assert.assertTrue(file.createNewFile());
+            Assert.assertTrue(file.exists());
+            Assert.assertTrue(file.delete());
+            Assert.assertFalse(file.exists());
+        }
+    }
 }